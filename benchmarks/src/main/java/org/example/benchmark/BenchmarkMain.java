@@ -0,0 +1,41 @@
+package org.example.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+
+/**
+ * Punto de entrada de los benchmarks.
+ *
+ * <p>Ejecuta JMH una vez por cada cantidad de hilos indicada en la propiedad
+ * {@code jmh.threads} (por ejemplo {@code 1,4,16}) y escribe los resultados en JSON en
+ * {@code jmh.output/jmh-result-threads-N.json}. Los argumentos se pasan tal cual a JMH
+ * (filtros por nombre, {@code -f}, {@code -wi}, etc.).
+ */
+public final class BenchmarkMain {
+
+  private BenchmarkMain() {
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    Path output = Path.of(System.getProperty("jmh.output", "target"));
+
+    for (String value : System.getProperty("jmh.threads", "1").split(",")) {
+      int threads = Integer.parseInt(value.trim());
+      Options options = new OptionsBuilder()
+          .parent(commandLine)
+          .threads(threads)
+          .resultFormat(ResultFormatType.JSON)
+          .result(output.resolve("jmh-result-threads-" + threads + ".json").toString())
+          .build();
+      new Runner(options).run();
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package org.example.benchmark;
+
+import org.example.persistence.CartCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificación de carritos con {@link CartCodec} frente a la serialización de Java sobre
+ * los mismos mapas. Al preparar cada prueba imprime el tamaño de ambas codificaciones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartCodecBenchmark {
+
+  private static final int CATALOG_SIZE = 5_000;
+
+  @Param({"1", "1000"})
+  private int sessions;
+
+  @Param({"10"})
+  private int linesPerCart;
+
+  private Map<String, Map<String, Integer>> carts;
+  private ByteBuffer compact;
+  private byte[] serialized;
+
+  @Setup(Level.Trial)
+  public void createCarts() throws IOException {
+    carts = new LinkedHashMap<>();
+    int product = 0;
+    for (int s = 0; s < sessions; s++) {
+      Map<String, Integer> lines = new LinkedHashMap<>();
+      for (int i = 0; i < linesPerCart; i++) {
+        product = (product + 7_919) % CATALOG_SIZE;
+        lines.put("P" + product, 1 + (s + i) % 5);
+      }
+      carts.put("sesion-" + s, lines);
+    }
+    compact = CartCodec.encode(carts);
+    serialized = javaEncode(carts);
+    System.out.printf("%nTamaño con CartCodec: %d bytes, serialización Java: %d bytes%n",
+        compact.remaining(), serialized.length);
+  }
+
+  @Benchmark
+  public ByteBuffer encodeCompact() {
+    return CartCodec.encode(carts);
+  }
+
+  @Benchmark
+  public Map<String, Map<String, Integer>> decodeCompact() {
+    return CartCodec.decode(compact.duplicate());
+  }
+
+  @Benchmark
+  public int visitCompact(Blackhole blackhole) {
+    return CartCodec.decode(compact.duplicate(),
+        (session, product, quantity) -> blackhole.consume(quantity));
+  }
+
+  @Benchmark
+  public byte[] encodeJava() throws IOException {
+    return javaEncode(carts);
+  }
+
+  @Benchmark
+  public Object decodeJava() throws IOException, ClassNotFoundException {
+    try (ObjectInputStream input =
+             new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+      return input.readObject();
+    }
+  }
+
+  private static byte[] javaEncode(Map<String, Map<String, Integer>> carts) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+      output.writeObject(carts);
+    }
+    return bytes.toByteArray();
+  }
+}
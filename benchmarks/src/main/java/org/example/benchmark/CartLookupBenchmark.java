@@ -0,0 +1,77 @@
+package org.example.benchmark;
+
+import org.example.exception.InsufficientStockException;
+import org.example.model.CartItem;
+import org.example.model.Product;
+import org.example.service.ShoppingCart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara actualizar una línea con el índice por ID de {@link ShoppingCart} contra la
+ * búsqueda lineal con streams que usaba el carrito antes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartLookupBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int cartSize;
+
+  private Product[] products;
+  private ShoppingCart indexed;
+  private List<CartItem> linear;
+  private int next;
+
+  @Setup
+  public void setUp() throws InsufficientStockException {
+    products = new Product[cartSize];
+    indexed = new ShoppingCart();
+    linear = new ArrayList<>(cartSize);
+    for (int i = 0; i < cartSize; i++) {
+      products[i] = Product.ofCents("P" + i, "Producto " + i, 1_000, Integer.MAX_VALUE);
+      indexed.addProduct(products[i], 1);
+      linear.add(new CartItem(products[i], 1));
+    }
+  }
+
+  @Benchmark
+  public void indexedUpdate() throws InsufficientStockException {
+    int index = nextIndex();
+    indexed.updateQuantity(products[index].getId(), 1 + (index & 3));
+  }
+
+  @Benchmark
+  public void linearScanUpdate() {
+    int index = nextIndex();
+    String productId = products[index].getId();
+    Optional<CartItem> item = linear.stream()
+        .filter(line -> line.getProduct().getId().equals(productId))
+        .findFirst();
+    item.ifPresent(line -> line.setQuantity(1 + (index & 3)));
+  }
+
+  private int nextIndex() {
+    // Recorre los productos con un paso primo para no favorecer el inicio de la lista
+    next = (next + 7_919) % cartSize;
+    return next;
+  }
+}
@@ -0,0 +1,110 @@
+package org.example.benchmark;
+
+import org.example.service.DiscountService;
+import org.example.service.VolumeDiscountTiers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Todos los métodos de {@link DiscountService}, en sus variantes decimal y en centavos,
+ * sobre totales variados para no favorecer un solo tramo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountServiceBenchmark {
+
+  private static final int SAMPLES = 1_024;
+  private static final String[] COUPONS = {"SAVE10", "save20", "Flat50"};
+
+  private DiscountService service;
+  private long[] totalsCents;
+  private double[] totals;
+  private long[] batchResults;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    service = new DiscountService();
+    SplittableRandom random = new SplittableRandom(42);
+    totalsCents = new long[SAMPLES];
+    totals = new double[SAMPLES];
+    for (int i = 0; i < SAMPLES; i++) {
+      totalsCents[i] = random.nextLong(200_000);
+      totals[i] = totalsCents[i] / 100.0;
+    }
+    batchResults = new long[SAMPLES];
+  }
+
+  @Benchmark
+  public double applyPercentageDiscount() {
+    return service.applyPercentageDiscount(totals[nextIndex()], 12.5);
+  }
+
+  @Benchmark
+  public long applyPercentageDiscountCents() {
+    return service.applyPercentageDiscountCents(totalsCents[nextIndex()], 1_250);
+  }
+
+  @Benchmark
+  public double applyFixedDiscount() {
+    return service.applyFixedDiscount(totals[nextIndex()], 50.0);
+  }
+
+  @Benchmark
+  public long applyFixedDiscountCents() {
+    return service.applyFixedDiscountCents(totalsCents[nextIndex()], 5_000);
+  }
+
+  @Benchmark
+  public double applyVolumeDiscount() {
+    return service.applyVolumeDiscount(totals[nextIndex()]);
+  }
+
+  @Benchmark
+  public long applyVolumeDiscountCents() {
+    return service.applyVolumeDiscountCents(totalsCents[nextIndex()]);
+  }
+
+  /**
+   * Los {@value #SAMPLES} totales en una sola llamada; dividir por SAMPLES para comparar
+   * con {@link #applyVolumeDiscountCents()}.
+   */
+  @Benchmark
+  public long[] applyVolumeDiscountCentsBatch() {
+    service.applyVolumeDiscountCents(totalsCents, batchResults,
+        VolumeDiscountTiers.DEFAULT_SEGMENT);
+    return batchResults;
+  }
+
+  @Benchmark
+  public double applyCoupon() {
+    int index = nextIndex();
+    return service.applyCoupon(totals[index], COUPONS[index % COUPONS.length]);
+  }
+
+  @Benchmark
+  public long applyCouponCents() {
+    int index = nextIndex();
+    return service.applyCouponCents(totalsCents[index], COUPONS[index % COUPONS.length]);
+  }
+
+  private int nextIndex() {
+    next = (next + 1) & (SAMPLES - 1);
+    return next;
+  }
+}
@@ -0,0 +1,42 @@
+package org.example.benchmark;
+
+import org.example.metrics.LatencyHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contención al registrar latencias: todos los hilos registran valores que caen en los
+ * mismos pocos buckets de un único {@link LatencyHistogram}, como pasa con las métricas
+ * del servicio bajo carga. Ejecutar con {@code -Djmh.threads=1,2,4,8,16} para ver el
+ * escalado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyHistogramBenchmark {
+
+  private LatencyHistogram histogram;
+
+  @Setup
+  public void setUp() {
+    histogram = new LatencyHistogram();
+  }
+
+  @Benchmark
+  public void record() {
+    histogram.record(1_500);
+  }
+}
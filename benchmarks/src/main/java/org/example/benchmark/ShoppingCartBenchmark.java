@@ -0,0 +1,76 @@
+package org.example.benchmark;
+
+import org.example.exception.InsufficientStockException;
+import org.example.model.Product;
+import org.example.service.ShoppingCart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones del carrito sobre carritos de distintos tamaños.
+ * Cada hilo usa su propio carrito (el carrito no es thread-safe).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShoppingCartBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int cartSize;
+
+  private Product[] products;
+  private ShoppingCart cart;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void createProducts() {
+    products = new Product[cartSize];
+    for (int i = 0; i < cartSize; i++) {
+      products[i] = Product.ofCents("P" + i, "Producto " + i, 1_000 + i, Integer.MAX_VALUE);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void fillCart() throws InsufficientStockException {
+    cart = new ShoppingCart();
+    for (Product product : products) {
+      cart.addProduct(product, 1);
+    }
+  }
+
+  @Benchmark
+  public void addProduct() throws InsufficientStockException {
+    cart.addProduct(products[nextIndex()], 1);
+  }
+
+  @Benchmark
+  public void updateQuantity() throws InsufficientStockException {
+    int index = nextIndex();
+    cart.updateQuantity(products[index].getId(), 1 + (index & 3));
+  }
+
+  @Benchmark
+  public double getTotal() {
+    return cart.getTotal();
+  }
+
+  private int nextIndex() {
+    next = next + 1 == cartSize ? 0 : next + 1;
+    return next;
+  }
+}
@@ -0,0 +1,94 @@
+package org.example.benchmark;
+
+import org.example.exception.InsufficientStockException;
+import org.example.model.Product;
+import org.example.service.ShoppingCartService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ShoppingCartService#addToCart(String, String, int)} con un servicio compartido
+ * por todos los hilos y una sesión por hilo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShoppingCartServiceBenchmark {
+
+  /**
+   * Servicio y catálogo compartidos.
+   */
+  @State(Scope.Benchmark)
+  public static class SharedService {
+    @Param({"10", "1000", "100000"})
+    private int cartSize;
+
+    private ShoppingCartService service;
+    private String[] productIds;
+    private final AtomicInteger sessions = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      service = new ShoppingCartService();
+      productIds = new String[cartSize];
+      for (int i = 0; i < cartSize; i++) {
+        productIds[i] = "B" + i;
+        service.addToCatalog(
+            Product.ofCents(productIds[i], "Producto " + i, 1_000, Integer.MAX_VALUE));
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      service.shutdown();
+    }
+  }
+
+  /**
+   * Sesión propia de cada hilo, con el carrito precargado.
+   */
+  @State(Scope.Thread)
+  public static class Session {
+    private String sessionId;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void fillCart(SharedService shared) throws InsufficientStockException {
+      if (sessionId == null) {
+        sessionId = "bench-" + shared.sessions.incrementAndGet();
+      }
+      shared.service.clearCart(sessionId);
+      for (String productId : shared.productIds) {
+        shared.service.addToCart(sessionId, productId, 1);
+      }
+    }
+
+    int nextIndex(int size) {
+      next = next + 1 == size ? 0 : next + 1;
+      return next;
+    }
+  }
+
+  @Benchmark
+  public void addToCart(SharedService shared, Session session)
+      throws InsufficientStockException {
+    String productId = shared.productIds[session.nextIndex(shared.productIds.length)];
+    shared.service.addToCart(session.sessionId, productId, 1);
+  }
+}
@@ -0,0 +1,49 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contención sobre un único SKU: todos los hilos reservan y liberan stock del mismo
+ * producto con {@link Product#tryReserve(int)} / {@link Product#release(int)}.
+ * Ejecutar con {@code -Djmh.threads=1,2,4,8,16,32,64} para ver el escalado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockReservationBenchmark {
+
+  @Param({"4", "1000000"})
+  private int initialStock;
+
+  private Product product;
+
+  @Setup
+  public void setUp() {
+    product = Product.ofCents("SKU", "Producto disputado", 1_000, initialStock);
+  }
+
+  @Benchmark
+  public boolean reserveAndRelease() {
+    if (product.tryReserve(1)) {
+      product.release(1);
+      return true;
+    }
+    return false;
+  }
+}
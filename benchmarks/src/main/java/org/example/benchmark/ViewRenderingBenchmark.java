@@ -0,0 +1,101 @@
+package org.example.benchmark;
+
+import org.example.exception.InsufficientStockException;
+import org.example.model.CartItem;
+import org.example.model.Product;
+import org.example.service.ShoppingCart;
+import org.example.ui.CartView;
+import org.example.ui.CatalogView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mostrar un carrito y una página de catálogo con las vistas (una escritura por pantalla)
+ * frente a un {@code printf} por fila, como lo hacían antes. Ambos escriben a un stream
+ * con autoflush que descarta los bytes, igual que una consola.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewRenderingBenchmark {
+
+  @Param({"20", "10000"})
+  private int rows;
+
+  private PrintStream out;
+  private List<Product> products;
+  private List<CartItem> items;
+  private CartView cartView;
+  private CatalogView catalogView;
+
+  @Setup(Level.Trial)
+  public void createRows() throws InsufficientStockException {
+    out = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream()), true,
+        StandardCharsets.UTF_8);
+    products = new ArrayList<>(rows);
+    ShoppingCart cart = new ShoppingCart();
+    for (int i = 0; i < rows; i++) {
+      Product product = Product.ofCents("P" + i, "Producto de prueba " + i, 1_999 + i, 100);
+      products.add(product);
+      cart.addProduct(product, 1 + i % 5);
+    }
+    items = cart.getItems();
+    cartView = new CartView(out);
+    catalogView = new CatalogView(out);
+  }
+
+  @Benchmark
+  public void cartBuffered() {
+    cartView.displayCart(items, items.size(), rows, 1_234_567);
+  }
+
+  @Benchmark
+  public void cartPrintfPerRow() {
+    out.println("\n🛒 CONTENIDO DEL CARRITO");
+    out.printf("%-6s │ %-30s │ %-8s │ %-10s │ %-10s%n",
+        "ID", "Producto", "Cantidad", "Precio", "Subtotal");
+    for (CartItem item : items) {
+      Product product = item.getProduct();
+      out.printf("%-6s │ %-30s │ %-8d │ $%-9.2f │ $%-9.2f%n",
+          product.getId(), product.getName(), item.getQuantity(), product.getPrice(),
+          item.getSubtotal());
+    }
+    out.printf("Total de items: %d │ Total de productos: %d │ TOTAL: $%.2f%n",
+        items.size(), rows, 12_345.67);
+  }
+
+  @Benchmark
+  public void catalogBuffered() {
+    catalogView.displayCatalog(products);
+  }
+
+  @Benchmark
+  public void catalogPrintfPerRow() {
+    out.printf("║ %-6s │ %-30s │ %-10s │ %-6s ║%n", "ID", "Nombre", "Precio", "Stock");
+    for (Product product : products) {
+      out.printf("║ %-6s │ %-30s │ $%-9.2f │ %-6d ║%n",
+          product.getId(), product.getName(), product.getPrice(), product.getStock());
+    }
+  }
+}
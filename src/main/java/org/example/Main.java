@@ -1,13 +1,211 @@
 package org.example;
 
+import org.example.http.CartHttpServer;
+import org.example.load.LoadGenerator;
+import org.example.load.LoadMix;
+import org.example.metrics.CartMetrics;
+import org.example.persistence.CartJournal;
+import org.example.service.CatalogLoadReport;
+import org.example.service.CatalogLoader;
+import org.example.service.InMemoryProductCatalog;
+import org.example.service.OffHeapProductCatalog;
+import org.example.service.ProductCatalog;
+import org.example.service.ShoppingCartService;
+import org.example.service.StockHoldManager;
+import org.example.ui.BatchReport;
+import org.example.ui.BatchRunner;
 import org.example.ui.ConsoleUI;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
 /**
  * Punto de entrada de la aplicación.
+ *
+ * <p>Uso: {@code Main [--catalog <archivo.csv> [--parallel] [--offheap]]
+ * [--journal <directorio>] [--metrics <segundos>]}. Sin argumentos se usa el catálogo
+ * por defecto; {@code --offheap} guarda el catálogo fuera del heap y {@code --journal}
+ * persiste los carritos en el directorio dado, restaurándolos al iniciar.
+ * {@code --metrics} publica las métricas de las operaciones por JMX y las vuelca en la
+ * salida de errores cada tantos segundos.
+ *
+ * <p>{@code --batch [archivo]} ejecuta los comandos del archivo (o de la entrada estándar)
+ * sin menú y muestra un resumen de rendimiento; ver {@link BatchRunner}.
+ *
+ * <p>{@code --load <compradores> <segundos> [--mix <mezcla>] [--think <ms>]} simula esa
+ * cantidad de compradores concurrentes durante ese tiempo y muestra rendimiento, latencias
+ * y verificación de stock; ver {@link LoadGenerator} y {@link LoadMix}.
+ *
+ * <p>{@code --http <puerto>} sirve la API HTTP/JSON en localhost hasta que se detenga el
+ * proceso; ver {@link CartHttpServer}.
  */
 public class Main {
   public static void main(String[] args) {
-    ConsoleUI ui = new ConsoleUI();
-    ui.start();
+    List<String> options = Arrays.asList(args);
+    CatalogLoadReport catalog;
+    if (args.length >= 2 && "--catalog".equals(args[0])) {
+      boolean parallel = options.contains("--parallel");
+      boolean offHeap = options.contains("--offheap");
+      try {
+        Path file = Path.of(args[1]);
+        int expected = CatalogLoader.estimateProducts(file);
+        ProductCatalog target = offHeap
+            ? new OffHeapProductCatalog(expected)
+            : new InMemoryProductCatalog(expected);
+        catalog = new CatalogLoader(parallel).load(file, target);
+      } catch (IOException | IllegalArgumentException e) {
+        System.err.println("No se pudo cargar el catálogo: " + e.getMessage());
+        return;
+      }
+    } else {
+      catalog = new CatalogLoader().loadDefault();
+    }
+
+    CartMetrics metrics = CartMetrics.disabled();
+    int metricsOption = options.indexOf("--metrics");
+    if (metricsOption >= 0) {
+      long seconds;
+      try {
+        seconds = Long.parseLong(args[metricsOption + 1]);
+      } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+        seconds = 0;
+      }
+      if (seconds <= 0) {
+        System.err.println("Falta un intervalo de métricas válido, en segundos");
+        return;
+      }
+      metrics = new CartMetrics();
+      metrics.startDump(Duration.ofSeconds(seconds), System.err);
+      metrics.registerMBeans();
+    }
+
+    CartJournal journal = null;
+    int journalOption = options.indexOf("--journal");
+    if (journalOption >= 0) {
+      if (journalOption + 1 >= args.length) {
+        System.err.println("Falta el directorio del journal");
+        return;
+      }
+      try {
+        journal = new CartJournal(Path.of(args[journalOption + 1]));
+      } catch (IOException e) {
+        System.err.println("No se pudo abrir el journal: " + e.getMessage());
+        return;
+      }
+    }
+
+    ShoppingCartService service =
+        new ShoppingCartService(StockHoldManager.DEFAULT_TTL, catalog, journal);
+    service.setMetrics(metrics);
+    if (journal != null) {
+      System.out.printf("Carritos restaurados: %d líneas (%d descartadas)%n",
+          service.getRestoredLineCount(), service.getDroppedLineCount());
+    }
+    try {
+      int batchOption = options.indexOf("--batch");
+      int loadOption = options.indexOf("--load");
+      int httpOption = options.indexOf("--http");
+      if (httpOption >= 0) {
+        runHttp(service, args, httpOption);
+      } else if (loadOption >= 0) {
+        runLoad(service, args, options, loadOption);
+      } else if (batchOption >= 0) {
+        boolean hasFile = batchOption + 1 < args.length
+            && !args[batchOption + 1].startsWith("--");
+        runBatch(service, hasFile ? Path.of(args[batchOption + 1]) : null);
+      } else {
+        new ConsoleUI(service).start();
+      }
+    } finally {
+      service.shutdown();
+      metrics.close();
+    }
+  }
+
+  private static void runHttp(ShoppingCartService service, String[] args, int httpOption) {
+    int port;
+    try {
+      port = Integer.parseInt(args[httpOption + 1]);
+    } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+      System.err.println("Falta un puerto HTTP válido");
+      return;
+    }
+    CartHttpServer server;
+    try {
+      server = new CartHttpServer(service, new InetSocketAddress("localhost", port));
+    } catch (IOException | IllegalArgumentException e) {
+      System.err.println("No se pudo abrir el puerto " + port + ": " + e.getMessage());
+      return;
+    }
+    CountDownLatch stopped = new CountDownLatch(1);
+    Thread main = Thread.currentThread();
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      server.close();
+      stopped.countDown();
+      try {
+        // Dejar que main cierre el servicio antes de que termine la JVM
+        main.join(5_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, "cart-http-shutdown"));
+    server.start();
+    System.out.println("API HTTP en http://localhost:" + server.getAddress().getPort()
+        + "/products (Ctrl+C para detener)");
+    try {
+      stopped.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void runLoad(ShoppingCartService service, String[] args,
+                              List<String> options, int loadOption) {
+    LoadGenerator generator;
+    long seconds;
+    try {
+      int shoppers = Integer.parseInt(args[loadOption + 1]);
+      seconds = Long.parseLong(args[loadOption + 2]);
+      int mixOption = options.indexOf("--mix");
+      LoadMix mix = mixOption >= 0 ? LoadMix.parse(args[mixOption + 1]) : LoadMix.DEFAULT;
+      generator = new LoadGenerator(service, shoppers, mix);
+      int thinkOption = options.indexOf("--think");
+      if (thinkOption >= 0) {
+        generator.setThinkTime(Duration.ofMillis(Long.parseLong(args[thinkOption + 1])));
+      }
+    } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+      System.err.println("Uso: --load <compradores> <segundos> [--mix <mezcla>] [--think <ms>]"
+          + (e.getMessage() == null ? "" : " (" + e.getMessage() + ")"));
+      return;
+    }
+    if (seconds <= 0) {
+      System.err.println("La duración de la carga debe ser positiva");
+      return;
+    }
+    try {
+      System.out.print(generator.run(Duration.ofSeconds(seconds)));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void runBatch(ShoppingCartService service, Path script) {
+    try (BufferedReader reader = script == null
+        ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+        : Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+      BatchReport report = new BatchRunner(service, System.err).run(reader);
+      System.out.print(report);
+    } catch (IOException e) {
+      System.err.println("No se pudo leer el script: " + e.getMessage());
+    }
   }
 }
@@ -0,0 +1,73 @@
+package org.example.event;
+
+/**
+ * Cambio en un carrito publicado en un {@link CartEventBus}.
+ *
+ * <p>Los eventos son objetos preasignados del anillo que se reutilizan en cada vuelta: un
+ * {@link CartEventHandler} no debe guardar la referencia después de
+ * {@link CartEventHandler#onEvent(CartEvent, long, boolean)}, sino copiar lo que necesite.
+ */
+public final class CartEvent {
+
+  /**
+   * Tipo de cambio.
+   */
+  public enum Type {
+    /** Se agregaron unidades de un producto; {@link #getQuantity()} es lo agregado. */
+    ITEM_ADDED,
+    /** Una línea cambió de cantidad; {@link #getQuantity()} es la cantidad nueva. */
+    QUANTITY_CHANGED,
+    /** Se removió una línea. */
+    ITEM_REMOVED,
+    /** Se vació el carrito. */
+    CLEARED,
+    /** Se confirmó la compra; {@link #getAmountCents()} es el total cobrado. */
+    CHECKED_OUT
+  }
+
+  private Type type;
+  private String sessionId;
+  private String productId;
+  private int quantity;
+  private long amountCents;
+
+  CartEvent() {
+  }
+
+  void set(Type type, String sessionId, String productId, int quantity, long amountCents) {
+    this.type = type;
+    this.sessionId = sessionId;
+    this.productId = productId;
+    this.quantity = quantity;
+    this.amountCents = amountCents;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public String getSessionId() {
+    return sessionId;
+  }
+
+  /**
+   * Obtiene el producto afectado, o null en {@link Type#CLEARED} y {@link Type#CHECKED_OUT}.
+   */
+  public String getProductId() {
+    return productId;
+  }
+
+  public int getQuantity() {
+    return quantity;
+  }
+
+  public long getAmountCents() {
+    return amountCents;
+  }
+
+  @Override
+  public String toString() {
+    return type + " " + sessionId + (productId == null ? "" : " " + productId)
+        + " cantidad=" + quantity + " monto=" + amountCents;
+  }
+}
@@ -0,0 +1,339 @@
+package org.example.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Publica eventos de carritos en un anillo preasignado, sin locks en el camino del
+ * productor, y los entrega a consumidores que corren cada uno en su propio hilo.
+ *
+ * <p>Publicar cuesta un incremento atómico para reservar la secuencia, copiar los campos
+ * al evento del slot y una escritura volátil que lo marca como publicado.
+ * No se crean objetos. Cada consumidor lee todos los eventos disponibles de una vez
+ * (ver {@code endOfBatch} en {@link CartEventHandler}) y avanza su propia secuencia.
+ *
+ * <p>Si el anillo se llena porque un consumidor se atrasa, {@link #publish} espera a que
+ * libere espacio y los consumidores no pierden eventos; {@link #tryPublish} en cambio
+ * descarta el evento y lo cuenta en {@link #getDroppedCount()}, para productores que no
+ * deben bloquearse (por ejemplo, mientras mantienen un lock). El tamaño del anillo
+ * absorbe las ráfagas.
+ *
+ * <p>Los handlers se registran antes de {@link #start()}. {@link #close()} deja que los
+ * consumidores terminen los eventos ya publicados; lo que se publique después se descarta,
+ * igual que un evento cuyo productor esperaba espacio cuando se cerró el bus.
+ */
+public class CartEventBus implements AutoCloseable {
+
+  /**
+   * Tamaño del anillo por defecto.
+   */
+  public static final int DEFAULT_CAPACITY = 1 << 14;
+
+  private final CartEvent[] entries;
+  private final int mask;
+  // Secuencia publicada en cada slot; -1 si nunca se publicó
+  private final AtomicLongArray published;
+  private final AtomicLong claimed = new AtomicLong(-1);
+  private final WaitStrategy waitStrategy;
+  private final List<CartEventHandler> handlers = new ArrayList<>();
+  private final AtomicLong handlerErrors = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private volatile Consumer[] consumers = new Consumer[0];
+  private volatile boolean started;
+  private volatile boolean closed;
+  // Mínimo de las secuencias de los consumidores visto por última vez
+  private volatile long gatingCache = -1;
+
+  public CartEventBus() {
+    this(DEFAULT_CAPACITY, WaitStrategy.blocking());
+  }
+
+  /**
+   * Crea el bus.
+   *
+   * @param capacity     Tamaño del anillo; potencia de 2
+   * @param waitStrategy Cómo esperan los consumidores
+   */
+  public CartEventBus(int capacity, WaitStrategy waitStrategy) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("La capacidad debe ser una potencia de 2");
+    }
+    if (waitStrategy == null) {
+      throw new IllegalArgumentException("La estrategia de espera no puede ser nula");
+    }
+    this.entries = new CartEvent[capacity];
+    for (int i = 0; i < capacity; i++) {
+      entries[i] = new CartEvent();
+    }
+    this.mask = capacity - 1;
+    this.published = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      published.set(i, -1);
+    }
+    this.waitStrategy = waitStrategy;
+  }
+
+  /**
+   * Registra un consumidor. Sólo se puede antes de {@link #start()}.
+   */
+  public synchronized void subscribe(CartEventHandler handler) {
+    if (handler == null) {
+      throw new IllegalArgumentException("El handler no puede ser nulo");
+    }
+    if (started) {
+      throw new IllegalStateException("El bus ya está iniciado");
+    }
+    handlers.add(handler);
+  }
+
+  /**
+   * Inicia un hilo por consumidor.
+   */
+  public synchronized void start() {
+    if (started) {
+      throw new IllegalStateException("El bus ya está iniciado");
+    }
+    Consumer[] created = new Consumer[handlers.size()];
+    for (int i = 0; i < created.length; i++) {
+      created[i] = new Consumer(handlers.get(i), i);
+    }
+    consumers = created;
+    started = true;
+    for (Consumer consumer : created) {
+      consumer.thread.start();
+    }
+  }
+
+  /**
+   * Publica un evento.
+   *
+   * @return Secuencia del evento, o -1 si el bus no está iniciado o ya se cerró
+   */
+  public long publish(CartEvent.Type type, String sessionId, String productId, int quantity,
+                      long amountCents) {
+    if (!started || closed) {
+      return -1;
+    }
+    long sequence = claimed.incrementAndGet();
+    if (!awaitCapacity(sequence)) {
+      return -1;
+    }
+    write(sequence, type, sessionId, productId, quantity, amountCents);
+    return sequence;
+  }
+
+  /**
+   * Publica un evento sólo si hay lugar en el anillo, sin esperar a los consumidores. Si
+   * está lleno el evento se descarta y se cuenta en {@link #getDroppedCount()}.
+   *
+   * @return Secuencia del evento, o -1 si se descartó, el bus no está iniciado o ya se
+   *         cerró
+   */
+  public long tryPublish(CartEvent.Type type, String sessionId, String productId,
+                         int quantity, long amountCents) {
+    if (!started || closed) {
+      return -1;
+    }
+    long sequence;
+    do {
+      sequence = claimed.get() + 1;
+      if (!hasCapacity(sequence)) {
+        dropped.incrementAndGet();
+        return -1;
+      }
+    } while (!claimed.compareAndSet(sequence - 1, sequence));
+    write(sequence, type, sessionId, productId, quantity, amountCents);
+    return sequence;
+  }
+
+  private void write(long sequence, CartEvent.Type type, String sessionId, String productId,
+                     int quantity, long amountCents) {
+    entries[(int) sequence & mask].set(type, sessionId, productId, quantity, amountCents);
+    // Escritura volátil: publica los campos del evento y ordena el aviso a los consumidores
+    published.set((int) sequence & mask, sequence);
+    waitStrategy.signalAllWhenBlocking();
+  }
+
+  /**
+   * Obtiene la secuencia del último evento reservado por un productor.
+   */
+  public long getLastSequence() {
+    return claimed.get();
+  }
+
+  /**
+   * Obtiene cuántas veces un handler lanzó una excepción. El evento se da por procesado
+   * y el consumidor sigue con el siguiente.
+   */
+  public long getHandlerErrorCount() {
+    return handlerErrors.get();
+  }
+
+  /**
+   * Obtiene cuántos eventos descartó {@link #tryPublish} por no haber lugar en el anillo.
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Espera a que todos los consumidores hayan procesado los eventos publicados hasta
+   * ahora (útil en pruebas y al apagar). Con el bus cerrado, alcanza con que los
+   * consumidores hayan terminado: una secuencia reservada por un productor que esperaba
+   * espacio al cerrarse nunca se publica y no hay que esperarla.
+   *
+   * @return true si terminaron antes del plazo
+   */
+  public boolean awaitConsumed(long timeoutMillis) throws InterruptedException {
+    long target = claimed.get();
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    while (minimumConsumerSequence(target) < target) {
+      if (closed && consumersStopped()) {
+        return true;
+      }
+      if (System.currentTimeMillis() > deadline) {
+        return false;
+      }
+      Thread.sleep(1);
+    }
+    return true;
+  }
+
+  /**
+   * Deja de aceptar eventos, espera a que los consumidores procesen los publicados y
+   * detiene sus hilos. Si se interrumpe mientras espera, deja de esperar y restaura el
+   * flag de interrupción; los consumidores terminan igual por su cuenta.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    waitStrategy.signalAllWhenBlocking();
+    try {
+      for (Consumer consumer : consumers) {
+        consumer.thread.join();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Espera a que todos los consumidores hayan liberado el slot de la secuencia.
+   *
+   * @return false si el bus se cerró mientras esperaba
+   */
+  private boolean awaitCapacity(long sequence) {
+    long wrapPoint = sequence - entries.length;
+    if (wrapPoint <= gatingCache) {
+      return true;
+    }
+    long minimum;
+    while (wrapPoint > (minimum = minimumConsumerSequence(sequence - 1))) {
+      if (closed) {
+        return false;
+      }
+      // Ceder el procesador: el consumidor atrasado puede estar en el mismo núcleo
+      Thread.yield();
+    }
+    gatingCache = minimum;
+    return true;
+  }
+
+  /**
+   * Verifica si hay lugar para la secuencia sin esperar.
+   */
+  private boolean hasCapacity(long sequence) {
+    long wrapPoint = sequence - entries.length;
+    if (wrapPoint <= gatingCache) {
+      return true;
+    }
+    long minimum = minimumConsumerSequence(sequence - 1);
+    gatingCache = minimum;
+    return wrapPoint <= minimum;
+  }
+
+  private boolean consumersStopped() {
+    for (Consumer consumer : consumers) {
+      if (consumer.thread.isAlive()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long minimumConsumerSequence(long upperBound) {
+    long minimum = upperBound;
+    for (Consumer consumer : consumers) {
+      minimum = Math.min(minimum, consumer.sequence);
+    }
+    return minimum;
+  }
+
+  private long highestAvailable(long from) {
+    long sequence = from;
+    while (published.getAcquire((int) sequence & mask) == sequence) {
+      sequence++;
+    }
+    return sequence - 1;
+  }
+
+  /**
+   * Hilo de un handler con la secuencia del último evento que procesó.
+   */
+  private final class Consumer implements Runnable, WaitStrategy.Barrier {
+    private final CartEventHandler handler;
+    private final Thread thread;
+    private volatile long sequence = -1;
+
+    Consumer(CartEventHandler handler, int index) {
+      this.handler = handler;
+      this.thread = new Thread(this, "cart-events-" + index);
+      thread.setDaemon(true);
+    }
+
+    @Override
+    public long highestAvailable(long from) {
+      return CartEventBus.this.highestAvailable(from);
+    }
+
+    @Override
+    public boolean isAlerted() {
+      return closed;
+    }
+
+    @Override
+    public void run() {
+      long next = 0;
+      while (true) {
+        long available;
+        try {
+          available = waitStrategy.waitFor(next, this);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        if (available < next) {
+          // Cerrado: procesar lo que quedó publicado y terminar
+          available = highestAvailable(next);
+          if (available < next) {
+            return;
+          }
+        }
+        for (long s = next; s <= available; s++) {
+          try {
+            handler.onEvent(entries[(int) s & mask], s, s == available);
+          } catch (RuntimeException e) {
+            handlerErrors.incrementAndGet();
+          }
+        }
+        sequence = available;
+        next = available + 1;
+      }
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package org.example.event;
+
+/**
+ * Consumidor de eventos de un {@link CartEventBus}. Cada handler corre en su propio hilo
+ * y recibe todos los eventos en orden de publicación.
+ */
+@FunctionalInterface
+public interface CartEventHandler {
+
+  /**
+   * Procesa un evento.
+   *
+   * @param event      Evento; sólo es válido durante la llamada
+   * @param sequence   Número de secuencia del evento
+   * @param endOfBatch true si es el último evento disponible por ahora, para que el
+   *                   handler pueda acumular y hacer su trabajo costoso una vez por lote
+   */
+  void onEvent(CartEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,136 @@
+package org.example.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementaciones de {@link WaitStrategy}.
+ */
+final class WaitStrategies {
+
+  private WaitStrategies() {
+  }
+
+  static final class BusySpin implements WaitStrategy {
+    @Override
+    public long waitFor(long sequence, Barrier barrier) {
+      long available;
+      while ((available = barrier.highestAvailable(sequence)) < sequence) {
+        if (barrier.isAlerted()) {
+          return sequence - 1;
+        }
+        Thread.onSpinWait();
+      }
+      return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+  }
+
+  static final class Yielding implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(long sequence, Barrier barrier) {
+      long available;
+      int counter = SPIN_TRIES;
+      while ((available = barrier.highestAvailable(sequence)) < sequence) {
+        if (barrier.isAlerted()) {
+          return sequence - 1;
+        }
+        if (counter > 0) {
+          counter--;
+        } else {
+          Thread.yield();
+        }
+      }
+      return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+  }
+
+  static final class Sleeping implements WaitStrategy {
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    @Override
+    public long waitFor(long sequence, Barrier barrier) {
+      long available;
+      int counter = SPIN_TRIES + YIELD_TRIES;
+      while ((available = barrier.highestAvailable(sequence)) < sequence) {
+        if (barrier.isAlerted()) {
+          return sequence - 1;
+        }
+        if (counter > YIELD_TRIES) {
+          counter--;
+        } else if (counter > 0) {
+          counter--;
+          Thread.yield();
+        } else {
+          LockSupport.parkNanos(SLEEP_NANOS);
+        }
+      }
+      return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+  }
+
+  /**
+   * Bloquea en una condición. El productor sólo toma el lock si algún consumidor avisó que
+   * va a dormir, así que publicar sin consumidores esperando no toca el lock.
+   */
+  static final class Blocking implements WaitStrategy {
+    private final Lock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+    @Override
+    public long waitFor(long sequence, Barrier barrier) throws InterruptedException {
+      long available = barrier.highestAvailable(sequence);
+      if (available >= sequence) {
+        return available;
+      }
+      lock.lock();
+      try {
+        while (true) {
+          signalNeeded.set(true);
+          // Volver a mirar después de avisar: una publicación anterior no despertaría
+          if ((available = barrier.highestAvailable(sequence)) >= sequence) {
+            return available;
+          }
+          if (barrier.isAlerted()) {
+            return sequence - 1;
+          }
+          published.await();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+      if (signalNeeded.getAndSet(false)) {
+        lock.lock();
+        try {
+          published.signalAll();
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+}
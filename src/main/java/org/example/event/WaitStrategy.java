@@ -0,0 +1,69 @@
+package org.example.event;
+
+/**
+ * Cómo espera un consumidor de {@link CartEventBus} a que haya eventos publicados.
+ *
+ * <p>Las estrategias cambian latencia por CPU: {@link #busySpin()} responde más rápido
+ * pero ocupa un núcleo por consumidor; {@link #blocking()} no consume CPU mientras espera
+ * pero despertar a un consumidor dormido le cuesta al productor tomar un lock.
+ */
+public interface WaitStrategy {
+
+  /**
+   * Vista del anillo que necesita una estrategia para esperar.
+   */
+  interface Barrier {
+
+    /**
+     * Obtiene la secuencia publicada más alta, contigua desde {@code from}, o
+     * {@code from - 1} si {@code from} todavía no se publicó.
+     */
+    long highestAvailable(long from);
+
+    /**
+     * Indica si el bus se está cerrando y hay que dejar de esperar.
+     */
+    boolean isAlerted();
+  }
+
+  /**
+   * Espera hasta que la secuencia dada esté publicada o el bus se cierre.
+   *
+   * @return Secuencia publicada más alta (mayor o igual a {@code sequence}), o
+   *         {@code sequence - 1} si el bus se cerró
+   */
+  long waitFor(long sequence, Barrier barrier) throws InterruptedException;
+
+  /**
+   * Despierta a los consumidores bloqueados, si la estrategia los bloquea.
+   */
+  void signalAllWhenBlocking();
+
+  /**
+   * Reintenta sin pausa: la menor latencia, un núcleo ocupado por consumidor.
+   */
+  static WaitStrategy busySpin() {
+    return new WaitStrategies.BusySpin();
+  }
+
+  /**
+   * Reintenta cediendo el procesador entre intentos.
+   */
+  static WaitStrategy yielding() {
+    return new WaitStrategies.Yielding();
+  }
+
+  /**
+   * Reintenta, luego cede el procesador y finalmente duerme pausas cortas.
+   */
+  static WaitStrategy sleeping() {
+    return new WaitStrategies.Sleeping();
+  }
+
+  /**
+   * Bloquea al consumidor hasta que un productor lo despierte.
+   */
+  static WaitStrategy blocking() {
+    return new WaitStrategies.Blocking();
+  }
+}
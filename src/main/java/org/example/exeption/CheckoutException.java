@@ -0,0 +1,29 @@
+package org.example.exception;
+
+import java.util.List;
+
+/**
+ * Excepción lanzada cuando un checkout no puede confirmarse.
+ * Contiene el detalle de cada línea del carrito sin stock suficiente.
+ */
+public class CheckoutException extends Exception {
+
+  private final List<InsufficientStockException> failures;
+
+  /**
+   * Constructor de CheckoutException.
+   *
+   * @param failures Líneas que no pudieron confirmarse
+   */
+  public CheckoutException(List<InsufficientStockException> failures) {
+    super(String.format(
+        "No se pudo completar la compra: %d producto(s) sin stock suficiente",
+        failures.size()
+    ));
+    this.failures = List.copyOf(failures);
+  }
+
+  public List<InsufficientStockException> getFailures() {
+    return failures;
+  }
+}
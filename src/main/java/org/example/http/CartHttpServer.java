@@ -0,0 +1,381 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.exception.CheckoutException;
+import org.example.exception.InsufficientStockException;
+import org.example.model.CartItem;
+import org.example.model.Product;
+import org.example.service.CartSnapshot;
+import org.example.service.CheckoutReceipt;
+import org.example.service.ProductPage;
+import org.example.service.ShoppingCartService;
+import org.example.util.VirtualThreads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * API HTTP/JSON local sobre {@link ShoppingCartService}, con el servidor HTTP del JDK.
+ *
+ * <p>Cada petición se atiende en su propio hilo (virtual si la JVM lo soporta, ver
+ * {@link VirtualThreads}), así que una petición que espera el journal no ocupa un hilo de
+ * un pool fijo y el servidor sostiene muchas sesiones concurrentes. Todas las respuestas
+ * son JSON; los montos son números con dos decimales.
+ * <pre>
+ * GET    /products?cursor=&amp;limit=        página del catálogo ordenada por ID
+ * GET    /products?q=texto&amp;limit=        búsqueda por nombre
+ * GET    /products/{id}                   un producto
+ * GET    /carts/{sesión}                  carrito de la sesión
+ * DELETE /carts/{sesión}                  finaliza la sesión y libera su stock
+ * POST   /carts/{sesión}/items            {"productId": "P001", "quantity": 2}
+ * PUT    /carts/{sesión}/items/{id}       {"quantity": 3} (0 lo remueve)
+ * DELETE /carts/{sesión}/items/{id}       remueve el producto
+ * POST   /carts/{sesión}/discount         {"coupon": "SAVE10"}
+ * POST   /carts/{sesión}/checkout         confirma la compra
+ * </pre>
+ * Sólo agregar un producto crea la sesión; las demás rutas de carrito responden 404 si la
+ * sesión no existe. Los errores se responden como {@code {"error": "mensaje"}}: 400 para
+ * datos inválidos, 404 para productos, sesiones o rutas inexistentes, 405 para métodos no
+ * soportados y 409 cuando no hay stock suficiente.
+ */
+public class CartHttpServer implements AutoCloseable {
+
+  /**
+   * Conexiones pendientes de aceptar que admite el socket.
+   */
+  public static final int DEFAULT_BACKLOG = 1024;
+
+  private static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 200;
+  private static final int MAX_BODY_BYTES = 16 * 1024;
+  private static final String JSON = "application/json; charset=utf-8";
+
+  private final ShoppingCartService service;
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  /**
+   * Crea el servidor y abre el socket; no atiende peticiones hasta {@link #start()}.
+   *
+   * @param service Servicio expuesto
+   * @param address Dirección donde escuchar (puerto 0 para uno libre)
+   * @throws IOException si no se puede abrir el socket
+   */
+  public CartHttpServer(ShoppingCartService service, InetSocketAddress address)
+      throws IOException {
+    if (service == null) {
+      throw new IllegalArgumentException("El servicio no puede ser nulo");
+    }
+    this.service = service;
+    this.server = HttpServer.create(address, DEFAULT_BACKLOG);
+    this.executor = VirtualThreads.newThreadPerTaskExecutor("cart-http-");
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+  }
+
+  /**
+   * Empieza a atender peticiones.
+   */
+  public void start() {
+    server.start();
+  }
+
+  /**
+   * Obtiene la dirección donde escucha, con el puerto real si se pidió el 0.
+   */
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * Deja de aceptar conexiones y detiene los hilos de las peticiones.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      int status;
+      String body;
+      try {
+        body = route(exchange);
+        status = body == null ? 204 : 200;
+      } catch (RequestException e) {
+        status = e.status;
+        body = error(e.getMessage());
+      } catch (InsufficientStockException | CheckoutException e) {
+        status = 409;
+        body = error(e.getMessage());
+      } catch (IllegalArgumentException e) {
+        status = 400;
+        body = error(e.getMessage());
+      } catch (RuntimeException e) {
+        status = 500;
+        body = error("Error interno: " + e.getMessage());
+      }
+      send(exchange, status, body);
+    }
+  }
+
+  /**
+   * Atiende la petición.
+   *
+   * @return Cuerpo JSON de la respuesta, o null si no tiene cuerpo
+   */
+  private String route(HttpExchange exchange)
+      throws IOException, InsufficientStockException, CheckoutException {
+    String method = exchange.getRequestMethod();
+    String[] path = segments(exchange.getRequestURI().getPath());
+    if (path.length >= 1 && path.length <= 2 && path[0].equals("products")) {
+      requireMethod(method, "GET");
+      if (path.length == 2) {
+        return product(path[1]);
+      }
+      return products(queryParameters(exchange.getRequestURI().getRawQuery()));
+    }
+    if (path.length < 2 || !path[0].equals("carts")) {
+      throw new RequestException(404, "Ruta no encontrada");
+    }
+    String sessionId = path[1];
+    if (path.length == 2) {
+      if (method.equals("DELETE")) {
+        if (!service.endSession(sessionId)) {
+          throw new RequestException(404, "Sesión no encontrada");
+        }
+        return null;
+      }
+      requireMethod(method, "GET");
+      return cart(sessionId);
+    }
+    String action = path[2];
+    if (action.equals("items") && path.length == 3) {
+      requireMethod(method, "POST");
+      Map<String, String> request = readBody(exchange);
+      String productId = required(request, "productId");
+      if (service.getProduct(productId) == null) {
+        throw new RequestException(404, "Producto no encontrado");
+      }
+      service.addToCart(sessionId, productId, intValue(request, "quantity"));
+      return cart(sessionId);
+    }
+    if (action.equals("items") && path.length == 4) {
+      requireCart(sessionId);
+      String productId = path[3];
+      if (method.equals("DELETE")) {
+        if (!service.removeFromCart(sessionId, productId)) {
+          throw new RequestException(404, "El producto no está en el carrito");
+        }
+        return cart(sessionId);
+      }
+      requireMethod(method, "PUT");
+      service.updateCartQuantity(sessionId, productId,
+          intValue(readBody(exchange), "quantity"));
+      return cart(sessionId);
+    }
+    if (action.equals("discount") && path.length == 3) {
+      requireMethod(method, "POST");
+      String coupon = required(readBody(exchange), "coupon");
+      long totalCents = requireCart(sessionId).getTotalCents();
+      long discountedCents =
+          service.getDiscountService().applyCouponCents(totalCents, coupon);
+      return new JsonWriter().beginObject()
+          .name("coupon").value(coupon)
+          .name("total").money(totalCents)
+          .name("discountedTotal").money(discountedCents)
+          .endObject().toString();
+    }
+    if (action.equals("checkout") && path.length == 3) {
+      requireMethod(method, "POST");
+      requireCart(sessionId);
+      return receipt(service.checkout(sessionId));
+    }
+    throw new RequestException(404, "Ruta no encontrada");
+  }
+
+  private String products(Map<String, String> query) {
+    int limit = DEFAULT_PAGE_SIZE;
+    String limitText = query.get("limit");
+    if (limitText != null) {
+      try {
+        limit = Integer.parseInt(limitText);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Límite inválido: " + limitText, e);
+      }
+      if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+        throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+      }
+    }
+    List<Product> items;
+    String nextCursor = null;
+    String search = query.get("q");
+    if (search != null) {
+      items = service.searchProducts(search, limit);
+    } else {
+      ProductPage page = service.listProducts(query.get("cursor"), limit);
+      items = page.getItems();
+      nextCursor = page.getNextCursor();
+    }
+    JsonWriter json = new JsonWriter().beginObject().name("items").beginArray();
+    for (Product product : items) {
+      writeProduct(json, product);
+    }
+    return json.endArray().name("nextCursor").value(nextCursor).endObject().toString();
+  }
+
+  private String product(String productId) {
+    Product product = service.getProduct(productId);
+    if (product == null) {
+      throw new RequestException(404, "Producto no encontrado");
+    }
+    return writeProduct(new JsonWriter(), product).toString();
+  }
+
+  private CartSnapshot requireCart(String sessionId) {
+    CartSnapshot cart = service.findCart(sessionId);
+    if (cart == null) {
+      throw new RequestException(404, "Sesión no encontrada");
+    }
+    return cart;
+  }
+
+  private String cart(String sessionId) {
+    CartSnapshot cart = requireCart(sessionId);
+    JsonWriter json = new JsonWriter().beginObject()
+        .name("session").value(sessionId)
+        .name("items").beginArray();
+    writeItems(json, cart.getItems());
+    return json.endArray()
+        .name("totalProducts").value(cart.getTotalProducts())
+        .name("total").money(cart.getTotalCents())
+        .endObject().toString();
+  }
+
+  private static String receipt(CheckoutReceipt receipt) {
+    JsonWriter json = new JsonWriter().beginObject().name("items").beginArray();
+    writeItems(json, receipt.getItems());
+    return json.endArray()
+        .name("totalProducts").value(receipt.getTotalProducts())
+        .name("total").money(receipt.getTotalCents())
+        .endObject().toString();
+  }
+
+  private static JsonWriter writeProduct(JsonWriter json, Product product) {
+    return json.beginObject()
+        .name("id").value(product.getId())
+        .name("name").value(product.getName())
+        .name("price").money(product.getPriceCents())
+        .name("stock").value(product.getStock())
+        .endObject();
+  }
+
+  private static void writeItems(JsonWriter json, List<CartItem> items) {
+    for (CartItem item : items) {
+      Product product = item.getProduct();
+      json.beginObject()
+          .name("productId").value(product.getId())
+          .name("name").value(product.getName())
+          .name("price").money(product.getPriceCents())
+          .name("quantity").value(item.getQuantity())
+          .name("subtotal").money(item.getSubtotalCents())
+          .endObject();
+    }
+  }
+
+  private static String error(String message) {
+    return new JsonWriter().beginObject().name("error").value(message).endObject().toString();
+  }
+
+  private static void send(HttpExchange exchange, int status, String body) throws IOException {
+    if (body == null) {
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", JSON);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static void requireMethod(String method, String expected) {
+    if (!method.equals(expected)) {
+      throw new RequestException(405, "Método no soportado: " + method);
+    }
+  }
+
+  private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+    byte[] bytes;
+    try (InputStream in = exchange.getRequestBody()) {
+      bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+    }
+    if (bytes.length > MAX_BODY_BYTES) {
+      throw new RequestException(413, "El cuerpo de la petición es demasiado grande");
+    }
+    return JsonReader.parseObject(new String(bytes, StandardCharsets.UTF_8));
+  }
+
+  private static String required(Map<String, String> request, String name) {
+    String value = request.get(name);
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Falta el campo " + name);
+    }
+    return value;
+  }
+
+  private static int intValue(Map<String, String> request, String name) {
+    String value = required(request, name);
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("El campo " + name + " debe ser un entero", e);
+    }
+  }
+
+  private static String[] segments(String path) {
+    String trimmed = path.startsWith("/") ? path.substring(1) : path;
+    if (trimmed.endsWith("/")) {
+      trimmed = trimmed.substring(0, trimmed.length() - 1);
+    }
+    return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+  }
+
+  private static Map<String, String> queryParameters(String rawQuery) {
+    Map<String, String> parameters = new HashMap<>();
+    if (rawQuery == null || rawQuery.isEmpty()) {
+      return parameters;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int separator = pair.indexOf('=');
+      String name = separator < 0 ? pair : pair.substring(0, separator);
+      String value = separator < 0 ? "" : pair.substring(separator + 1);
+      parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return parameters;
+  }
+
+  /**
+   * Petición que se responde con un código de estado específico.
+   */
+  private static final class RequestException extends RuntimeException {
+    private final int status;
+
+    RequestException(int status, String message) {
+      super(message);
+      this.status = status;
+    }
+  }
+}
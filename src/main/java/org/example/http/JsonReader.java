@@ -0,0 +1,205 @@
+package org.example.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lee los cuerpos de las peticiones: un objeto JSON plano cuyos valores son textos,
+ * números, booleanos o null.
+ */
+final class JsonReader {
+
+  private final String text;
+  private int position;
+
+  private JsonReader(String text) {
+    this.text = text;
+  }
+
+  /**
+   * Interpreta un objeto plano. Los números y booleanos se devuelven como su texto y
+   * {@code null} como null.
+   *
+   * @throws IllegalArgumentException si el texto no es un objeto JSON plano válido
+   */
+  static Map<String, String> parseObject(String text) {
+    JsonReader reader = new JsonReader(text);
+    reader.skipWhitespace();
+    Map<String, String> values = reader.readObject();
+    reader.skipWhitespace();
+    if (reader.position != text.length()) {
+      throw reader.error("contenido después del objeto");
+    }
+    return values;
+  }
+
+  private Map<String, String> readObject() {
+    Map<String, String> values = new LinkedHashMap<>();
+    expect('{');
+    skipWhitespace();
+    if (peek() == '}') {
+      position++;
+      return values;
+    }
+    while (true) {
+      skipWhitespace();
+      String name = readString();
+      skipWhitespace();
+      expect(':');
+      skipWhitespace();
+      values.put(name, readValue());
+      skipWhitespace();
+      char next = next();
+      if (next == '}') {
+        return values;
+      }
+      if (next != ',') {
+        throw error("se esperaba ',' o '}'");
+      }
+    }
+  }
+
+  private String readValue() {
+    char c = peek();
+    if (c == '"') {
+      return readString();
+    }
+    int start = position;
+    while (position < text.length() && isLiteralChar(text.charAt(position))) {
+      position++;
+    }
+    String literal = text.substring(start, position);
+    if (literal.equals("null")) {
+      return null;
+    }
+    if (literal.equals("true") || literal.equals("false") || isNumber(literal)) {
+      return literal;
+    }
+    throw error("valor inválido");
+  }
+
+  private String readString() {
+    expect('"');
+    StringBuilder value = new StringBuilder();
+    while (true) {
+      char c = next();
+      if (c == '"') {
+        return value.toString();
+      }
+      if (c < 0x20) {
+        throw error("carácter de control en un texto");
+      }
+      if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+      char escaped = next();
+      switch (escaped) {
+        case '"', '\\', '/' -> value.append(escaped);
+        case 'b' -> value.append('\b');
+        case 'f' -> value.append('\f');
+        case 'n' -> value.append('\n');
+        case 'r' -> value.append('\r');
+        case 't' -> value.append('\t');
+        case 'u' -> {
+          if (position + 4 > text.length()) {
+            throw error("escape unicode incompleto");
+          }
+          try {
+            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+          } catch (NumberFormatException e) {
+            throw error("escape unicode inválido");
+          }
+          position += 4;
+        }
+        default -> throw error("escape inválido");
+      }
+    }
+  }
+
+  private static boolean isLiteralChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+        || c == '-' || c == '+' || c == '.' || c == 'E';
+  }
+
+  /**
+   * Verifica la gramática de número de JSON: {@code -?(0|[1-9]\d*)(\.\d+)?([eE][+-]?\d+)?}.
+   */
+  private static boolean isNumber(String literal) {
+    int i = 0;
+    int length = literal.length();
+    if (i < length && literal.charAt(i) == '-') {
+      i++;
+    }
+    if (i < length && literal.charAt(i) == '0') {
+      i++;
+    } else {
+      int digits = skipDigits(literal, i);
+      if (digits == i) {
+        return false;
+      }
+      i = digits;
+    }
+    if (i < length && literal.charAt(i) == '.') {
+      int digits = skipDigits(literal, i + 1);
+      if (digits == i + 1) {
+        return false;
+      }
+      i = digits;
+    }
+    if (i < length && (literal.charAt(i) == 'e' || literal.charAt(i) == 'E')) {
+      i++;
+      if (i < length && (literal.charAt(i) == '+' || literal.charAt(i) == '-')) {
+        i++;
+      }
+      int digits = skipDigits(literal, i);
+      if (digits == i) {
+        return false;
+      }
+      i = digits;
+    }
+    return i == length;
+  }
+
+  private static int skipDigits(String text, int from) {
+    int i = from;
+    while (i < text.length() && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+      i++;
+    }
+    return i;
+  }
+
+  private void skipWhitespace() {
+    while (position < text.length()) {
+      char c = text.charAt(position);
+      if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+        return;
+      }
+      position++;
+    }
+  }
+
+  private char peek() {
+    if (position >= text.length()) {
+      throw error("fin inesperado");
+    }
+    return text.charAt(position);
+  }
+
+  private char next() {
+    char c = peek();
+    position++;
+    return c;
+  }
+
+  private void expect(char expected) {
+    if (next() != expected) {
+      throw error("se esperaba '" + expected + "'");
+    }
+  }
+
+  private IllegalArgumentException error(String detail) {
+    return new IllegalArgumentException("JSON inválido en la posición " + position + ": "
+        + detail);
+  }
+}
@@ -0,0 +1,109 @@
+package org.example.http;
+
+import org.example.model.Money;
+
+/**
+ * Arma documentos JSON en un único buffer, agregando las comas entre elementos.
+ */
+final class JsonWriter {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final StringBuilder out = new StringBuilder(256);
+  private boolean needsComma;
+
+  JsonWriter beginObject() {
+    separate();
+    out.append('{');
+    needsComma = false;
+    return this;
+  }
+
+  JsonWriter endObject() {
+    out.append('}');
+    needsComma = true;
+    return this;
+  }
+
+  JsonWriter beginArray() {
+    separate();
+    out.append('[');
+    needsComma = false;
+    return this;
+  }
+
+  JsonWriter endArray() {
+    out.append(']');
+    needsComma = true;
+    return this;
+  }
+
+  JsonWriter name(String name) {
+    separate();
+    appendString(name);
+    out.append(':');
+    needsComma = false;
+    return this;
+  }
+
+  JsonWriter value(String value) {
+    separate();
+    if (value == null) {
+      out.append("null");
+    } else {
+      appendString(value);
+    }
+    needsComma = true;
+    return this;
+  }
+
+  JsonWriter value(long value) {
+    separate();
+    out.append(value);
+    needsComma = true;
+    return this;
+  }
+
+  /**
+   * Escribe un monto como número con dos decimales.
+   */
+  JsonWriter money(long cents) {
+    separate();
+    Money.appendTo(out, cents);
+    needsComma = true;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return out.toString();
+  }
+
+  private void separate() {
+    if (needsComma) {
+      out.append(',');
+    }
+  }
+
+  private void appendString(String value) {
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> out.append("\\\"");
+        case '\\' -> out.append("\\\\");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        case '\t' -> out.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+          } else {
+            out.append(c);
+          }
+        }
+      }
+    }
+    out.append('"');
+  }
+}
@@ -0,0 +1,314 @@
+package org.example.load;
+
+import org.example.exception.CheckoutException;
+import org.example.exception.InsufficientStockException;
+import org.example.metrics.LatencyHistogram;
+import org.example.model.CartItem;
+import org.example.model.Product;
+import org.example.service.CheckoutReceipt;
+import org.example.service.ProductPage;
+import org.example.service.ShoppingCartService;
+import org.example.util.VirtualThreads;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Genera carga sintética sobre un {@link ShoppingCartService}.
+ *
+ * <p>Simula N compradores concurrentes, cada uno en su propio hilo (virtual si la JVM lo
+ * soporta, ver {@link VirtualThreads}) y con su propia sesión. Cada comprador elige sus
+ * acciones al azar según una {@link LoadMix} y mide la latencia de cada una en un
+ * {@link LatencyHistogram} por operación. Las acciones que necesitan un carrito con
+ * productos (actualizar, remover, checkout) agregan uno si el carrito está vacío.
+ *
+ * <p>Los rechazos del servicio por reglas de negocio (sin stock, cupón inválido, producto
+ * que ya no está en el carrito) se cuentan aparte; cualquier otra excepción es un error.
+ * Al terminar se vacían los carritos de los compradores y se verifica que el stock
+ * restante más lo vendido coincida con el stock inicial de cada producto: lo que sobra es
+ * sobreventa y lo que falta es stock perdido. Por eso nada más debe modificar el stock del
+ * servicio durante la corrida.
+ */
+public class LoadGenerator {
+
+  private static final String SESSION_PREFIX = "load-";
+  private static final int PAGE_SIZE = 20;
+  private static final int MAX_QUANTITY = 3;
+  private static final List<String> COUPONS = List.of("SAVE10", "SAVE20", "FLAT50");
+
+  private final ShoppingCartService service;
+  private final int shoppers;
+  private final LoadMix mix;
+  private Duration thinkTime = Duration.ZERO;
+  private long seed = 42;
+
+  /**
+   * Crea el generador.
+   *
+   * @param service  Servicio bajo prueba
+   * @param shoppers Compradores concurrentes
+   * @param mix      Proporción de cada acción
+   * @throws IllegalArgumentException si no hay compradores o falta la mezcla
+   */
+  public LoadGenerator(ShoppingCartService service, int shoppers, LoadMix mix) {
+    if (service == null) {
+      throw new IllegalArgumentException("El servicio no puede ser nulo");
+    }
+    if (shoppers <= 0) {
+      throw new IllegalArgumentException("Debe haber al menos un comprador");
+    }
+    if (mix == null) {
+      throw new IllegalArgumentException("La mezcla no puede ser nula");
+    }
+    this.service = service;
+    this.shoppers = shoppers;
+    this.mix = mix;
+  }
+
+  /**
+   * Define la pausa máxima de cada comprador entre acciones; la pausa real es al azar
+   * entre 0 y este valor. Por defecto no hay pausa.
+   */
+  public void setThinkTime(Duration thinkTime) {
+    if (thinkTime == null || thinkTime.isNegative()) {
+      throw new IllegalArgumentException("La pausa no puede ser negativa");
+    }
+    this.thinkTime = thinkTime;
+  }
+
+  /**
+   * Define la semilla de los números al azar; cada comprador usa una derivada de ella.
+   */
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Ejecuta la carga durante un tiempo.
+   */
+  public LoadReport run(Duration duration) throws InterruptedException {
+    if (duration == null || duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("La duración debe ser positiva");
+    }
+    return run(duration.toNanos(), Long.MAX_VALUE);
+  }
+
+  /**
+   * Ejecuta una cantidad fija de acciones por comprador.
+   */
+  public LoadReport run(long operationsPerShopper) throws InterruptedException {
+    if (operationsPerShopper <= 0) {
+      throw new IllegalArgumentException("La cantidad de operaciones debe ser positiva");
+    }
+    return run(Long.MAX_VALUE, operationsPerShopper);
+  }
+
+  private LoadReport run(long durationNanos, long operationsPerShopper)
+      throws InterruptedException {
+    List<Product> products = service.getAllProducts();
+    if (products.isEmpty()) {
+      throw new IllegalStateException("El catálogo está vacío");
+    }
+    String[] productIds = new String[products.size()];
+    Map<String, Integer> initialStock = new HashMap<>();
+    for (int i = 0; i < productIds.length; i++) {
+      productIds[i] = products.get(i).getId();
+      initialStock.put(productIds[i], products.get(i).getStock());
+    }
+
+    Recorder recorder = new Recorder();
+    CountDownLatch startGate = new CountDownLatch(1);
+    ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("load-shopper-");
+    List<Future<?>> futures = new ArrayList<>(shoppers);
+    long start;
+    try {
+      for (int i = 0; i < shoppers; i++) {
+        Shopper shopper = new Shopper(SESSION_PREFIX + i, new SplittableRandom(seed + i),
+            productIds, recorder);
+        futures.add(executor.submit(() -> {
+          startGate.await();
+          shopper.run(operationsPerShopper);
+          return null;
+        }));
+      }
+      start = System.nanoTime();
+      recorder.deadline = durationNanos == Long.MAX_VALUE
+          ? Long.MAX_VALUE
+          : start + durationNanos;
+      startGate.countDown();
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Un comprador terminó por un error", e.getCause());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    for (int i = 0; i < shoppers; i++) {
+      service.endSession(SESSION_PREFIX + i);
+    }
+    long oversold = 0;
+    long lost = 0;
+    for (Map.Entry<String, Integer> entry : initialStock.entrySet()) {
+      Product product = service.getProduct(entry.getKey());
+      long remaining = product == null ? 0 : product.getStock();
+      long difference = entry.getValue() - remaining - recorder.sold(entry.getKey());
+      if (difference < 0) {
+        oversold -= difference;
+      } else {
+        lost += difference;
+      }
+    }
+    return new LoadReport(shoppers, VirtualThreads.isAvailable(), elapsed,
+        recorder.results(), oversold, lost);
+  }
+
+  /**
+   * Contadores compartidos por todos los compradores.
+   */
+  private static final class Recorder {
+    private final Map<LoadOperation, LatencyHistogram> latencies =
+        new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> rejected = new EnumMap<>(LoadOperation.class);
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+    private final Map<String, LongAdder> sold = new ConcurrentHashMap<>();
+    private volatile long deadline = Long.MAX_VALUE;
+
+    Recorder() {
+      for (LoadOperation operation : LoadOperation.values()) {
+        latencies.put(operation, new LatencyHistogram());
+        rejected.put(operation, new LongAdder());
+        errors.put(operation, new LongAdder());
+      }
+    }
+
+    void sold(CheckoutReceipt receipt) {
+      for (CartItem item : receipt.getItems()) {
+        sold.computeIfAbsent(item.getProduct().getId(), id -> new LongAdder())
+            .add(item.getQuantity());
+      }
+    }
+
+    long sold(String productId) {
+      LongAdder units = sold.get(productId);
+      return units == null ? 0 : units.sum();
+    }
+
+    Map<LoadOperation, LoadReport.OperationResult> results() {
+      Map<LoadOperation, LoadReport.OperationResult> results =
+          new EnumMap<>(LoadOperation.class);
+      for (LoadOperation operation : LoadOperation.values()) {
+        LatencyHistogram.Snapshot snapshot = latencies.get(operation).snapshot();
+        if (snapshot.getCount() > 0) {
+          results.put(operation, new LoadReport.OperationResult(snapshot.getCount(),
+              rejected.get(operation).sum(), errors.get(operation).sum(), snapshot));
+        }
+      }
+      return results;
+    }
+  }
+
+  /**
+   * Un comprador simulado con su sesión y los productos que cree tener en el carrito.
+   */
+  private final class Shopper {
+    private final String sessionId;
+    private final SplittableRandom random;
+    private final String[] productIds;
+    private final Recorder recorder;
+    private final List<String> cart = new ArrayList<>();
+    private String cursor;
+
+    Shopper(String sessionId, SplittableRandom random, String[] productIds,
+            Recorder recorder) {
+      this.sessionId = sessionId;
+      this.random = random;
+      this.productIds = productIds;
+      this.recorder = recorder;
+    }
+
+    void run(long operations) throws InterruptedException {
+      long thinkNanos = thinkTime.toNanos();
+      for (long i = 0; i < operations && System.nanoTime() < recorder.deadline; i++) {
+        LoadOperation operation = mix.pick(random);
+        if (cart.isEmpty() && (operation == LoadOperation.UPDATE
+            || operation == LoadOperation.REMOVE || operation == LoadOperation.CHECKOUT)) {
+          operation = LoadOperation.ADD;
+        }
+        long start = System.nanoTime();
+        try {
+          perform(operation);
+        } catch (InsufficientStockException | CheckoutException | IllegalArgumentException e) {
+          recorder.rejected.get(operation).increment();
+        } catch (RuntimeException e) {
+          recorder.errors.get(operation).increment();
+        } finally {
+          recorder.latencies.get(operation).record(System.nanoTime() - start);
+        }
+        if (thinkNanos > 0) {
+          TimeUnit.NANOSECONDS.sleep(random.nextLong(thinkNanos + 1));
+        }
+      }
+    }
+
+    private void perform(LoadOperation operation)
+        throws InsufficientStockException, CheckoutException {
+      switch (operation) {
+        case BROWSE -> {
+          ProductPage page = service.listProducts(cursor, PAGE_SIZE);
+          cursor = page.getNextCursor();
+          service.getProduct(randomProduct());
+        }
+        case ADD -> {
+          String productId = randomProduct();
+          service.addToCart(sessionId, productId, quantity());
+          if (!cart.contains(productId)) {
+            cart.add(productId);
+          }
+        }
+        case UPDATE -> service.updateCartQuantity(sessionId, cartProduct(), quantity());
+        case REMOVE -> {
+          String productId = cartProduct();
+          service.removeFromCart(sessionId, productId);
+          cart.remove(productId);
+        }
+        case DISCOUNT ->
+            service.applyDiscount(sessionId, COUPONS.get(random.nextInt(COUPONS.size())));
+        case CHECKOUT -> {
+          CheckoutReceipt receipt = service.checkout(sessionId);
+          cart.clear();
+          recorder.sold(receipt);
+        }
+      }
+    }
+
+    private String randomProduct() {
+      return productIds[random.nextInt(productIds.length)];
+    }
+
+    private String cartProduct() {
+      return cart.get(random.nextInt(cart.size()));
+    }
+
+    private int quantity() {
+      return 1 + random.nextInt(MAX_QUANTITY);
+    }
+  }
+}
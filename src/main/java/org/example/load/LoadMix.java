@@ -0,0 +1,100 @@
+package org.example.load;
+
+import java.util.SplittableRandom;
+
+/**
+ * Proporción de cada {@link LoadOperation} en la carga simulada.
+ *
+ * <p>Los pesos son relativos: {@code browse=6,add=3,checkout=1} hace que 60% de las
+ * acciones sean navegar el catálogo. Las acciones sin peso no se ejecutan.
+ */
+public final class LoadMix {
+
+  private static final LoadOperation[] OPERATIONS = LoadOperation.values();
+
+  /**
+   * Mezcla por defecto: mayormente navegación, con algunas compras.
+   */
+  public static final LoadMix DEFAULT =
+      parse("browse=40,add=25,update=10,remove=8,discount=7,checkout=10");
+
+  // Pesos acumulados en el orden de LoadOperation
+  private final int[] cumulative;
+
+  private LoadMix(int[] weights) {
+    this.cumulative = new int[weights.length];
+    int total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      total = Math.addExact(total, weights[i]);
+      cumulative[i] = total;
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException("La mezcla debe tener al menos una operación");
+    }
+  }
+
+  /**
+   * Interpreta una mezcla con el formato {@code operación=peso,operación=peso}.
+   *
+   * @throws IllegalArgumentException si alguna operación o peso es inválido
+   */
+  public static LoadMix parse(String spec) {
+    if (spec == null || spec.isBlank()) {
+      throw new IllegalArgumentException("La mezcla no puede estar vacía");
+    }
+    int[] weights = new int[OPERATIONS.length];
+    for (String part : spec.split(",")) {
+      int separator = part.indexOf('=');
+      if (separator < 0) {
+        throw new IllegalArgumentException("Se esperaba operación=peso: " + part.trim());
+      }
+      LoadOperation operation = LoadOperation.fromKey(part.substring(0, separator).trim());
+      int weight;
+      try {
+        weight = Integer.parseInt(part.substring(separator + 1).trim());
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Peso inválido: " + part.trim(), e);
+      }
+      if (weight < 0) {
+        throw new IllegalArgumentException("El peso no puede ser negativo: " + part.trim());
+      }
+      weights[operation.ordinal()] = weight;
+    }
+    return new LoadMix(weights);
+  }
+
+  /**
+   * Obtiene el peso de una operación.
+   */
+  public int getWeight(LoadOperation operation) {
+    int index = operation.ordinal();
+    return cumulative[index] - (index == 0 ? 0 : cumulative[index - 1]);
+  }
+
+  /**
+   * Elige una operación al azar según los pesos.
+   */
+  LoadOperation pick(SplittableRandom random) {
+    int value = random.nextInt(cumulative[cumulative.length - 1]);
+    int index = 0;
+    while (cumulative[index] <= value) {
+      index++;
+    }
+    return OPERATIONS[index];
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    for (LoadOperation operation : OPERATIONS) {
+      int weight = getWeight(operation);
+      if (weight > 0) {
+        if (text.length() > 0) {
+          text.append(',');
+        }
+        text.append(operation.getKey()).append('=').append(weight);
+      }
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,40 @@
+package org.example.load;
+
+/**
+ * Acciones que puede hacer un comprador simulado por {@link LoadGenerator}.
+ */
+public enum LoadOperation {
+  BROWSE("browse"),
+  ADD("add"),
+  UPDATE("update"),
+  REMOVE("remove"),
+  DISCOUNT("discount"),
+  CHECKOUT("checkout");
+
+  private final String key;
+
+  LoadOperation(String key) {
+    this.key = key;
+  }
+
+  /**
+   * Nombre de la acción en la especificación de la mezcla (ver {@link LoadMix#parse}).
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Busca la acción por su nombre.
+   *
+   * @throws IllegalArgumentException si el nombre no corresponde a ninguna acción
+   */
+  public static LoadOperation fromKey(String key) {
+    for (LoadOperation operation : values()) {
+      if (operation.key.equalsIgnoreCase(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Operación desconocida: " + key);
+  }
+}
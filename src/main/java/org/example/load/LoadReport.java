@@ -0,0 +1,169 @@
+package org.example.load;
+
+import org.example.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resultado de una corrida de {@link LoadGenerator}: rendimiento y latencia por operación
+ * y verificación del stock al terminar.
+ */
+public class LoadReport {
+
+  private static final double NANOS_PER_MICRO = 1_000.0;
+
+  private final int shoppers;
+  private final boolean virtualThreads;
+  private final long elapsedNanos;
+  private final Map<LoadOperation, OperationResult> operations;
+  private final long oversoldUnits;
+  private final long lostUnits;
+
+  /**
+   * Constructor de LoadReport.
+   *
+   * @param shoppers       Compradores simulados
+   * @param virtualThreads true si cada comprador corrió en un hilo virtual
+   * @param elapsedNanos   Duración de la corrida
+   * @param operations     Resultado de cada operación ejecutada
+   * @param oversoldUnits  Unidades vendidas por encima del stock existente
+   * @param lostUnits      Unidades que faltan en el stock sin haberse vendido
+   */
+  public LoadReport(int shoppers, boolean virtualThreads, long elapsedNanos,
+                    Map<LoadOperation, OperationResult> operations, long oversoldUnits,
+                    long lostUnits) {
+    this.shoppers = shoppers;
+    this.virtualThreads = virtualThreads;
+    this.elapsedNanos = elapsedNanos;
+    this.operations = operations.isEmpty()
+        ? Map.of()
+        : Collections.unmodifiableMap(new EnumMap<>(operations));
+    this.oversoldUnits = oversoldUnits;
+    this.lostUnits = lostUnits;
+  }
+
+  public int getShoppers() {
+    return shoppers;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  public Map<LoadOperation, OperationResult> getOperations() {
+    return operations;
+  }
+
+  public long getOversoldUnits() {
+    return oversoldUnits;
+  }
+
+  public long getLostUnits() {
+    return lostUnits;
+  }
+
+  /**
+   * Obtiene el total de operaciones ejecutadas.
+   */
+  public long getTotalOperations() {
+    long total = 0;
+    for (OperationResult result : operations.values()) {
+      total += result.getCount();
+    }
+    return total;
+  }
+
+  /**
+   * Obtiene el total de operaciones que terminaron con una excepción inesperada.
+   */
+  public long getTotalErrors() {
+    long total = 0;
+    for (OperationResult result : operations.values()) {
+      total += result.getErrors();
+    }
+    return total;
+  }
+
+  /**
+   * Obtiene las operaciones ejecutadas por segundo.
+   */
+  public double getOperationsPerSecond() {
+    return elapsedNanos == 0 ? 0 : getTotalOperations() * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder summary = new StringBuilder();
+    summary.append(String.format(
+        "Compradores: %d (hilos %s), %d operaciones en %.1f ms, %.0f operaciones/s%n",
+        shoppers, virtualThreads ? "virtuales" : "de plataforma", getTotalOperations(),
+        elapsedNanos / 1_000_000.0, getOperationsPerSecond()));
+    summary.append(String.format("%-10s %10s %10s %10s %8s %10s %10s %10s %10s%n",
+        "Operación", "Cantidad", "Ops/s", "Rechazos", "Errores", "p50 µs", "p99 µs",
+        "p99.9 µs", "Máx µs"));
+    for (Map.Entry<LoadOperation, OperationResult> entry : operations.entrySet()) {
+      OperationResult result = entry.getValue();
+      LatencyHistogram.Snapshot latencies = result.getLatencies();
+      summary.append(String.format("%-10s %10d %10.0f %10d %8d %10.1f %10.1f %10.1f %10.1f%n",
+          entry.getKey().getKey(), result.getCount(),
+          elapsedNanos == 0 ? 0 : result.getCount() * 1_000_000_000.0 / elapsedNanos,
+          result.getRejected(), result.getErrors(),
+          latencies.getValueAt(0.5) / NANOS_PER_MICRO,
+          latencies.getValueAt(0.99) / NANOS_PER_MICRO,
+          latencies.getValueAt(0.999) / NANOS_PER_MICRO,
+          latencies.getMax() / NANOS_PER_MICRO));
+    }
+    summary.append(String.format("Sobreventa: %d unidades, stock perdido: %d unidades%n",
+        oversoldUnits, lostUnits));
+    return summary.toString();
+  }
+
+  /**
+   * Cantidades y latencias de una operación.
+   */
+  public static final class OperationResult {
+    private final long count;
+    private final long rejected;
+    private final long errors;
+    private final LatencyHistogram.Snapshot latencies;
+
+    /**
+     * Constructor de OperationResult.
+     *
+     * @param count     Veces que se ejecutó (incluye rechazos y errores)
+     * @param rejected  Veces que el servicio la rechazó por una regla de negocio (sin
+     *                  stock, cupón inválido, carrito vacío)
+     * @param errors    Veces que terminó con una excepción inesperada
+     * @param latencies Latencias de todas las ejecuciones, en nanosegundos
+     */
+    public OperationResult(long count, long rejected, long errors,
+                           LatencyHistogram.Snapshot latencies) {
+      this.count = count;
+      this.rejected = rejected;
+      this.errors = errors;
+      this.latencies = latencies;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getRejected() {
+      return rejected;
+    }
+
+    public long getErrors() {
+      return errors;
+    }
+
+    public LatencyHistogram.Snapshot getLatencies() {
+      return latencies;
+    }
+  }
+}
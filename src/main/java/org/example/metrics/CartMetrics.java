@@ -0,0 +1,212 @@
+package org.example.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de las operaciones de {@link org.example.service.ShoppingCartService}: cantidad,
+ * errores e histograma de latencias por operación.
+ *
+ * <p>Se usan así:
+ * <pre>
+ * long start = metrics.start();
+ * ...
+ * metrics.record(Operation.CHECKOUT, start, exito);
+ * </pre>
+ * Con las métricas deshabilitadas ({@link #disabled()}) {@code start} no lee el reloj y
+ * {@code record} vuelve tras comparar un campo final, así que instrumentar no cuesta nada
+ * medible.
+ *
+ * <p>Se pueden publicar por JMX ({@link #registerMBeans()}, un MXBean por operación bajo
+ * {@value #JMX_DOMAIN}) y volcar como texto periódicamente ({@link #startDump}).
+ */
+public class CartMetrics implements AutoCloseable {
+
+  /**
+   * Dominio JMX de los MXBeans de operaciones.
+   */
+  public static final String JMX_DOMAIN = "org.example";
+
+  /**
+   * Operaciones instrumentadas.
+   */
+  public enum Operation {
+    ADD_TO_CART("addToCart"),
+    UPDATE_QUANTITY("updateQuantity"),
+    REMOVE_FROM_CART("removeFromCart"),
+    APPLY_DISCOUNT("applyDiscount"),
+    CHECKOUT("checkout"),
+    CATALOG_LOOKUP("catalogLookup"),
+    CATALOG_QUERY("catalogQuery");
+
+    private final String metricName;
+
+    Operation(String metricName) {
+      this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+      return metricName;
+    }
+  }
+
+  private static final CartMetrics DISABLED = new CartMetrics(false);
+
+  private final boolean enabled;
+  private final Map<Operation, OperationMetrics> operations = new EnumMap<>(Operation.class);
+  private final OperationMetrics[] byOrdinal;
+  private ScheduledExecutorService dumper;
+  private boolean registered;
+
+  /**
+   * Crea métricas habilitadas.
+   */
+  public CartMetrics() {
+    this(true);
+  }
+
+  private CartMetrics(boolean enabled) {
+    this.enabled = enabled;
+    Operation[] values = Operation.values();
+    this.byOrdinal = new OperationMetrics[values.length];
+    for (Operation operation : values) {
+      OperationMetrics metrics = new OperationMetrics(operation.getMetricName());
+      operations.put(operation, metrics);
+      byOrdinal[operation.ordinal()] = metrics;
+    }
+  }
+
+  /**
+   * Obtiene la instancia compartida que no registra nada.
+   */
+  public static CartMetrics disabled() {
+    return DISABLED;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Marca el inicio de una operación.
+   *
+   * @return Tiempo actual en nanosegundos, o 0 si las métricas están deshabilitadas
+   */
+  public long start() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Registra el fin de una operación iniciada con {@link #start()}.
+   *
+   * @param success false si la operación terminó con una excepción
+   */
+  public void record(Operation operation, long start, boolean success) {
+    if (enabled) {
+      byOrdinal[operation.ordinal()].record(System.nanoTime() - start, success);
+    }
+  }
+
+  /**
+   * Obtiene las métricas de una operación.
+   */
+  public OperationMetrics get(Operation operation) {
+    return operations.get(operation);
+  }
+
+  /**
+   * Arma una tabla de texto con todas las operaciones; latencias en microsegundos.
+   */
+  public String format() {
+    StringBuilder report = new StringBuilder();
+    report.append(String.format("%-18s %10s %8s %10s %10s %10s %10s %10s%n",
+        "Operación", "Cantidad", "Errores", "Media µs", "p50 µs", "p99 µs", "p99.9 µs",
+        "Máx µs"));
+    for (OperationMetrics metrics : operations.values()) {
+      metrics.appendTo(report);
+    }
+    return report.toString();
+  }
+
+  /**
+   * Registra un MXBean por operación en el servidor de plataforma, con nombre
+   * {@code org.example:type=CartMetrics,operation=<nombre>}.
+   *
+   * @throws IllegalStateException si ya hay MXBeans con esos nombres registrados
+   */
+  public synchronized void registerMBeans() {
+    if (registered) {
+      return;
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      for (OperationMetrics metrics : operations.values()) {
+        server.registerMBean(metrics, objectName(metrics));
+      }
+    } catch (InstanceAlreadyExistsException e) {
+      throw new IllegalStateException("Ya hay métricas registradas en JMX", e);
+    } catch (JMException e) {
+      throw new IllegalStateException("No se pudieron registrar las métricas en JMX", e);
+    }
+    registered = true;
+  }
+
+  /**
+   * Vuelca {@link #format()} en el stream dado cada intervalo, en un hilo en segundo plano.
+   */
+  public synchronized void startDump(Duration interval, PrintStream out) {
+    if (interval == null || interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("El intervalo debe ser positivo");
+    }
+    if (dumper != null) {
+      throw new IllegalStateException("El volcado ya está iniciado");
+    }
+    dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "cart-metrics-dump");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long millis = interval.toMillis();
+    dumper.scheduleAtFixedRate(() -> out.print(format()), millis, millis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Detiene el volcado periódico y quita los MXBeans registrados.
+   */
+  @Override
+  public synchronized void close() {
+    if (dumper != null) {
+      dumper.shutdownNow();
+      dumper = null;
+    }
+    if (registered) {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      for (OperationMetrics metrics : operations.values()) {
+        try {
+          server.unregisterMBean(objectName(metrics));
+        } catch (InstanceNotFoundException e) {
+          // Ya no estaba registrado
+        } catch (JMException e) {
+          throw new IllegalStateException("No se pudieron quitar las métricas de JMX", e);
+        }
+      }
+      registered = false;
+    }
+  }
+
+  private static ObjectName objectName(OperationMetrics metrics) throws JMException {
+    return new ObjectName(JMX_DOMAIN + ":type=CartMetrics,operation=" + metrics.getName());
+  }
+}
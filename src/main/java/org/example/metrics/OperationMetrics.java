@@ -0,0 +1,92 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores y latencias de una operación del servicio.
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+  private static final double NANOS_PER_MICRO = 1_000.0;
+
+  private final String name;
+  private final LatencyHistogram latencies = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+
+  OperationMetrics(String name) {
+    this.name = name;
+  }
+
+  void record(long nanos, boolean success) {
+    latencies.record(nanos);
+    if (!success) {
+      errors.increment();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Obtiene una copia del histograma de latencias, en nanosegundos.
+   */
+  public LatencyHistogram.Snapshot getLatencies() {
+    return latencies.snapshot();
+  }
+
+  @Override
+  public long getCount() {
+    return latencies.snapshot().getCount();
+  }
+
+  @Override
+  public long getErrorCount() {
+    return errors.sum();
+  }
+
+  @Override
+  public double getMeanMicros() {
+    return latencies.snapshot().getMean() / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public double getP50Micros() {
+    return latencies.snapshot().getValueAt(0.5) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public double getP99Micros() {
+    return latencies.snapshot().getValueAt(0.99) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public double getP999Micros() {
+    return latencies.snapshot().getValueAt(0.999) / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public double getMaxMicros() {
+    return latencies.snapshot().getMax() / NANOS_PER_MICRO;
+  }
+
+  @Override
+  public void reset() {
+    latencies.reset();
+    errors.reset();
+  }
+
+  /**
+   * Agrega una línea con los valores actuales: cantidad, errores y latencias en µs.
+   */
+  void appendTo(StringBuilder report) {
+    LatencyHistogram.Snapshot snapshot = latencies.snapshot();
+    report.append(String.format("%-18s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+        name, snapshot.getCount(), errors.sum(),
+        snapshot.getMean() / NANOS_PER_MICRO,
+        snapshot.getValueAt(0.5) / NANOS_PER_MICRO,
+        snapshot.getValueAt(0.99) / NANOS_PER_MICRO,
+        snapshot.getValueAt(0.999) / NANOS_PER_MICRO,
+        snapshot.getMax() / NANOS_PER_MICRO));
+  }
+}
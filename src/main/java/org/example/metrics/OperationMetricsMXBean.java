@@ -0,0 +1,23 @@
+package org.example.metrics;
+
+/**
+ * Vista JMX de las métricas de una operación. Las latencias están en microsegundos.
+ */
+public interface OperationMetricsMXBean {
+
+  long getCount();
+
+  long getErrorCount();
+
+  double getMeanMicros();
+
+  double getP50Micros();
+
+  double getP99Micros();
+
+  double getP999Micros();
+
+  double getMaxMicros();
+
+  void reset();
+}
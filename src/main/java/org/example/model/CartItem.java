@@ -36,7 +36,16 @@ public class CartItem {
   public double getSubtotal() {
     // Variable local no usada intencionalmente para provocar UnusedLocalVariable
     int temp = 0;
-    return product.getPrice() * quantity;
+    return Money.toDouble(getSubtotalCents());
+  }
+
+  /**
+   * Calcula el subtotal del item en centavos (precio × cantidad), sin redondeos.
+   *
+   * @return Subtotal del item en centavos
+   */
+  public long getSubtotalCents() {
+    return Money.times(product.getPriceCents(), quantity);
   }
 
   /**
@@ -96,7 +105,7 @@ public class CartItem {
 
   @Override
   public String toString() {
-    return String.format("CartItem{product=%s, quantity=%d, subtotal=%.2f}",
-        product.getName(), quantity, getSubtotal());
+    return String.format("CartItem{product=%s, quantity=%d, subtotal=%s}",
+        product.getName(), quantity, Money.format(getSubtotalCents()));
   }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package org.example.model;
+
+import java.util.Objects;
+
+/**
+ * Representa un cupón de descuento.
+ * Un cupón descuenta un porcentaje (en puntos básicos) o un monto fijo (en centavos).
+ */
+public class Coupon {
+
+  /**
+   * Tipo de descuento del cupón.
+   */
+  public enum Type {
+    PERCENTAGE,
+    FIXED
+  }
+
+  private final String code;
+  private final Type type;
+  private final long value;
+
+  /**
+   * Constructor de Coupon.
+   *
+   * @param code  Código del cupón (se compara sin distinguir mayúsculas)
+   * @param type  Tipo de descuento
+   * @param value Puntos básicos (0-10000) si es porcentual, o centavos si es fijo
+   * @throws IllegalArgumentException si el código está vacío o el valor es inválido
+   */
+  public Coupon(String code, Type type, long value) {
+    if (code == null || code.isBlank()) {
+      throw new IllegalArgumentException("El código de cupón no puede estar vacío");
+    }
+    if (type == null) {
+      throw new IllegalArgumentException("El tipo de cupón no puede ser nulo");
+    }
+    if (value < 0 || (type == Type.PERCENTAGE && value > Money.FULL_BASIS_POINTS)) {
+      throw new IllegalArgumentException("Valor de cupón inválido: " + value);
+    }
+    this.code = code;
+    this.type = type;
+    this.value = value;
+  }
+
+  // Getters
+  public String getCode() {
+    return code;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    Coupon coupon = (Coupon) o;
+    return value == coupon.value && code.equalsIgnoreCase(coupon.code) && type == coupon.type;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(code.toUpperCase(), type, value);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Coupon{code='%s', type=%s, value=%d}", code, type, value);
+  }
+}
@@ -0,0 +1,101 @@
+package org.example.model;
+
+/**
+ * Utilidades para montos en punto fijo.
+ *
+ * <p>Los montos se representan como {@code long} en centavos (unidades menores), de modo
+ * que sumas y descuentos son exactos y no requieren objetos ni boxing. Los porcentajes se
+ * expresan en puntos básicos (1% = 100 pb). Los métodos con {@code double} sólo se usan
+ * en los bordes (entrada del usuario y compatibilidad con la API anterior).
+ */
+public final class Money {
+
+  /**
+   * Centavos por unidad monetaria.
+   */
+  public static final long CENTS_PER_UNIT = 100;
+
+  /**
+   * Puntos básicos equivalentes al 100%.
+   */
+  public static final int FULL_BASIS_POINTS = 10_000;
+
+  private Money() {
+  }
+
+  /**
+   * Convierte un monto decimal a centavos, redondeando al centavo más cercano.
+   *
+   * @throws IllegalArgumentException si el monto no es un número finito
+   */
+  public static long fromDouble(double amount) {
+    if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+      throw new IllegalArgumentException("El monto debe ser un número finito");
+    }
+    return Math.round(amount * CENTS_PER_UNIT);
+  }
+
+  /**
+   * Convierte centavos a un monto decimal (sólo para mostrar o compatibilidad).
+   */
+  public static double toDouble(long cents) {
+    return (double) cents / CENTS_PER_UNIT;
+  }
+
+  /**
+   * Convierte un porcentaje decimal a puntos básicos, redondeando.
+   */
+  public static int basisPoints(double percent) {
+    if (Double.isNaN(percent) || Double.isInfinite(percent)) {
+      throw new IllegalArgumentException("El porcentaje debe ser un número finito");
+    }
+    return (int) Math.round(percent * 100);
+  }
+
+  /**
+   * Multiplica un precio unitario por una cantidad.
+   *
+   * @throws ArithmeticException si el resultado desborda
+   */
+  public static long times(long cents, int quantity) {
+    return Math.multiplyExact(cents, (long) quantity);
+  }
+
+  /**
+   * Calcula el porcentaje de un monto, redondeando medio centavo hacia arriba.
+   *
+   * @param cents       Monto en centavos (no negativo)
+   * @param basisPoints Porcentaje en puntos básicos (no negativo)
+   * @return Porción del monto en centavos
+   * @throws ArithmeticException si el cálculo desborda
+   */
+  public static long percentOf(long cents, long basisPoints) {
+    return (Math.multiplyExact(cents, basisPoints) + FULL_BASIS_POINTS / 2) / FULL_BASIS_POINTS;
+  }
+
+  /**
+   * Formatea centavos con dos decimales (por ejemplo {@code 1234.50}).
+   */
+  public static String format(long cents) {
+    StringBuilder text = new StringBuilder(24);
+    appendTo(text, cents);
+    return text.toString();
+  }
+
+  /**
+   * Agrega el monto formateado con dos decimales a un buffer existente, sin crear Strings
+   * intermedios.
+   */
+  public static StringBuilder appendTo(StringBuilder target, long cents) {
+    long abs = Math.abs(cents);
+    if (cents < 0) {
+      target.append('-');
+    }
+    long fraction = abs % CENTS_PER_UNIT;
+    target.append(abs / CENTS_PER_UNIT).append('.');
+    if (fraction < 10) {
+      target.append('0');
+    }
+    return target.append(fraction);
+  }
+}
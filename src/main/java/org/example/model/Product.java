@@ -2,16 +2,29 @@ package org.example.model;
 
 import java.util.Objects;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Representa un producto en la tienda.
  * Contiene información sobre el producto y su disponibilidad en stock.
+ *
+ * <p>El stock se actualiza con compare-and-set, por lo que todas las operaciones de stock
+ * son seguras entre hilos sin bloquear y nunca dejan el stock por debajo de cero.
+ *
+ * <p>El precio se guarda en centavos (ver {@link Money}); {@link #getPrice()} sólo lo
+ * convierte a decimal para compatibilidad.
+ *
+ * <p>Las subclases pueden guardar nombre, precio y stock fuera del objeto (por ejemplo,
+ * vistas flyweight sobre un almacén columnar) sobrescribiendo los getters y los métodos
+ * protegidos de acceso al stock. Dos productos son iguales si tienen el mismo ID, sin
+ * importar su implementación.
  */
 public class Product {
   private final String id;
   private final String name;
-  private final double price;
-  private int stock;
+  private final long priceCents;
+  private final AtomicInteger stock;
+  private volatile StockObserver stockObserver;
 
   private int unusedCounter;
 
@@ -25,7 +38,11 @@ public class Product {
    * @throws IllegalArgumentException si el precio es negativo o el stock es negativo
    */
   public Product(String id, String name, double price, int stock) {
-    if (price < 0) {
+    this(id, name, stock, toCents(price));
+  }
+
+  private Product(String id, String name, int stock, long priceCents) {
+    if (priceCents < 0) {
       throw new IllegalArgumentException("El precio no puede ser negativo");
     }
     if (stock < 0) {
@@ -40,8 +57,47 @@ public class Product {
 
     this.id = id;
     this.name = name;
-    this.price = price;
-    this.stock = stock;
+    this.priceCents = priceCents;
+    this.stock = new AtomicInteger(stock);
+  }
+
+  /**
+   * Crea un producto con el precio expresado en centavos.
+   *
+   * @param id         Identificador único del producto
+   * @param name       Nombre del producto
+   * @param priceCents Precio unitario en centavos
+   * @param stock      Cantidad disponible en inventario
+   * @return Producto creado
+   * @throws IllegalArgumentException si el precio es negativo o el stock es negativo
+   */
+  public static Product ofCents(String id, String name, long priceCents, int stock) {
+    return new Product(id, name, stock, priceCents);
+  }
+
+  /**
+   * Constructor para subclases que guardan nombre, precio y stock en otro lugar. Deben
+   * sobrescribir {@link #getName()}, {@link #getPriceCents()}, {@link #currentStock()},
+   * {@link #compareAndSetStock(int, int)} y {@link #addToStock(int)}.
+   *
+   * @param id Identificador único del producto
+   * @throws IllegalArgumentException si el ID está vacío
+   */
+  protected Product(String id) {
+    if (id == null || id.trim().isEmpty()) {
+      throw new IllegalArgumentException("El ID del producto no puede estar vacío");
+    }
+    this.id = id;
+    this.name = null;
+    this.priceCents = 0;
+    this.stock = null;
+  }
+
+  private static long toCents(double price) {
+    if (price < 0) {
+      throw new IllegalArgumentException("El precio no puede ser negativo");
+    }
+    return Money.fromDouble(price);
   }
 
   /**
@@ -51,7 +107,44 @@ public class Product {
    * @return true si hay suficiente stock, false en caso contrario
    */
   public boolean hasStock(int quantity) {
-    return this.stock >= quantity;
+    return currentStock() >= quantity;
+  }
+
+  /**
+   * Intenta reservar una cantidad de stock de forma atómica.
+   * Si no hay suficiente stock no modifica nada y retorna false; nunca bloquea.
+   *
+   * @param quantity Cantidad a reservar
+   * @return true si se reservó, false si el stock no alcanza
+   * @throws IllegalArgumentException si la cantidad es menor o igual a cero
+   */
+  public boolean tryReserve(int quantity) {
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("La cantidad a reservar debe ser mayor a cero");
+    }
+    int current;
+    do {
+      current = currentStock();
+      if (current < quantity) {
+        return false;
+      }
+    } while (!compareAndSetStock(current, current - quantity));
+    notifyStockChanged(current, current - quantity);
+    return true;
+  }
+
+  /**
+   * Devuelve al stock una cantidad reservada previamente con {@link #tryReserve(int)}.
+   *
+   * @param quantity Cantidad a liberar
+   * @throws IllegalArgumentException si la cantidad es menor o igual a cero
+   */
+  public void release(int quantity) {
+    if (quantity <= 0) {
+      throw new IllegalArgumentException("La cantidad a liberar debe ser mayor a cero");
+    }
+    int updated = addToStock(quantity);
+    notifyStockChanged(updated - quantity, updated);
   }
 
   /**
@@ -61,12 +154,16 @@ public class Product {
    * @throws IllegalArgumentException si la cantidad es mayor al stock disponible
    */
   public void reduceStock(int quantity) {
-    if (quantity > this.stock) {
-      throw new IllegalArgumentException(
-          "Stock insuficiente. Disponible: " + this.stock + ", Solicitado: " + quantity
-      );
-    }
-    this.stock -= quantity;
+    int current;
+    do {
+      current = currentStock();
+      if (quantity > current) {
+        throw new IllegalArgumentException(
+            "Stock insuficiente. Disponible: " + current + ", Solicitado: " + quantity
+        );
+      }
+    } while (!compareAndSetStock(current, current - quantity));
+    notifyStockChanged(current, current - quantity);
   }
 
   /**
@@ -79,7 +176,55 @@ public class Product {
     if (quantity < 0) {
       throw new IllegalArgumentException("La cantidad a añadir no puede ser negativa");
     }
-    this.stock += quantity;
+    int updated = addToStock(quantity);
+    notifyStockChanged(updated - quantity, updated);
+  }
+
+  /**
+   * Registra quién recibe los cambios de stock de este producto (null para ninguno).
+   */
+  public void setStockObserver(StockObserver observer) {
+    this.stockObserver = observer;
+  }
+
+  /**
+   * Obtiene el observador de stock vigente. Las vistas sobre un almacén pueden
+   * sobrescribirlo para usar el del almacén.
+   */
+  protected StockObserver getStockObserver() {
+    return stockObserver;
+  }
+
+  private void notifyStockChanged(int previous, int current) {
+    StockObserver observer = getStockObserver();
+    if (observer != null && previous != current) {
+      observer.stockChanged(this, previous, current);
+    }
+  }
+
+  /**
+   * Lee el stock actual con semántica volátil.
+   */
+  protected int currentStock() {
+    return stock.get();
+  }
+
+  /**
+   * Cambia el stock de forma atómica si todavía vale {@code expected}.
+   *
+   * @return true si se cambió
+   */
+  protected boolean compareAndSetStock(int expected, int updated) {
+    return stock.compareAndSet(expected, updated);
+  }
+
+  /**
+   * Suma una cantidad al stock de forma atómica.
+   *
+   * @return Stock resultante
+   */
+  protected int addToStock(int delta) {
+    return stock.addAndGet(delta);
   }
 
   // Getters
@@ -92,11 +237,15 @@ public class Product {
   }
 
   public double getPrice() {
-    return price;
+    return Money.toDouble(getPriceCents());
+  }
+
+  public long getPriceCents() {
+    return priceCents;
   }
 
   public int getStock() {
-    return stock;
+    return currentStock();
   }
 
   @Override
@@ -104,22 +253,22 @@ public class Product {
     if (this == o) {
       return true;
     }
-    if (o == null || getClass() != o.getClass()) {
+    if (!(o instanceof Product)) {
       return false;
     }
     Product product = (Product) o;
-    return Objects.equals(id, product.id);
+    return Objects.equals(getId(), product.getId());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id);
+    return Objects.hash(getId());
   }
 
   @Override
   public String toString() {
-    return String.format("Product{id='%s', name='%s', price=%.2f, stock=%d}",
-        id, name, price, stock);
+    return String.format("Product{id='%s', name='%s', price=%s, stock=%d}",
+        getId(), getName(), Money.format(getPriceCents()), getStock());
   }
 
   // Método adicional para introducir literales duplicadas
@@ -0,0 +1,20 @@
+package org.example.model;
+
+/**
+ * Recibe los cambios de stock de los productos (por ejemplo, para mantener índices).
+ *
+ * <p>Se invoca en el hilo que cambió el stock, después del cambio y sin locks tomados;
+ * las implementaciones deben ser rápidas y seguras entre hilos.
+ */
+@FunctionalInterface
+public interface StockObserver {
+
+  /**
+   * Notifica un cambio de stock.
+   *
+   * @param product       Producto modificado
+   * @param previousStock Stock antes del cambio
+   * @param currentStock  Stock después del cambio
+   */
+  void stockChanged(Product product, int previousStock, int currentStock);
+}
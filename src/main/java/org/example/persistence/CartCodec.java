@@ -0,0 +1,235 @@
+package org.example.persistence;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificación binaria compacta de carritos: sesión → producto → cantidad.
+ *
+ * <p>Formato (versión {@value #VERSION}), con enteros como varint sin signo de 7 bits por
+ * byte:
+ * <pre>
+ * [versión byte]
+ * [cantidad de IDs] { [largo] [ID de producto UTF-8] }        diccionario
+ * [cantidad de sesiones] { [largo] [sesión UTF-8] [cantidad de líneas]
+ *                          { [índice en el diccionario] [cantidad] } }
+ * </pre>
+ * Cada ID de producto se escribe una sola vez por bloque aunque esté en muchos carritos, y
+ * una línea típica ocupa 2 bytes. Leer una versión desconocida falla en lugar de
+ * interpretar mal los datos.
+ *
+ * <p>{@link #decode(ByteBuffer, LineVisitor)} lee directamente del buffer (también de
+ * memoria directa o de un archivo mapeado) sin copiarlo: sólo crea un {@link String} por
+ * ID del diccionario y por sesión.
+ */
+public final class CartCodec {
+
+  /**
+   * Versión del formato que escribe esta clase.
+   */
+  public static final int VERSION = 1;
+
+  private CartCodec() {
+  }
+
+  /**
+   * Recibe las líneas decodificadas, en el orden en que se codificaron.
+   */
+  @FunctionalInterface
+  public interface LineVisitor {
+    void line(String sessionId, String productId, int quantity);
+  }
+
+  /**
+   * Codifica los carritos en un buffer del tamaño exacto, listo para leer.
+   *
+   * @throws IllegalArgumentException si alguna cantidad no es positiva
+   */
+  public static ByteBuffer encode(Map<String, Map<String, Integer>> carts) {
+    Dictionary dictionary = new Dictionary();
+    int size = 1;
+    List<byte[]> sessions = new ArrayList<>(carts.size());
+    for (Map.Entry<String, Map<String, Integer>> cart : carts.entrySet()) {
+      byte[] session = cart.getKey().getBytes(StandardCharsets.UTF_8);
+      sessions.add(session);
+      size += varintSize(session.length) + session.length + varintSize(cart.getValue().size());
+      for (Map.Entry<String, Integer> line : cart.getValue().entrySet()) {
+        int quantity = line.getValue();
+        if (quantity <= 0) {
+          throw new IllegalArgumentException("La cantidad debe ser mayor a cero");
+        }
+        size += varintSize(dictionary.indexOf(line.getKey())) + varintSize(quantity);
+      }
+    }
+    size += dictionary.encodedSize() + varintSize(carts.size());
+
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.put((byte) VERSION);
+    dictionary.writeTo(buffer);
+    putVarint(buffer, carts.size());
+    int session = 0;
+    for (Map<String, Integer> lines : carts.values()) {
+      putBytes(buffer, sessions.get(session++));
+      putVarint(buffer, lines.size());
+      for (Map.Entry<String, Integer> line : lines.entrySet()) {
+        putVarint(buffer, dictionary.indexOf(line.getKey()));
+        putVarint(buffer, line.getValue());
+      }
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Decodifica los carritos desde la posición actual del buffer, que queda al final del
+   * bloque. Ante datos corruptos sólo lanza {@link IllegalArgumentException}: las
+   * cantidades y largos se validan contra lo que queda en el buffer antes de reservar
+   * memoria.
+   *
+   * @throws IllegalArgumentException si la versión no es soportada o los datos son
+   *                                  inválidos
+   */
+  public static Map<String, Map<String, Integer>> decode(ByteBuffer buffer) {
+    Map<String, Map<String, Integer>> carts = new LinkedHashMap<>();
+    decode(buffer, (sessionId, productId, quantity) ->
+        carts.computeIfAbsent(sessionId, id -> new LinkedHashMap<>()).put(productId, quantity));
+    return carts;
+  }
+
+  /**
+   * Recorre las líneas codificadas sin construir mapas intermedios.
+   *
+   * @return Cantidad de líneas leídas
+   * @throws IllegalArgumentException si la versión no es soportada o los datos son
+   *                                  inválidos
+   */
+  public static int decode(ByteBuffer buffer, LineVisitor visitor) {
+    try {
+      int version = buffer.get();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Versión de formato no soportada: " + version);
+      }
+      String[] dictionary = new String[getCount(buffer)];
+      for (int i = 0; i < dictionary.length; i++) {
+        dictionary[i] = getString(buffer);
+      }
+      int lines = 0;
+      int sessions = getCount(buffer);
+      for (int s = 0; s < sessions; s++) {
+        String sessionId = getString(buffer);
+        int count = getCount(buffer);
+        for (int i = 0; i < count; i++) {
+          int index = getVarint(buffer);
+          if (index < 0 || index >= dictionary.length) {
+            throw new IllegalArgumentException("Índice de producto fuera de rango: " + index);
+          }
+          int quantity = getVarint(buffer);
+          if (quantity <= 0) {
+            throw new IllegalArgumentException("Cantidad inválida: " + quantity);
+          }
+          visitor.line(sessionId, dictionary[index], quantity);
+          lines++;
+        }
+      }
+      return lines;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Datos de carrito truncados", e);
+    }
+  }
+
+  static int varintSize(int value) {
+    return value < 0 ? 5 : (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+  }
+
+  static void putVarint(ByteBuffer buffer, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  static int getVarint(ByteBuffer buffer) {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Varint inválido");
+  }
+
+  /**
+   * Lee una cantidad de elementos; cada uno ocupa al menos un byte, así que no puede
+   * superar lo que queda en el buffer.
+   */
+  private static int getCount(ByteBuffer buffer) {
+    int count = getVarint(buffer);
+    if (count < 0 || count > buffer.remaining()) {
+      throw new IllegalArgumentException("Cantidad de elementos inválida: " + count);
+    }
+    return count;
+  }
+
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+    putVarint(buffer, bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = getVarint(buffer);
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Largo de texto inválido: " + length);
+    }
+    String value;
+    if (buffer.hasArray()) {
+      value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+          StandardCharsets.UTF_8);
+    } else {
+      byte[] bytes = new byte[length];
+      buffer.get(buffer.position(), bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+    buffer.position(buffer.position() + length);
+    return value;
+  }
+
+  /**
+   * IDs de producto numerados en orden de aparición.
+   */
+  private static final class Dictionary {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<byte[]> entries = new ArrayList<>();
+    private int encodedSize;
+
+    int indexOf(String productId) {
+      Integer index = indexes.get(productId);
+      if (index == null) {
+        index = entries.size();
+        byte[] bytes = productId.getBytes(StandardCharsets.UTF_8);
+        entries.add(bytes);
+        indexes.put(productId, index);
+        encodedSize += varintSize(bytes.length) + bytes.length;
+      }
+      return index;
+    }
+
+    int encodedSize() {
+      return varintSize(entries.size()) + encodedSize;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+      putVarint(buffer, entries.size());
+      for (byte[] entry : entries) {
+        putBytes(buffer, entry);
+      }
+    }
+  }
+}
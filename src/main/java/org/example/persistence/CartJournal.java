@@ -0,0 +1,635 @@
+package org.example.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal de escritura anticipada (write-ahead log) de los carritos.
+ *
+ * <p>Cada mutación se registra como un evento idempotente: la cantidad final de una línea
+ * ({@code SET}) o el vaciado de un carrito ({@code CLEAR}). Los eventos se acumulan en un
+ * buffer en memoria y un hilo los escribe al segmento actual y hace un único
+ * {@code fsync} por lote (group commit) cada intervalo. Registrar un evento cuesta una
+ * copia a memoria; quien necesite durabilidad espera el lote con
+ * {@link #awaitDurable(long)}, compartiendo el {@code fsync} con todos los demás.
+ *
+ * <p>Cada cierto número de eventos se guarda una instantánea de todos los carritos en un
+ * hilo propio, para que el hilo de commit siga con su intervalo mientras se escribe. Antes
+ * de tomarla se abre un segmento nuevo; la instantánea se toma sin detener los carritos y
+ * los eventos del segmento nuevo se vuelven a aplicar encima al recuperar, lo que es
+ * correcto porque los eventos son idempotentes. Después se borran los segmentos
+ * anteriores. Las instantáneas se guardan con {@link CartCodec}.
+ *
+ * <p>Formato de un registro: {@code [longitud int][crc32 int][tipo byte][sesión UTF]
+ * [producto UTF][cantidad int]}. Al recuperar, un registro truncado o con CRC inválido
+ * (escritura interrumpida) termina la lectura de su segmento.
+ */
+public class CartJournal implements AutoCloseable {
+
+  /**
+   * Intervalo de group commit por defecto.
+   */
+  public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofMillis(2);
+
+  /**
+   * Eventos entre instantáneas por defecto.
+   */
+  public static final int DEFAULT_SNAPSHOT_EVERY = 100_000;
+
+  static final byte TYPE_SET = 1;
+  static final byte TYPE_CLEAR = 2;
+
+  private static final String SEGMENT_PREFIX = "journal-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String SNAPSHOT_PREFIX = "snapshot-";
+  private static final String SNAPSHOT_SUFFIX = ".bin";
+  private static final int SNAPSHOT_MAGIC = 0x43415254;
+  private static final int HEADER_BYTES = Integer.BYTES * 2;
+  private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+  private final Path directory;
+  private final long commitIntervalMillis;
+  private final int snapshotEvery;
+  private final Map<String, Map<String, Integer>> recoveredState;
+
+  private final Object appendLock = new Object();
+  private final Object durableLock = new Object();
+  private final ReentrantLock ioLock = new ReentrantLock();
+  private final Object snapshotLock = new Object();
+  private final Object wakeLock = new Object();
+  private final Object snapshotWakeLock = new Object();
+
+  private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+  private ByteBuffer writing = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+  private long appendedSequence;
+  private long recordsSinceSnapshot;
+  private boolean snapshotRequested;
+  private volatile long durableSequence;
+  private volatile IOException failure;
+  private volatile boolean closed;
+  private volatile boolean stopped;
+  private volatile Supplier<Map<String, Map<String, Integer>>> snapshotSource;
+
+  private FileChannel channel;
+  private final Thread committer;
+  private final Thread snapshotter;
+
+  /**
+   * Abre el journal con los valores por defecto.
+   *
+   * @see #CartJournal(Path, Duration, int)
+   */
+  public CartJournal(Path directory) throws IOException {
+    this(directory, DEFAULT_COMMIT_INTERVAL, DEFAULT_SNAPSHOT_EVERY);
+  }
+
+  /**
+   * Abre el journal de un directorio, recupera su estado y empieza un segmento nuevo.
+   *
+   * @param directory      Directorio del journal (se crea si no existe)
+   * @param commitInterval Tiempo máximo que un evento espera su {@code fsync}
+   * @param snapshotEvery  Eventos entre instantáneas automáticas
+   * @throws IOException si no se puede leer o crear el journal
+   */
+  public CartJournal(Path directory, Duration commitInterval, int snapshotEvery)
+      throws IOException {
+    if (commitInterval == null || commitInterval.isNegative() || commitInterval.isZero()) {
+      throw new IllegalArgumentException("El intervalo de commit debe ser positivo");
+    }
+    if (snapshotEvery <= 0) {
+      throw new IllegalArgumentException("El intervalo de instantáneas debe ser positivo");
+    }
+    this.directory = Files.createDirectories(directory);
+    this.commitIntervalMillis = Math.max(1, commitInterval.toMillis());
+    this.snapshotEvery = snapshotEvery;
+
+    Recovery recovery = recover();
+    this.recoveredState = recovery.state;
+    this.appendedSequence = recovery.nextSequence - 1;
+    this.durableSequence = appendedSequence;
+    this.channel = openSegment(recovery.nextSequence);
+
+    this.committer = new Thread(this::runCommitter, "cart-journal-commit");
+    committer.setDaemon(true);
+    committer.start();
+    this.snapshotter = new Thread(this::runSnapshotter, "cart-journal-snapshot");
+    snapshotter.setDaemon(true);
+    snapshotter.start();
+  }
+
+  /**
+   * Obtiene los carritos recuperados al abrir el journal: sesión → producto → cantidad.
+   */
+  public Map<String, Map<String, Integer>> getRecoveredState() {
+    return recoveredState;
+  }
+
+  /**
+   * Registra la cantidad final de una línea (0 si se removió).
+   *
+   * @return Número de secuencia del evento
+   */
+  public long appendSet(String sessionId, String productId, int quantity) {
+    return append(encode(TYPE_SET, sessionId, productId, quantity));
+  }
+
+  /**
+   * Registra que un carrito se vació.
+   *
+   * @return Número de secuencia del evento
+   */
+  public long appendClear(String sessionId) {
+    return append(encode(TYPE_CLEAR, sessionId, "", 0));
+  }
+
+  /**
+   * Obtiene la secuencia del último evento registrado.
+   */
+  public long lastSequence() {
+    synchronized (appendLock) {
+      return appendedSequence;
+    }
+  }
+
+  /**
+   * Verifica que el journal acepte eventos. Conviene llamarlo antes de modificar el estado
+   * que se va a registrar, para no dejar en memoria un cambio que el journal ya no puede
+   * guardar.
+   *
+   * @throws UncheckedIOException si falló la escritura del journal
+   * @throws IllegalStateException si el journal está cerrado
+   */
+  public void checkWritable() {
+    checkFailure();
+    if (closed) {
+      throw new IllegalStateException("El journal está cerrado");
+    }
+  }
+
+  /**
+   * Espera hasta que el evento con la secuencia dada esté en disco.
+   *
+   * @throws UncheckedIOException si falló la escritura del journal o si el hilo se
+   *                              interrumpió mientras esperaba (con el flag restaurado)
+   * @throws IllegalStateException si el journal se cerró sin escribir el evento
+   */
+  public void awaitDurable(long sequence) {
+    synchronized (durableLock) {
+      while (durableSequence < sequence && failure == null && !stopped) {
+        try {
+          durableLock.wait(commitIntervalMillis);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new UncheckedIOException(
+              new InterruptedIOException("Interrumpido esperando el journal"));
+        }
+      }
+    }
+    if (durableSequence < sequence) {
+      checkFailure();
+      throw new IllegalStateException("El journal se cerró sin escribir el evento");
+    }
+  }
+
+  /**
+   * Registra de dónde se toma el estado completo de los carritos para las instantáneas.
+   */
+  public void setSnapshotSource(Supplier<Map<String, Map<String, Integer>>> source) {
+    this.snapshotSource = source;
+  }
+
+  /**
+   * Guarda una instantánea de los carritos y borra los segmentos que ya no hacen falta.
+   *
+   * @throws IOException si no se puede escribir la instantánea
+   * @throws IllegalStateException si no hay un origen de instantáneas registrado
+   */
+  public void snapshot() throws IOException {
+    Supplier<Map<String, Map<String, Integer>>> source = snapshotSource;
+    if (source == null) {
+      throw new IllegalStateException("No hay un origen de instantáneas registrado");
+    }
+    synchronized (snapshotLock) {
+      long boundary;
+      ioLock.lock();
+      try {
+        long flushed = flushLocked();
+        channel.close();
+        boundary = flushed + 1;
+        channel = openSegment(boundary);
+        synchronized (appendLock) {
+          recordsSinceSnapshot = appendedSequence - flushed;
+        }
+      } finally {
+        ioLock.unlock();
+      }
+
+      writeSnapshot(boundary, source.get());
+      deleteBefore(boundary);
+    }
+  }
+
+  /**
+   * Escribe y sincroniza los eventos pendientes y detiene el hilo de commit.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    // Sin interrupt(): interrumpir un hilo en E/S cerraría el FileChannel
+    synchronized (wakeLock) {
+      wakeLock.notifyAll();
+    }
+    synchronized (snapshotWakeLock) {
+      snapshotWakeLock.notifyAll();
+    }
+    try {
+      committer.join();
+      snapshotter.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    ioLock.lock();
+    try {
+      flushLocked();
+      channel.close();
+    } catch (IOException e) {
+      failure = e;
+      throw e;
+    } finally {
+      ioLock.unlock();
+      stopped = true;
+      synchronized (durableLock) {
+        durableLock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Agrega el registro al lote pendiente. No falla aunque el journal esté roto o cerrado:
+   * el cambio que registra ya se aplicó, así que el error se informa en
+   * {@link #awaitDurable(long)}.
+   */
+  private long append(byte[] record) {
+    synchronized (appendLock) {
+      if (pending.remaining() < record.length) {
+        ByteBuffer grown = ByteBuffer.allocate(
+            Math.max(pending.capacity() * 2, pending.position() + record.length));
+        pending.flip();
+        grown.put(pending);
+        pending = grown;
+      }
+      pending.put(record);
+      recordsSinceSnapshot++;
+      return ++appendedSequence;
+    }
+  }
+
+  private void runCommitter() {
+    while (!closed) {
+      synchronized (wakeLock) {
+        try {
+          wakeLock.wait(commitIntervalMillis);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+      if (closed) {
+        return;
+      }
+      try {
+        ioLock.lock();
+        try {
+          flushLocked();
+        } finally {
+          ioLock.unlock();
+        }
+        if (shouldSnapshot()) {
+          requestSnapshot();
+        }
+      } catch (IOException e) {
+        fail(e);
+        return;
+      }
+    }
+  }
+
+  private void requestSnapshot() {
+    synchronized (snapshotWakeLock) {
+      snapshotRequested = true;
+      snapshotWakeLock.notifyAll();
+    }
+  }
+
+  private void runSnapshotter() {
+    while (true) {
+      synchronized (snapshotWakeLock) {
+        while (!snapshotRequested && !closed) {
+          try {
+            snapshotWakeLock.wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (closed) {
+          return;
+        }
+        snapshotRequested = false;
+      }
+      try {
+        snapshot();
+      } catch (IOException e) {
+        fail(e);
+        return;
+      }
+    }
+  }
+
+  private void fail(IOException error) {
+    failure = error;
+    synchronized (durableLock) {
+      durableLock.notifyAll();
+    }
+  }
+
+  private boolean shouldSnapshot() {
+    if (snapshotSource == null) {
+      return false;
+    }
+    synchronized (appendLock) {
+      return recordsSinceSnapshot >= snapshotEvery;
+    }
+  }
+
+  /**
+   * Escribe el lote pendiente al segmento actual con un solo {@code fsync}. Requiere
+   * {@link #ioLock}.
+   *
+   * @return Secuencia del último evento en disco
+   */
+  private long flushLocked() throws IOException {
+    ByteBuffer batch;
+    long upTo;
+    synchronized (appendLock) {
+      upTo = appendedSequence;
+      if (pending.position() == 0) {
+        return upTo;
+      }
+      batch = pending;
+      pending = writing;
+      writing = batch;
+    }
+    batch.flip();
+    while (batch.hasRemaining()) {
+      channel.write(batch);
+    }
+    channel.force(false);
+    batch.clear();
+    synchronized (durableLock) {
+      durableSequence = upTo;
+      durableLock.notifyAll();
+    }
+    return upTo;
+  }
+
+  private FileChannel openSegment(long firstSequence) throws IOException {
+    // Si el segmento existe es porque no tenía registros válidos: se reemplaza
+    return FileChannel.open(segmentPath(firstSequence), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  private Path segmentPath(long firstSequence) {
+    return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence,
+        SEGMENT_SUFFIX));
+  }
+
+  private void checkFailure() {
+    IOException error = failure;
+    if (error != null) {
+      throw new UncheckedIOException("Falló la escritura del journal", error);
+    }
+  }
+
+  // ---------------------------------------------------------------- recuperación
+
+  private Recovery recover() throws IOException {
+    Map<String, Map<String, Integer>> state = new LinkedHashMap<>();
+    long boundary = 1;
+    List<Long> snapshots = listSequences(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    for (int i = snapshots.size() - 1; i >= 0; i--) {
+      Map<String, Map<String, Integer>> loaded = readSnapshot(snapshots.get(i));
+      if (loaded != null) {
+        state = loaded;
+        boundary = snapshots.get(i);
+        break;
+      }
+    }
+
+    long nextSequence = boundary;
+    for (long start : listSequences(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+      if (start < boundary) {
+        continue;
+      }
+      long records = replaySegment(segmentPath(start), state);
+      nextSequence = Math.max(nextSequence, start + records);
+    }
+    return new Recovery(state, nextSequence);
+  }
+
+  private long replaySegment(Path segment, Map<String, Map<String, Integer>> state)
+      throws IOException {
+    long records = 0;
+    try (DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(segment)))) {
+      while (true) {
+        byte[] payload = readRecord(input);
+        if (payload == null) {
+          return records;
+        }
+        apply(payload, state);
+        records++;
+      }
+    }
+  }
+
+  private static byte[] readRecord(DataInputStream input) throws IOException {
+    int length;
+    try {
+      length = input.readInt();
+    } catch (EOFException e) {
+      return null;
+    }
+    try {
+      int crc = input.readInt();
+      if (length <= 0 || length > 1 << 20) {
+        return null;
+      }
+      byte[] payload = new byte[length];
+      input.readFully(payload);
+      CRC32 checksum = new CRC32();
+      checksum.update(payload);
+      return (int) checksum.getValue() == crc ? payload : null;
+    } catch (EOFException e) {
+      // Registro truncado por una escritura interrumpida
+      return null;
+    }
+  }
+
+  static void apply(byte[] payload, Map<String, Map<String, Integer>> state) throws IOException {
+    try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+      byte type = input.readByte();
+      String sessionId = input.readUTF();
+      String productId = input.readUTF();
+      int quantity = input.readInt();
+      if (type == TYPE_CLEAR) {
+        state.remove(sessionId);
+      } else if (quantity > 0) {
+        state.computeIfAbsent(sessionId, id -> new LinkedHashMap<>()).put(productId, quantity);
+      } else {
+        Map<String, Integer> lines = state.get(sessionId);
+        if (lines != null) {
+          lines.remove(productId);
+          if (lines.isEmpty()) {
+            state.remove(sessionId);
+          }
+        }
+      }
+    }
+  }
+
+  static byte[] encode(byte type, String sessionId, String productId, int quantity) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream output = new DataOutputStream(bytes)) {
+      output.writeInt(0);
+      output.writeInt(0);
+      output.writeByte(type);
+      output.writeUTF(sessionId);
+      output.writeUTF(productId);
+      output.writeInt(quantity);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    byte[] record = bytes.toByteArray();
+    CRC32 checksum = new CRC32();
+    checksum.update(record, HEADER_BYTES, record.length - HEADER_BYTES);
+    ByteBuffer header = ByteBuffer.wrap(record);
+    header.putInt(record.length - HEADER_BYTES);
+    header.putInt((int) checksum.getValue());
+    return record;
+  }
+
+  // ---------------------------------------------------------------- instantáneas
+
+  private void writeSnapshot(long boundary, Map<String, Map<String, Integer>> state)
+      throws IOException {
+    ByteBuffer carts = CartCodec.encode(state);
+    ByteBuffer buffer = ByteBuffer.allocate(
+        Integer.BYTES + Long.BYTES + carts.remaining() + Long.BYTES);
+    buffer.putInt(SNAPSHOT_MAGIC).putLong(boundary).put(carts);
+    CRC32 checksum = new CRC32();
+    checksum.update(buffer.array(), 0, buffer.position());
+    buffer.putLong(checksum.getValue()).flip();
+
+    Path temporary = directory.resolve(SNAPSHOT_PREFIX + "tmp");
+    try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        file.write(buffer);
+      }
+      file.force(true);
+    }
+    Files.move(temporary, snapshotPath(boundary), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private Map<String, Map<String, Integer>> readSnapshot(long boundary) throws IOException {
+    byte[] bytes = Files.readAllBytes(snapshotPath(boundary));
+    int content = bytes.length - Long.BYTES;
+    if (content < Integer.BYTES + Long.BYTES) {
+      return null;
+    }
+    CRC32 checksum = new CRC32();
+    checksum.update(bytes, 0, content);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    if (buffer.getLong(content) != checksum.getValue()
+        || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getLong() != boundary) {
+      return null;
+    }
+    try {
+      return CartCodec.decode(buffer.limit(content));
+    } catch (IllegalArgumentException e) {
+      // Instantánea de una versión no soportada: se usa una anterior
+      return null;
+    }
+  }
+
+  private Path snapshotPath(long boundary) {
+    return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, boundary,
+        SNAPSHOT_SUFFIX));
+  }
+
+  private void deleteBefore(long boundary) throws IOException {
+    for (long start : listSequences(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+      if (start < boundary) {
+        Files.deleteIfExists(segmentPath(start));
+      }
+    }
+    for (long snapshot : listSequences(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+      if (snapshot < boundary) {
+        Files.deleteIfExists(snapshotPath(snapshot));
+      }
+    }
+  }
+
+  private List<Long> listSequences(String prefix, String suffix) throws IOException {
+    List<Long> sequences = new ArrayList<>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.map(path -> path.getFileName().toString())
+          .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+          .forEach(name -> {
+            try {
+              sequences.add(Long.parseLong(
+                  name.substring(prefix.length(), name.length() - suffix.length())));
+            } catch (NumberFormatException e) {
+              // Archivo ajeno al journal
+            }
+          });
+    }
+    sequences.sort(null);
+    return sequences;
+  }
+
+  private static final class Recovery {
+    private final Map<String, Map<String, Integer>> state;
+    private final long nextSequence;
+
+    Recovery(Map<String, Map<String, Integer>> state, long nextSequence) {
+      this.state = state;
+      this.nextSequence = nextSequence;
+    }
+  }
+}
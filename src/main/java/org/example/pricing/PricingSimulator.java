@@ -0,0 +1,223 @@
+package org.example.pricing;
+
+import org.example.model.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulador "qué pasaría si" de estrategias de precios sobre carritos históricos.
+ *
+ * <p>Los totales se leen del archivo en bloques de tamaño fijo; cada bloque se evalúa en
+ * un {@link ForkJoinPool} contra todas las estrategias mientras se lee el siguiente. Sólo
+ * se mantienen unos pocos bloques en vuelo, así que la memoria no depende del tamaño del
+ * archivo.
+ *
+ * <p>Formato del archivo: un carrito por línea con su total decimal, opcionalmente
+ * precedido por columnas separadas por coma (se usa la última). Las líneas vacías y las
+ * que empiezan con {@code #} se ignoran.
+ * <pre>
+ * C0001,1250.00
+ * C0002,89.90
+ * </pre>
+ */
+public class PricingSimulator {
+
+  /**
+   * Carritos por bloque de lectura.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 65_536;
+
+  private static final int LEAF_SIZE = 4_096;
+
+  private final List<PricingStrategy> strategies;
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+
+  /**
+   * Crea un simulador sobre el pool común.
+   *
+   * @param strategies Estrategias a comparar
+   */
+  public PricingSimulator(List<PricingStrategy> strategies) {
+    this(strategies, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Crea un simulador con un pool y un tamaño de bloque específicos.
+   *
+   * @param strategies Estrategias a comparar
+   * @param pool       Pool donde se evalúan los bloques
+   * @param chunkSize  Carritos por bloque de lectura
+   * @throws IllegalArgumentException si no hay estrategias o el bloque no es positivo
+   */
+  public PricingSimulator(List<PricingStrategy> strategies, ForkJoinPool pool, int chunkSize) {
+    if (strategies == null || strategies.isEmpty()) {
+      throw new IllegalArgumentException("Debe haber al menos una estrategia");
+    }
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+    }
+    this.strategies = List.copyOf(strategies);
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Simula las estrategias sobre los carritos de un archivo.
+   *
+   * @throws IOException si no se puede leer el archivo
+   * @throws IllegalArgumentException si el archivo tiene líneas inválidas
+   */
+  public SimulationReport run(Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return run(reader, file.toString());
+    }
+  }
+
+  /**
+   * Simula las estrategias sobre los carritos de un lector.
+   *
+   * @param reader Carritos en el formato descrito en la clase
+   * @param source Nombre del origen para los mensajes de error
+   * @throws IOException si falla la lectura
+   * @throws IllegalArgumentException si hay líneas inválidas
+   */
+  public SimulationReport run(BufferedReader reader, String source) throws IOException {
+    long start = System.nanoTime();
+    long[] sums = new long[strategies.size() + 1];
+    Deque<ForkJoinTask<long[]>> inFlight = new ArrayDeque<>();
+    int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+    long carts = 0;
+
+    long[] chunk = new long[chunkSize];
+    int size = 0;
+    String line;
+    int lineNumber = 0;
+    try {
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+          continue;
+        }
+        chunk[size++] = parseTotal(trimmed, lineNumber, source);
+        if (size == chunkSize) {
+          inFlight.add(pool.submit(new ChunkTask(chunk, 0, size)));
+          carts += size;
+          chunk = new long[chunkSize];
+          size = 0;
+          if (inFlight.size() >= maxInFlight) {
+            merge(sums, inFlight.poll().join());
+          }
+        }
+      }
+      if (size > 0) {
+        inFlight.add(pool.submit(new ChunkTask(chunk, 0, size)));
+        carts += size;
+      }
+      while (!inFlight.isEmpty()) {
+        merge(sums, inFlight.poll().join());
+      }
+    } finally {
+      inFlight.forEach(task -> task.cancel(true));
+    }
+    return report(carts, sums, System.nanoTime() - start);
+  }
+
+  /**
+   * Simula las estrategias sobre totales ya cargados en memoria.
+   *
+   * @param totalsCents Total de cada carrito, en centavos
+   */
+  public SimulationReport run(long[] totalsCents) {
+    long start = System.nanoTime();
+    long[] sums = pool.invoke(new ChunkTask(totalsCents, 0, totalsCents.length));
+    return report(totalsCents.length, sums, System.nanoTime() - start);
+  }
+
+  private SimulationReport report(long carts, long[] sums, long elapsedNanos) {
+    List<String> names = new ArrayList<>(strategies.size());
+    for (PricingStrategy strategy : strategies) {
+      names.add(strategy.getName());
+    }
+    return new SimulationReport(carts, sums[0], names,
+        Arrays.copyOfRange(sums, 1, sums.length), elapsedNanos);
+  }
+
+  private static long parseTotal(String line, int lineNumber, String source) {
+    String value = line.substring(line.lastIndexOf(',') + 1).trim();
+    try {
+      long cents = Money.fromDouble(Double.parseDouble(value));
+      if (cents < 0) {
+        throw new IllegalArgumentException("total negativo");
+      }
+      return cents;
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(String.format(
+          "Línea %d inválida en %s: '%s' (%s)", lineNumber, source, line, e.getMessage()), e);
+    }
+  }
+
+  private static void merge(long[] target, long[] partial) {
+    for (int i = 0; i < target.length; i++) {
+      target[i] = Math.addExact(target[i], partial[i]);
+    }
+  }
+
+  /**
+   * Suma los totales de un rango (posición 0) y lo cobrado por cada estrategia
+   * (posiciones siguientes), dividiendo el rango hasta {@link #LEAF_SIZE} carritos.
+   */
+  private final class ChunkTask extends RecursiveTask<long[]> {
+    private final long[] totals;
+    private final int from;
+    private final int to;
+
+    ChunkTask(long[] totals, int from, int to) {
+      this.totals = totals;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (to - from > LEAF_SIZE) {
+        int middle = (from + to) >>> 1;
+        ChunkTask left = new ChunkTask(totals, from, middle);
+        left.fork();
+        long[] sums = new ChunkTask(totals, middle, to).compute();
+        merge(sums, left.join());
+        return sums;
+      }
+
+      long[] sums = new long[strategies.size() + 1];
+      long baseline = 0;
+      for (int i = from; i < to; i++) {
+        baseline = Math.addExact(baseline, totals[i]);
+      }
+      sums[0] = baseline;
+      // Una estrategia a la vez sobre el rango: el bucle interno queda monomórfico
+      for (int s = 0; s < strategies.size(); s++) {
+        PricingStrategy strategy = strategies.get(s);
+        long revenue = 0;
+        for (int i = from; i < to; i++) {
+          revenue = Math.addExact(revenue, strategy.apply(totals[i]));
+        }
+        sums[s + 1] = revenue;
+      }
+      return sums;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package org.example.pricing;
+
+import org.example.model.Money;
+import org.example.service.DiscountService;
+
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Estrategia de precios a evaluar en una simulación: transforma el total de un carrito
+ * (en centavos) en lo que efectivamente se cobraría.
+ *
+ * <p>Las fábricas delegan en los métodos en centavos de {@link DiscountService}, que son
+ * los mismos que usan sus variantes con {@code double}.
+ */
+public final class PricingStrategy {
+
+  private final String name;
+  private final LongUnaryOperator pricing;
+
+  private PricingStrategy(String name, LongUnaryOperator pricing) {
+    this.name = name;
+    this.pricing = pricing;
+  }
+
+  /**
+   * Crea una estrategia a partir de una función arbitraria.
+   *
+   * @param name    Nombre que aparece en el reporte
+   * @param pricing Función de total (centavos) a total cobrado (centavos)
+   */
+  public static PricingStrategy of(String name, LongUnaryOperator pricing) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("El nombre de la estrategia no puede estar vacío");
+    }
+    if (pricing == null) {
+      throw new IllegalArgumentException("La función de precios no puede ser nula");
+    }
+    return new PricingStrategy(name, pricing);
+  }
+
+  /**
+   * Descuento porcentual sobre todos los carritos.
+   *
+   * @see DiscountService#applyPercentageDiscount(double, double)
+   */
+  public static PricingStrategy percentage(DiscountService service, int basisPoints) {
+    // Valida el porcentaje una vez, no en cada carrito con error
+    service.applyPercentageDiscountCents(0, basisPoints);
+    return of("Porcentaje " + (basisPoints / 100.0) + "%",
+        total -> service.applyPercentageDiscountCents(total, basisPoints));
+  }
+
+  /**
+   * Descuento fijo sobre todos los carritos.
+   *
+   * @see DiscountService#applyFixedDiscount(double, double)
+   */
+  public static PricingStrategy fixed(DiscountService service, long discountCents) {
+    service.applyFixedDiscountCents(0, discountCents);
+    return of("Fijo " + Money.format(discountCents),
+        total -> service.applyFixedDiscountCents(total, discountCents));
+  }
+
+  /**
+   * Descuento por volumen con los tramos de un segmento.
+   *
+   * @see DiscountService#applyVolumeDiscount(double)
+   */
+  public static PricingStrategy volume(DiscountService service, String segment) {
+    service.applyVolumeDiscountCents(0, segment);
+    return of("Volumen " + segment,
+        total -> service.applyVolumeDiscountCents(total, segment));
+  }
+
+  /**
+   * Un cupón aplicado a todos los carritos.
+   *
+   * @see DiscountService#applyCoupon(double, String)
+   * @throws IllegalArgumentException si el cupón no existe
+   */
+  public static PricingStrategy coupon(DiscountService service, String couponCode) {
+    service.applyCouponCents(0, couponCode);
+    return of("Cupón " + couponCode, total -> service.applyCouponCents(total, couponCode));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Calcula el total cobrado para un carrito.
+   *
+   * @param totalCents Total del carrito sin descuentos, en centavos
+   * @return Total cobrado, en centavos
+   */
+  public long apply(long totalCents) {
+    return pricing.applyAsLong(totalCents);
+  }
+}
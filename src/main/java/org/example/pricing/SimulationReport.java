@@ -0,0 +1,100 @@
+package org.example.pricing;
+
+import org.example.model.Money;
+
+import java.util.List;
+
+/**
+ * Resultado de una simulación de precios: ingreso base, ingreso por estrategia y
+ * rendimiento de la corrida.
+ */
+public class SimulationReport {
+  private final long carts;
+  private final long baselineCents;
+  private final List<String> strategyNames;
+  private final long[] revenueCents;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor de SimulationReport.
+   *
+   * @param carts         Carritos evaluados
+   * @param baselineCents Ingreso sin descuentos, en centavos
+   * @param strategyNames Nombres de las estrategias, en orden
+   * @param revenueCents  Ingreso de cada estrategia, en el mismo orden
+   * @param elapsedNanos  Duración de la simulación
+   */
+  public SimulationReport(long carts, long baselineCents, List<String> strategyNames,
+                          long[] revenueCents, long elapsedNanos) {
+    this.carts = carts;
+    this.baselineCents = baselineCents;
+    this.strategyNames = List.copyOf(strategyNames);
+    this.revenueCents = revenueCents.clone();
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public long getCarts() {
+    return carts;
+  }
+
+  public long getBaselineRevenueCents() {
+    return baselineCents;
+  }
+
+  public List<String> getStrategyNames() {
+    return strategyNames;
+  }
+
+  /**
+   * Obtiene el ingreso de una estrategia, en centavos.
+   *
+   * @throws IllegalArgumentException si la estrategia no participó de la simulación
+   */
+  public long getRevenueCents(String strategyName) {
+    return revenueCents[indexOf(strategyName)];
+  }
+
+  /**
+   * Obtiene la diferencia de ingreso de una estrategia contra el ingreso base, en
+   * centavos (negativa si la estrategia cuesta dinero).
+   */
+  public long getRevenueDeltaCents(String strategyName) {
+    return getRevenueCents(strategyName) - baselineCents;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Obtiene el rendimiento de la simulación en carritos por segundo.
+   */
+  public double getCartsPerSecond() {
+    return elapsedNanos == 0 ? 0 : carts * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  /**
+   * Genera el reporte en texto, una estrategia por línea.
+   */
+  public String format() {
+    StringBuilder text = new StringBuilder(64 * (strategyNames.size() + 2));
+    text.append(String.format("Carritos simulados: %d (%.0f carritos/s)%n",
+        carts, getCartsPerSecond()));
+    Money.appendTo(text.append("Ingreso base: $"), baselineCents).append(System.lineSeparator());
+    for (int i = 0; i < strategyNames.size(); i++) {
+      text.append(strategyNames.get(i)).append(": $");
+      Money.appendTo(text, revenueCents[i]).append(" (diferencia $");
+      Money.appendTo(text, revenueCents[i] - baselineCents).append(')')
+          .append(System.lineSeparator());
+    }
+    return text.toString();
+  }
+
+  private int indexOf(String strategyName) {
+    int index = strategyNames.indexOf(strategyName);
+    if (index < 0) {
+      throw new IllegalArgumentException("Estrategia no simulada: " + strategyName);
+    }
+    return index;
+  }
+}
@@ -0,0 +1,22 @@
+package org.example.service;
+
+/**
+ * Recibe las mutaciones de un {@link ShoppingCart} (por ejemplo, para registrarlas en un
+ * journal).
+ *
+ * <p>Los eventos llevan la cantidad final de la línea y no la diferencia, así que aplicar
+ * dos veces el mismo evento deja el mismo resultado. Se invocan en el hilo que modificó el
+ * carrito, después de la mutación y mientras quien lo usa mantiene su lock.
+ */
+public interface CartListener {
+
+  /**
+   * La línea de un producto quedó con la cantidad dada (0 si se removió).
+   */
+  void lineChanged(String productId, int quantity);
+
+  /**
+   * El carrito se vació.
+   */
+  void cleared();
+}
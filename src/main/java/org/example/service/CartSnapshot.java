@@ -0,0 +1,44 @@
+package org.example.service;
+
+import org.example.model.CartItem;
+
+import java.util.List;
+
+/**
+ * Copia del contenido de un carrito tomada bajo su lock: las líneas y los totales son
+ * consistentes entre sí y no cambian aunque el carrito se siga modificando.
+ */
+public class CartSnapshot {
+  private final List<CartItem> items;
+  private final long totalCents;
+  private final int totalProducts;
+
+  /**
+   * Constructor de CartSnapshot.
+   *
+   * @param items         Copia de las líneas del carrito
+   * @param totalCents    Total del carrito en centavos
+   * @param totalProducts Suma de cantidades
+   */
+  public CartSnapshot(List<CartItem> items, long totalCents, int totalProducts) {
+    this.items = List.copyOf(items);
+    this.totalCents = totalCents;
+    this.totalProducts = totalProducts;
+  }
+
+  public List<CartItem> getItems() {
+    return items;
+  }
+
+  public long getTotalCents() {
+    return totalCents;
+  }
+
+  public int getTotalProducts() {
+    return totalProducts;
+  }
+
+  public int getItemCount() {
+    return items.size();
+  }
+}
@@ -0,0 +1,58 @@
+package org.example.service;
+
+/**
+ * Resultado de cargar un catálogo: los productos leídos y cuánto tardó la carga.
+ */
+public class CatalogLoadReport {
+  private final ProductCatalog catalog;
+  private final String source;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor de CatalogLoadReport.
+   *
+   * @param catalog      Catálogo con los productos cargados
+   * @param source       Origen del catálogo (archivo o recurso)
+   * @param elapsedNanos Duración de la carga
+   */
+  public CatalogLoadReport(ProductCatalog catalog, String source, long elapsedNanos) {
+    this.catalog = catalog;
+    this.source = source;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Obtiene el catálogo cargado, para que el servicio lo use directamente.
+   */
+  public ProductCatalog getCatalog() {
+    return catalog;
+  }
+
+  public String getSource() {
+    return source;
+  }
+
+  public int getProductCount() {
+    return catalog.size();
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Obtiene la duración de la carga en milisegundos.
+   */
+  public long getElapsedMillis() {
+    return elapsedNanos / 1_000_000;
+  }
+
+  /**
+   * Describe la carga en una línea, para mostrar al iniciar.
+   */
+  @Override
+  public String toString() {
+    return String.format("Catálogo cargado: %d productos desde %s en %d ms",
+        getProductCount(), source, getElapsedMillis());
+  }
+}
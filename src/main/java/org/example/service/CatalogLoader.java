@@ -0,0 +1,196 @@
+package org.example.service;
+
+import org.example.model.Money;
+import org.example.model.Product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Carga el catálogo de productos desde un archivo CSV.
+ *
+ * <p>El archivo se lee línea a línea con un buffer grande, sin cargarlo completo en
+ * memoria, y el catálogo en memoria se dimensiona de antemano a partir del tamaño del
+ * archivo para no redimensionarlo durante la carga. También se puede cargar en otro
+ * {@link ProductCatalog}, como {@link OffHeapProductCatalog}. En modo paralelo las líneas se
+ * reparten entre los hilos del {@link ForkJoinPool} común con {@link Files#lines}, que
+ * divide el archivo por rangos de bytes; en ese modo los errores no indican el número de
+ * línea.
+ *
+ * <p>Formato (una línea por producto, {@code #} para comentarios):
+ * <pre>
+ * P001,Laptop Dell,1200.00,10
+ * </pre>
+ * donde cada línea es {@code id,nombre,precio,stock}. El nombre puede contener comas.
+ */
+public class CatalogLoader {
+
+  /**
+   * Recurso del classpath con el catálogo por defecto.
+   */
+  public static final String DEFAULT_RESOURCE = "/catalog.csv";
+
+  private static final int READ_BUFFER_CHARS = 1 << 20;
+  // Longitud aproximada de una línea, para estimar cuántos productos tiene un archivo
+  private static final int ESTIMATED_BYTES_PER_LINE = 32;
+
+  private final boolean parallel;
+
+  /**
+   * Crea un cargador secuencial.
+   */
+  public CatalogLoader() {
+    this(false);
+  }
+
+  /**
+   * Crea un cargador.
+   *
+   * @param parallel true para interpretar las líneas en paralelo
+   */
+  public CatalogLoader(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /**
+   * Carga el catálogo por defecto del classpath.
+   */
+  public CatalogLoadReport loadDefault() {
+    long start = System.nanoTime();
+    try (InputStream input = CatalogLoader.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+      if (input == null) {
+        throw new IllegalStateException("No se encontró el recurso " + DEFAULT_RESOURCE);
+      }
+      BufferedReader reader = new BufferedReader(
+          new InputStreamReader(input, StandardCharsets.UTF_8));
+      InMemoryProductCatalog catalog = new InMemoryProductCatalog();
+      read(reader, DEFAULT_RESOURCE, catalog);
+      return new CatalogLoadReport(catalog, DEFAULT_RESOURCE, System.nanoTime() - start);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Carga el catálogo de un archivo en un catálogo en memoria.
+   *
+   * @throws IOException si no se puede leer el archivo
+   * @throws IllegalArgumentException si hay líneas inválidas o IDs repetidos
+   */
+  public CatalogLoadReport load(Path file) throws IOException {
+    return load(file, new InMemoryProductCatalog(estimateProducts(file)));
+  }
+
+  /**
+   * Carga los productos de un archivo en un catálogo dado.
+   *
+   * @param file   Archivo CSV
+   * @param target Catálogo donde se agregan los productos
+   * @throws IOException si no se puede leer el archivo
+   * @throws IllegalArgumentException si hay líneas inválidas o IDs repetidos
+   */
+  public CatalogLoadReport load(Path file, ProductCatalog target) throws IOException {
+    long start = System.nanoTime();
+    if (parallel) {
+      readParallel(file, target);
+    } else {
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8),
+          READ_BUFFER_CHARS)) {
+        read(reader, file.toString(), target);
+      }
+    }
+    return new CatalogLoadReport(target, file.toString(), System.nanoTime() - start);
+  }
+
+  /**
+   * Estima cuántos productos tiene un archivo a partir de su tamaño, para dimensionar el
+   * catálogo antes de cargarlo.
+   *
+   * @throws IOException si no se puede leer el tamaño del archivo
+   */
+  public static int estimateProducts(Path file) throws IOException {
+    return (int) Math.min(Integer.MAX_VALUE / 2,
+        Math.max(16, Files.size(file) / ESTIMATED_BYTES_PER_LINE));
+  }
+
+  static void read(BufferedReader reader, String source, ProductCatalog target)
+      throws IOException {
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (isSkipped(line)) {
+        continue;
+      }
+      try {
+        put(target, parseProduct(line));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(String.format(
+            "Línea %d inválida en %s: '%s' (%s)", lineNumber, source, line, e.getMessage()), e);
+      }
+    }
+  }
+
+  private static void readParallel(Path file, ProductCatalog target) throws IOException {
+    try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+      lines.parallel()
+          .filter(line -> !isSkipped(line))
+          .forEach(line -> {
+            try {
+              put(target, parseProduct(line));
+            } catch (IllegalArgumentException e) {
+              throw new IllegalArgumentException(String.format(
+                  "Línea inválida en %s: '%s' (%s)", file, line, e.getMessage()), e);
+            }
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Interpreta una línea {@code id,nombre,precio,stock}. El nombre es todo lo que hay
+   * entre la primera coma y la penúltima.
+   */
+  static Product parseProduct(String line) {
+    int first = line.indexOf(',');
+    int last = line.lastIndexOf(',');
+    int priceStart = last < 0 ? -1 : line.lastIndexOf(',', last - 1);
+    if (first < 0 || priceStart <= first) {
+      throw new IllegalArgumentException("se esperaban 4 campos");
+    }
+    String id = line.substring(0, first).trim();
+    String name = line.substring(first + 1, priceStart).trim();
+    double price = Double.parseDouble(line.substring(priceStart + 1, last).trim());
+    if (price < 0) {
+      throw new IllegalArgumentException("El precio no puede ser negativo");
+    }
+    int stock = Integer.parseInt(line.substring(last + 1).trim());
+    return Product.ofCents(id, name, Money.fromDouble(price), stock);
+  }
+
+  private static boolean isSkipped(String line) {
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (!Character.isWhitespace(c)) {
+        return c == '#';
+      }
+    }
+    return true;
+  }
+
+  private static void put(ProductCatalog target, Product product) {
+    if (!target.add(product)) {
+      throw new IllegalArgumentException("Producto duplicado: " + product.getId());
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package org.example.service;
+
+import org.example.model.CartItem;
+import org.example.model.Money;
+
+import java.util.List;
+
+/**
+ * Resultado de un checkout confirmado: las líneas compradas y sus totales.
+ */
+public class CheckoutReceipt {
+  private final List<CartItem> items;
+  private final long totalCents;
+  private final int totalProducts;
+
+  /**
+   * Constructor de CheckoutReceipt.
+   *
+   * @param items         Líneas compradas
+   * @param totalCents    Total pagado sin descuentos, en centavos
+   * @param totalProducts Suma de cantidades compradas
+   */
+  public CheckoutReceipt(List<CartItem> items, long totalCents, int totalProducts) {
+    this.items = List.copyOf(items);
+    this.totalCents = totalCents;
+    this.totalProducts = totalProducts;
+  }
+
+  public List<CartItem> getItems() {
+    return items;
+  }
+
+  public double getTotal() {
+    return Money.toDouble(totalCents);
+  }
+
+  public long getTotalCents() {
+    return totalCents;
+  }
+
+  public int getTotalProducts() {
+    return totalProducts;
+  }
+}
@@ -0,0 +1,137 @@
+package org.example.service;
+
+import org.example.exception.CheckoutException;
+import org.example.exception.InsufficientStockException;
+import org.example.model.CartItem;
+import org.example.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Confirma la compra de un carrito descontando el stock de todas sus líneas.
+ *
+ * <p>El checkout es todo o nada: si alguna línea no tiene stock suficiente no se descuenta
+ * nada y se reporta cada línea fallida. Los productos se protegen con un arreglo fijo de
+ * locks (lock striping): cada ID cae en una franja según su hash, así la memoria no crece
+ * con el tamaño del catálogo. Para evitar deadlocks entre checkouts concurrentes que
+ * comparten franjas, se adquieren siempre en orden de índice y una sola vez cada una.
+ *
+ * <p>Las unidades ya retenidas por las reservas del carrito ({@link StockHold}) se
+ * confirman tal cual; sólo se reserva del stock lo que falte (por ejemplo si la reserva
+ * venció).
+ */
+public class CheckoutService {
+
+  private static final int STRIPES = 256;
+
+  private final ReentrantLock[] stripes;
+
+  public CheckoutService() {
+    this.stripes = new ReentrantLock[STRIPES];
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * Confirma la compra del carrito y lo vacía.
+   * Quien llama debe tener acceso exclusivo al carrito durante el checkout.
+   *
+   * @param cart Carrito a confirmar
+   * @return Recibo con las líneas compradas
+   * @throws CheckoutException si alguna línea no tiene stock suficiente (el carrito y el
+   *                           stock quedan sin cambios)
+   * @throws IllegalArgumentException si el carrito está vacío
+   */
+  public CheckoutReceipt checkout(ShoppingCart cart) throws CheckoutException {
+    if (cart == null || cart.isEmpty()) {
+      throw new IllegalArgumentException("El carrito está vacío");
+    }
+
+    List<CartItem> lines = cart.getItems();
+    int[] indexes = new int[lines.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = stripeOf(lines.get(i).getProduct().getId());
+    }
+    Arrays.sort(indexes);
+
+    int acquired = 0;
+    try {
+      for (int i = 0; i < indexes.length; i++) {
+        // Varios productos pueden compartir franja: tomarla una sola vez
+        if (acquired == 0 || indexes[i] != indexes[acquired - 1]) {
+          stripes[indexes[i]].lock();
+          indexes[acquired++] = indexes[i];
+        }
+      }
+      commit(cart, lines);
+    } finally {
+      for (int i = acquired - 1; i >= 0; i--) {
+        stripes[indexes[i]].unlock();
+      }
+    }
+
+    CheckoutReceipt receipt = new CheckoutReceipt(
+        cart.getItems(), cart.getTotalCents(), cart.getTotalProducts());
+    // Las reservas quedaron vacías, así que vaciar el carrito no devuelve stock
+    cart.clear();
+    return receipt;
+  }
+
+  private static int stripeOf(String productId) {
+    int hash = productId.hashCode();
+    return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+  }
+
+  private void commit(ShoppingCart cart, List<CartItem> lines) throws CheckoutException {
+    StockHoldManager holdManager = cart.getHoldManager();
+    int[] taken = new int[lines.size()];
+    int[] reserved = new int[lines.size()];
+    List<InsufficientStockException> failures = new ArrayList<>();
+
+    for (int i = 0; i < lines.size(); i++) {
+      CartItem line = lines.get(i);
+      Product product = line.getProduct();
+      StockHold hold = cart.getHold(product.getId());
+      taken[i] = hold == null ? 0 : holdManager.take(hold);
+
+      int missing = line.getQuantity() - taken[i];
+      if (missing < 0) {
+        // La reserva retenía de más: devolver el excedente
+        product.release(-missing);
+        taken[i] = line.getQuantity();
+      } else if (missing > 0) {
+        if (product.tryReserve(missing)) {
+          reserved[i] = missing;
+        } else {
+          failures.add(new InsufficientStockException(
+              product.getId(),
+              line.getQuantity(),
+              product.getStock() + taken[i]
+          ));
+        }
+      }
+    }
+
+    if (!failures.isEmpty()) {
+      rollback(cart, lines, taken, reserved);
+      throw new CheckoutException(failures);
+    }
+  }
+
+  private void rollback(ShoppingCart cart, List<CartItem> lines, int[] taken, int[] reserved) {
+    StockHoldManager holdManager = cart.getHoldManager();
+    for (int i = 0; i < lines.size(); i++) {
+      Product product = lines.get(i).getProduct();
+      if (reserved[i] > 0) {
+        product.release(reserved[i]);
+      }
+      if (taken[i] > 0) {
+        holdManager.restore(cart.getHold(product.getId()), taken[i]);
+      }
+    }
+  }
+}
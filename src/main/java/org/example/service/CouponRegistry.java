@@ -0,0 +1,220 @@
+package org.example.service;
+
+import org.example.model.Coupon;
+import org.example.model.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Registro de cupones de descuento cargado desde un archivo.
+ *
+ * <p>Los cupones se guardan en una tabla hash de direccionamiento abierto, construida una
+ * sola vez, cuyo hash ignora mayúsculas. Buscar un código no crea objetos: no hace falta
+ * pasarlo a mayúsculas.
+ *
+ * <p>Recargar construye una tabla nueva y la publica con una sola escritura volátil, así
+ * que las búsquedas en curso nunca se bloquean y ven la tabla anterior o la nueva completa.
+ *
+ * <p>Formato del archivo (una línea por cupón, {@code #} para comentarios):
+ * <pre>
+ * SAVE10,PERCENT,10
+ * FLAT50,FIXED,50.00
+ * </pre>
+ */
+public class CouponRegistry {
+
+  /**
+   * Recurso del classpath con los cupones por defecto.
+   */
+  public static final String DEFAULT_RESOURCE = "/coupons.csv";
+
+  private volatile Table table;
+
+  /**
+   * Crea un registro con los cupones dados.
+   *
+   * @throws IllegalArgumentException si hay códigos repetidos
+   */
+  public CouponRegistry(Collection<Coupon> coupons) {
+    this.table = Table.build(coupons);
+  }
+
+  /**
+   * Crea un registro con los cupones por defecto del classpath.
+   */
+  public static CouponRegistry loadDefault() {
+    try (InputStream input = CouponRegistry.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+      if (input == null) {
+        throw new IllegalStateException("No se encontró el recurso " + DEFAULT_RESOURCE);
+      }
+      BufferedReader reader = new BufferedReader(
+          new InputStreamReader(input, StandardCharsets.UTF_8));
+      return new CouponRegistry(parse(reader, DEFAULT_RESOURCE));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Crea un registro con los cupones de un archivo.
+   *
+   * @throws IOException si no se puede leer el archivo
+   * @throws IllegalArgumentException si el archivo tiene líneas inválidas
+   */
+  public static CouponRegistry fromFile(Path file) throws IOException {
+    return new CouponRegistry(readFile(file));
+  }
+
+  /**
+   * Busca un cupón por código sin distinguir mayúsculas.
+   *
+   * @param code Código ingresado
+   * @return Cupón encontrado, o null si no existe
+   */
+  public Coupon find(String code) {
+    return code == null ? null : table.find(code);
+  }
+
+  /**
+   * Obtiene la cantidad de cupones registrados.
+   */
+  public int size() {
+    return table.size;
+  }
+
+  /**
+   * Reemplaza todos los cupones por los de un archivo.
+   * Si el archivo es inválido el registro no cambia.
+   *
+   * @return Cantidad de cupones cargados
+   * @throws IOException si no se puede leer el archivo
+   * @throws IllegalArgumentException si el archivo tiene líneas inválidas
+   */
+  public int reload(Path file) throws IOException {
+    return replaceAll(readFile(file));
+  }
+
+  /**
+   * Reemplaza todos los cupones de forma atómica.
+   *
+   * @return Cantidad de cupones cargados
+   */
+  public int replaceAll(Collection<Coupon> coupons) {
+    Table replacement = Table.build(coupons);
+    table = replacement;
+    return replacement.size;
+  }
+
+  private static List<Coupon> readFile(Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return parse(reader, file.toString());
+    }
+  }
+
+  static List<Coupon> parse(BufferedReader reader, String source) throws IOException {
+    List<Coupon> coupons = new ArrayList<>();
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      String trimmed = line.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+      String[] fields = trimmed.split(",");
+      try {
+        if (fields.length != 3) {
+          throw new IllegalArgumentException("se esperaban 3 campos");
+        }
+        coupons.add(parseCoupon(fields[0].trim(), fields[1].trim(), fields[2].trim()));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(String.format(
+            "Línea %d inválida en %s: '%s' (%s)", lineNumber, source, line, e.getMessage()), e);
+      }
+    }
+    return coupons;
+  }
+
+  private static Coupon parseCoupon(String code, String type, String value) {
+    double amount = Double.parseDouble(value);
+    return switch (type.toUpperCase()) {
+      case "PERCENT" -> new Coupon(code, Coupon.Type.PERCENTAGE, Money.basisPoints(amount));
+      case "FIXED" -> new Coupon(code, Coupon.Type.FIXED, Money.fromDouble(amount));
+      default -> throw new IllegalArgumentException("tipo desconocido " + type);
+    };
+  }
+
+  /**
+   * Tabla inmutable de direccionamiento abierto con sondeo lineal.
+   */
+  private static final class Table {
+    private final String[] codes;
+    private final Coupon[] coupons;
+    private final int mask;
+    private final int size;
+
+    private Table(int capacity, int size) {
+      this.codes = new String[capacity];
+      this.coupons = new Coupon[capacity];
+      this.mask = capacity - 1;
+      this.size = size;
+    }
+
+    static Table build(Collection<Coupon> source) {
+      // Factor de carga <= 0.5 para sondeos cortos
+      int capacity = Integer.highestOneBit(Math.max(2, source.size()) * 2 - 1) << 1;
+      Table table = new Table(capacity, source.size());
+      for (Coupon coupon : source) {
+        String code = coupon.getCode();
+        int slot = hash(code) & table.mask;
+        while (table.codes[slot] != null) {
+          if (table.codes[slot].equalsIgnoreCase(code)) {
+            throw new IllegalArgumentException("Cupón duplicado: " + code);
+          }
+          slot = (slot + 1) & table.mask;
+        }
+        table.codes[slot] = code;
+        table.coupons[slot] = coupon;
+      }
+      return table;
+    }
+
+    Coupon find(String code) {
+      int slot = hash(code) & mask;
+      String candidate;
+      while ((candidate = codes[slot]) != null) {
+        if (candidate.equalsIgnoreCase(code)) {
+          return coupons[slot];
+        }
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    private static int hash(String code) {
+      int hash = 0;
+      for (int i = 0; i < code.length(); i++) {
+        hash = 31 * hash + foldCase(code.charAt(i));
+      }
+      return hash ^ (hash >>> 16);
+    }
+
+    private static char foldCase(char c) {
+      if (c < 128) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+      }
+      // Misma equivalencia que String.equalsIgnoreCase
+      return Character.toLowerCase(Character.toUpperCase(c));
+    }
+  }
+}
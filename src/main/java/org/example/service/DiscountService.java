@@ -1,10 +1,60 @@
 package org.example.service;
 
+import org.example.model.Coupon;
+import org.example.model.Money;
+
 /**
  * Servicio para aplicar descuentos al carrito de compras.
+ *
+ * <p>Los cálculos se hacen en centavos y puntos básicos (ver {@link Money}) con aritmética
+ * entera, en los métodos terminados en {@code Cents}. Los métodos con {@code double}
+ * convierten en los bordes y delegan en ellos.
+ *
+ * <p>Los cupones se buscan en un {@link CouponRegistry}, recargable en tiempo de ejecución,
+ * y los tramos de descuento por volumen de cada segmento en {@link VolumeDiscountTiers}.
  */
 public class DiscountService {
 
+  private final CouponRegistry couponRegistry;
+  private final VolumeDiscountTiers volumeTiers;
+  private final VolumeDiscountTable defaultVolumeTable;
+
+  /**
+   * Crea el servicio con los cupones por defecto ({@link CouponRegistry#DEFAULT_RESOURCE})
+   * y los tramos por defecto ({@link VolumeDiscountTiers#DEFAULT_RESOURCE}).
+   */
+  public DiscountService() {
+    this(CouponRegistry.loadDefault());
+  }
+
+  /**
+   * Crea el servicio con un registro de cupones específico y los tramos por defecto.
+   *
+   * @param couponRegistry Registro de cupones
+   */
+  public DiscountService(CouponRegistry couponRegistry) {
+    this(couponRegistry, VolumeDiscountTiers.loadDefault());
+  }
+
+  /**
+   * Crea el servicio con un registro de cupones y tramos de volumen específicos.
+   *
+   * @param couponRegistry Registro de cupones
+   * @param volumeTiers    Tramos de descuento por volumen; debe incluir el segmento
+   *                       {@link VolumeDiscountTiers#DEFAULT_SEGMENT}
+   */
+  public DiscountService(CouponRegistry couponRegistry, VolumeDiscountTiers volumeTiers) {
+    if (couponRegistry == null) {
+      throw new IllegalArgumentException("El registro de cupones no puede ser nulo");
+    }
+    if (volumeTiers == null) {
+      throw new IllegalArgumentException("Los tramos de volumen no pueden ser nulos");
+    }
+    this.couponRegistry = couponRegistry;
+    this.volumeTiers = volumeTiers;
+    this.defaultVolumeTable = volumeTiers.forSegment(VolumeDiscountTiers.DEFAULT_SEGMENT);
+  }
+
   /**
    * Aplica un descuento porcentual al total.
    *
@@ -23,8 +73,29 @@ public class DiscountService {
       throw new IllegalArgumentException("El total no puede ser negativo");
     }
 
-    double discountAmount = total * (discountPercent / 100);
-    return total - discountAmount;
+    return Money.toDouble(applyPercentageDiscountCents(
+        Money.fromDouble(total), Money.basisPoints(discountPercent)));
+  }
+
+  /**
+   * Aplica un descuento porcentual al total, en centavos.
+   *
+   * @param totalCents  Total antes del descuento, en centavos
+   * @param basisPoints Porcentaje de descuento en puntos básicos (0-10000)
+   * @return Total después del descuento, en centavos
+   * @throws IllegalArgumentException si el porcentaje es inválido
+   */
+  public long applyPercentageDiscountCents(long totalCents, int basisPoints) {
+    if (basisPoints < 0 || basisPoints > Money.FULL_BASIS_POINTS) {
+      throw new IllegalArgumentException(
+          "El porcentaje de descuento debe estar entre 0 y 100"
+      );
+    }
+    if (totalCents < 0) {
+      throw new IllegalArgumentException("El total no puede ser negativo");
+    }
+
+    return totalCents - Money.percentOf(totalCents, basisPoints);
   }
 
   /**
@@ -43,12 +114,32 @@ public class DiscountService {
       throw new IllegalArgumentException("El total no puede ser negativo");
     }
 
-    double result = total - discountAmount;
-    return Math.max(result, 0); // No puede ser negativo
+    return Money.toDouble(applyFixedDiscountCents(
+        Money.fromDouble(total), Money.fromDouble(discountAmount)));
   }
 
   /**
-   * Calcula el descuento según el total de compra (descuento por volumen).
+   * Aplica un descuento fijo al total, en centavos.
+   *
+   * @param totalCents    Total antes del descuento, en centavos
+   * @param discountCents Monto fijo de descuento, en centavos
+   * @return Total después del descuento en centavos (mínimo 0)
+   * @throws IllegalArgumentException si el monto es negativo
+   */
+  public long applyFixedDiscountCents(long totalCents, long discountCents) {
+    if (discountCents < 0) {
+      throw new IllegalArgumentException("El monto de descuento no puede ser negativo");
+    }
+    if (totalCents < 0) {
+      throw new IllegalArgumentException("El total no puede ser negativo");
+    }
+
+    return Math.max(totalCents - discountCents, 0); // No puede ser negativo
+  }
+
+  /**
+   * Calcula el descuento según el total de compra (descuento por volumen), con los tramos
+   * del segmento por defecto. Con la configuración incluida:
    * - Compras mayores a $1000: 15% de descuento
    * - Compras entre $500-$999: 10% de descuento
    * - Compras entre $100-$499: 5% de descuento
@@ -62,17 +153,59 @@ public class DiscountService {
       throw new IllegalArgumentException("El total no puede ser negativo");
     }
 
-    double discountPercent = 0;
+    return Money.toDouble(applyVolumeDiscountCents(Money.fromDouble(total)));
+  }
+
+  /**
+   * Calcula el descuento por volumen sobre un total en centavos.
+   *
+   * @param totalCents Total de la compra, en centavos
+   * @return Total después del descuento, en centavos
+   * @see #applyVolumeDiscount(double)
+   */
+  public long applyVolumeDiscountCents(long totalCents) {
+    return applyVolumeDiscountCents(defaultVolumeTable, totalCents);
+  }
+
+  /**
+   * Calcula el descuento por volumen con los tramos de un segmento de clientes.
+   *
+   * @param totalCents Total de la compra, en centavos
+   * @param segment    Segmento de clientes
+   * @return Total después del descuento, en centavos
+   * @throws IllegalArgumentException si el total es negativo o el segmento no existe
+   */
+  public long applyVolumeDiscountCents(long totalCents, String segment) {
+    return applyVolumeDiscountCents(volumeTiers.forSegment(segment), totalCents);
+  }
 
-    if (total >= 1000) {
-      discountPercent = 15;
-    } else if (total >= 500) {
-      discountPercent = 10;
-    } else if (total >= 100) {
-      discountPercent = 5;
+  /**
+   * Calcula el descuento por volumen de muchos totales en una sola llamada, resolviendo
+   * el segmento una única vez.
+   *
+   * @param totalsCents  Totales de compra, en centavos
+   * @param resultsCents Arreglo donde se escribe cada total con descuento (puede ser el
+   *                     mismo arreglo de entrada)
+   * @param segment      Segmento de clientes
+   * @throws IllegalArgumentException si algún total es negativo, el segmento no existe o
+   *                                  el arreglo de resultados es más corto
+   */
+  public void applyVolumeDiscountCents(long[] totalsCents, long[] resultsCents, String segment) {
+    if (resultsCents.length < totalsCents.length) {
+      throw new IllegalArgumentException("El arreglo de resultados es demasiado corto");
+    }
+    VolumeDiscountTable table = volumeTiers.forSegment(segment);
+    for (int i = 0; i < totalsCents.length; i++) {
+      resultsCents[i] = applyVolumeDiscountCents(table, totalsCents[i]);
     }
+  }
 
-    return applyPercentageDiscount(total, discountPercent);
+  private long applyVolumeDiscountCents(VolumeDiscountTable table, long totalCents) {
+    if (totalCents < 0) {
+      throw new IllegalArgumentException("El total no puede ser negativo");
+    }
+
+    return totalCents - Money.percentOf(totalCents, table.basisPointsFor(totalCents));
   }
 
   /**
@@ -86,16 +219,46 @@ public class DiscountService {
     if (total < 0) {
       throw new IllegalArgumentException("El total no puede ser negativo");
     }
-    if (couponCode == null || couponCode.trim().isEmpty()) {
+
+    return Money.toDouble(applyCouponCents(Money.fromDouble(total), couponCode));
+  }
+
+  /**
+   * Aplica un cupón de descuento a un total en centavos.
+   *
+   * @param totalCents Total antes del descuento, en centavos
+   * @param couponCode Código del cupón
+   * @return Total después del descuento, en centavos
+   */
+  public long applyCouponCents(long totalCents, String couponCode) {
+    if (totalCents < 0) {
+      throw new IllegalArgumentException("El total no puede ser negativo");
+    }
+    if (couponCode == null || couponCode.isBlank()) {
       throw new IllegalArgumentException("El código de cupón no puede estar vacío");
     }
 
-    // Cupones de ejemplo
-    return switch (couponCode.toUpperCase()) {
-      case "SAVE10" -> applyPercentageDiscount(total, 10);
-      case "SAVE20" -> applyPercentageDiscount(total, 20);
-      case "FLAT50" -> applyFixedDiscount(total, 50);
-      default -> throw new IllegalArgumentException("Cupón inválido: " + couponCode);
+    Coupon coupon = couponRegistry.find(couponCode);
+    if (coupon == null) {
+      throw new IllegalArgumentException("Cupón inválido: " + couponCode);
+    }
+    return switch (coupon.getType()) {
+      case PERCENTAGE -> applyPercentageDiscountCents(totalCents, (int) coupon.getValue());
+      case FIXED -> applyFixedDiscountCents(totalCents, coupon.getValue());
     };
   }
-}
\ No newline at end of file
+
+  /**
+   * Obtiene el registro de cupones (por ejemplo, para recargarlo).
+   */
+  public CouponRegistry getCouponRegistry() {
+    return couponRegistry;
+  }
+
+  /**
+   * Obtiene los tramos de descuento por volumen por segmento.
+   */
+  public VolumeDiscountTiers getVolumeTiers() {
+    return volumeTiers;
+  }
+}
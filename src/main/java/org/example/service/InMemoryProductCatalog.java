@@ -0,0 +1,67 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.example.model.StockObserver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Catálogo en el heap: un mapa concurrente de ID a {@link Product}.
+ */
+public class InMemoryProductCatalog implements ProductCatalog {
+
+  private final ConcurrentMap<String, Product> products;
+  private volatile StockObserver stockObserver;
+
+  public InMemoryProductCatalog() {
+    this(16);
+  }
+
+  /**
+   * Crea el catálogo dimensionado para una cantidad esperada de productos.
+   */
+  public InMemoryProductCatalog(int expectedSize) {
+    this.products = new ConcurrentHashMap<>(expectedSize);
+  }
+
+  @Override
+  public Product get(String productId) {
+    return productId == null ? null : products.get(productId);
+  }
+
+  @Override
+  public List<Product> getAll() {
+    return new ArrayList<>(products.values());
+  }
+
+  @Override
+  public void put(Product product) {
+    product.setStockObserver(stockObserver);
+    products.put(product.getId(), product);
+  }
+
+  @Override
+  public boolean add(Product product) {
+    if (products.putIfAbsent(product.getId(), product) != null) {
+      return false;
+    }
+    product.setStockObserver(stockObserver);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return products.size();
+  }
+
+  @Override
+  public void setStockObserver(StockObserver observer) {
+    this.stockObserver = observer;
+    for (Product product : products.values()) {
+      product.setStockObserver(observer);
+    }
+  }
+}
@@ -0,0 +1,325 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.example.model.StockObserver;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Catálogo fuera del heap para millones de productos.
+ *
+ * <p>Cada producto ocupa un slot en segmentos columnares de memoria directa: una columna
+ * de stock ({@code int}), una de precio ({@code long}), una con el hash del ID y dos con
+ * referencias a los bytes UTF-8 del ID y del nombre, guardados en bloques de texto aparte.
+ * El índice ID→slot es una tabla de direccionamiento abierto sobre un único arreglo de
+ * {@code int}. Así el GC ve unos pocos objetos grandes en lugar de varios por producto.
+ *
+ * <p>{@link #get(String)} y {@link #getAll()} devuelven vistas flyweight: objetos
+ * {@link Product} efímeros que sólo guardan el ID y el slot, y leen o actualizan el
+ * precio y el stock directamente en los segmentos (el stock con compare-and-set, igual que
+ * {@link Product}). Por eso reemplazar un producto con {@link #put(Product)} actualiza su
+ * slot y lo ven también las vistas ya entregadas.
+ *
+ * <p>Las escrituras se serializan; las lecturas no bloquean. Un slot se publica en el
+ * índice con una escritura volátil después de escribir sus columnas.
+ */
+public class OffHeapProductCatalog implements ProductCatalog {
+
+  private static final int SEGMENT_SHIFT = 16;
+  private static final int SEGMENT_SLOTS = 1 << SEGMENT_SHIFT;
+  private static final int SEGMENT_MASK = SEGMENT_SLOTS - 1;
+  private static final int TEXT_BLOCK_BYTES = 1 << 20;
+  private static final int MAX_TEXT_BYTES = 0xFFFF;
+
+  private static final VarHandle INTS =
+      MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+  private static final VarHandle LONGS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private volatile Segment[] segments = new Segment[0];
+  private volatile ByteBuffer[] textBlocks = new ByteBuffer[0];
+  // Valor = slot + 1; 0 indica una posición libre
+  private volatile AtomicIntegerArray index;
+  private volatile int size;
+  private volatile StockObserver stockObserver;
+  private int textOffset = TEXT_BLOCK_BYTES;
+
+  public OffHeapProductCatalog() {
+    this(16);
+  }
+
+  /**
+   * Crea el catálogo dimensionando el índice para una cantidad esperada de productos.
+   */
+  public OffHeapProductCatalog(int expectedSize) {
+    this.index = new AtomicIntegerArray(indexCapacity(Math.max(16, expectedSize)));
+  }
+
+  @Override
+  public Product get(String productId) {
+    if (productId == null) {
+      return null;
+    }
+    int slot = find(productId, productId.getBytes(StandardCharsets.UTF_8), index);
+    return slot < 0 ? null : new View(productId, slot);
+  }
+
+  @Override
+  public List<Product> getAll() {
+    int count = size;
+    List<Product> products = new ArrayList<>(count);
+    for (int slot = 0; slot < count; slot++) {
+      products.add(new View(readText(segment(slot).idRef(slot)), slot));
+    }
+    return products;
+  }
+
+  @Override
+  public synchronized void put(Product product) {
+    byte[] id = product.getId().getBytes(StandardCharsets.UTF_8);
+    int slot = find(product.getId(), id, index);
+    if (slot < 0) {
+      insert(product, id);
+      return;
+    }
+    Segment segment = segment(slot);
+    int row = slot & SEGMENT_MASK;
+    // El texto anterior del nombre queda sin uso hasta que se descarte el catálogo
+    LONGS.setVolatile(segment.nameRef, row * Long.BYTES, writeText(product.getName()));
+    LONGS.setVolatile(segment.price, row * Long.BYTES, product.getPriceCents());
+    INTS.setVolatile(segment.stock, row * Integer.BYTES, product.getStock());
+  }
+
+  @Override
+  public synchronized boolean add(Product product) {
+    byte[] id = product.getId().getBytes(StandardCharsets.UTF_8);
+    if (find(product.getId(), id, index) >= 0) {
+      return false;
+    }
+    insert(product, id);
+    return true;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void setStockObserver(StockObserver observer) {
+    this.stockObserver = observer;
+  }
+
+  /**
+   * Obtiene los bytes de memoria directa reservados por columnas y texto.
+   */
+  public long getOffHeapBytes() {
+    return (long) segments.length * Segment.BYTES + (long) textBlocks.length * TEXT_BLOCK_BYTES;
+  }
+
+  private void insert(Product product, byte[] id) {
+    int slot = size;
+    if ((slot & SEGMENT_MASK) == 0 && slot >> SEGMENT_SHIFT == segments.length) {
+      Segment[] grown = Arrays.copyOf(segments, segments.length + 1);
+      grown[segments.length] = new Segment();
+      segments = grown;
+    }
+    Segment segment = segment(slot);
+    int row = slot & SEGMENT_MASK;
+    int hash = product.getId().hashCode();
+    segment.hash.putInt(row * Integer.BYTES, hash);
+    segment.idRef.putLong(row * Long.BYTES, writeText(id));
+    segment.nameRef.putLong(row * Long.BYTES, writeText(product.getName()));
+    segment.price.putLong(row * Long.BYTES, product.getPriceCents());
+    segment.stock.putInt(row * Integer.BYTES, product.getStock());
+
+    AtomicIntegerArray table = index;
+    if ((size + 1) * 2 > table.length()) {
+      table = rehash(table.length() * 2);
+    }
+    int mask = table.length() - 1;
+    int position = spread(hash) & mask;
+    while (table.get(position) != 0) {
+      position = (position + 1) & mask;
+    }
+    // Escritura volátil: publica las columnas del slot a los lectores
+    table.set(position, slot + 1);
+    size = slot + 1;
+  }
+
+  private AtomicIntegerArray rehash(int capacity) {
+    AtomicIntegerArray table = new AtomicIntegerArray(capacity);
+    int mask = capacity - 1;
+    for (int slot = 0; slot < size; slot++) {
+      int position = spread(segment(slot).hash.getInt((slot & SEGMENT_MASK) * Integer.BYTES))
+          & mask;
+      while (table.get(position) != 0) {
+        position = (position + 1) & mask;
+      }
+      table.set(position, slot + 1);
+    }
+    index = table;
+    return table;
+  }
+
+  private int find(String productId, byte[] id, AtomicIntegerArray table) {
+    int hash = productId.hashCode();
+    int mask = table.length() - 1;
+    int position = spread(hash) & mask;
+    int entry;
+    while ((entry = table.get(position)) != 0) {
+      int slot = entry - 1;
+      Segment segment = segment(slot);
+      int row = slot & SEGMENT_MASK;
+      if (segment.hash.getInt(row * Integer.BYTES) == hash
+          && textEquals(segment.idRef.getLong(row * Long.BYTES), id)) {
+        return slot;
+      }
+      position = (position + 1) & mask;
+    }
+    return -1;
+  }
+
+  private Segment segment(int slot) {
+    return segments[slot >>> SEGMENT_SHIFT];
+  }
+
+  private long writeText(String text) {
+    return writeText(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Agrega texto a los bloques como [longitud de 2 bytes][bytes UTF-8].
+   *
+   * @return Referencia: índice de bloque en los 32 bits altos y desplazamiento en los bajos
+   */
+  private long writeText(byte[] bytes) {
+    if (bytes.length > MAX_TEXT_BYTES) {
+      throw new IllegalArgumentException("Texto demasiado largo para el catálogo");
+    }
+    int needed = Short.BYTES + bytes.length;
+    if (textOffset + needed > TEXT_BLOCK_BYTES) {
+      ByteBuffer[] grown = Arrays.copyOf(textBlocks, textBlocks.length + 1);
+      grown[textBlocks.length] = ByteBuffer.allocateDirect(TEXT_BLOCK_BYTES);
+      textBlocks = grown;
+      textOffset = 0;
+    }
+    int block = textBlocks.length - 1;
+    ByteBuffer buffer = textBlocks[block];
+    buffer.putShort(textOffset, (short) bytes.length);
+    buffer.put(textOffset + Short.BYTES, bytes);
+    long ref = ((long) block << 32) | textOffset;
+    textOffset += needed;
+    return ref;
+  }
+
+  private String readText(long ref) {
+    ByteBuffer buffer = textBlocks[(int) (ref >>> 32)];
+    int offset = (int) ref;
+    byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+    buffer.get(offset + Short.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private boolean textEquals(long ref, byte[] expected) {
+    ByteBuffer buffer = textBlocks[(int) (ref >>> 32)];
+    int offset = (int) ref;
+    if ((buffer.getShort(offset) & 0xFFFF) != expected.length) {
+      return false;
+    }
+    offset += Short.BYTES;
+    for (int i = 0; i < expected.length; i++) {
+      if (buffer.get(offset + i) != expected[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int indexCapacity(int expectedSize) {
+    // Factor de carga <= 0.5
+    return Integer.highestOneBit(expectedSize * 2 - 1) << 1;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Columnas de {@link #SEGMENT_SLOTS} productos en memoria directa.
+   */
+  private static final class Segment {
+    static final long BYTES = (long) SEGMENT_SLOTS * (Integer.BYTES * 2 + Long.BYTES * 3);
+
+    final ByteBuffer stock = column(Integer.BYTES);
+    final ByteBuffer price = column(Long.BYTES);
+    final ByteBuffer hash = column(Integer.BYTES);
+    final ByteBuffer idRef = column(Long.BYTES);
+    final ByteBuffer nameRef = column(Long.BYTES);
+
+    long idRef(int slot) {
+      return idRef.getLong((slot & SEGMENT_MASK) * Long.BYTES);
+    }
+
+    private static ByteBuffer column(int width) {
+      // Alineada al ancho para que las operaciones atómicas de VarHandle sean válidas
+      return ByteBuffer.allocateDirect(SEGMENT_SLOTS * width + Long.BYTES)
+          .alignedSlice(Long.BYTES)
+          .order(ByteOrder.nativeOrder());
+    }
+  }
+
+  /**
+   * Vista flyweight de un slot del catálogo.
+   */
+  private final class View extends Product {
+    private final int slot;
+
+    View(String id, int slot) {
+      super(id);
+      this.slot = slot;
+    }
+
+    @Override
+    public String getName() {
+      return readText((long) LONGS.getVolatile(segment(slot).nameRef, row() * Long.BYTES));
+    }
+
+    @Override
+    public long getPriceCents() {
+      return (long) LONGS.getVolatile(segment(slot).price, row() * Long.BYTES);
+    }
+
+    @Override
+    protected int currentStock() {
+      return (int) INTS.getVolatile(segment(slot).stock, row() * Integer.BYTES);
+    }
+
+    @Override
+    protected boolean compareAndSetStock(int expected, int updated) {
+      return INTS.compareAndSet(segment(slot).stock, row() * Integer.BYTES, expected, updated);
+    }
+
+    @Override
+    protected int addToStock(int delta) {
+      return (int) INTS.getAndAdd(segment(slot).stock, row() * Integer.BYTES, delta) + delta;
+    }
+
+    @Override
+    protected StockObserver getStockObserver() {
+      return stockObserver;
+    }
+
+    private int row() {
+      return slot & SEGMENT_MASK;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.example.model.StockObserver;
+
+import java.util.List;
+
+/**
+ * Almacén de los productos del catálogo, indexado por ID.
+ *
+ * <p>Las implementaciones deben permitir lecturas concurrentes con escrituras. Los
+ * productos devueltos pueden ser vistas sobre el almacén: su stock y precio reflejan
+ * siempre el estado actual del catálogo.
+ */
+public interface ProductCatalog {
+
+  /**
+   * Obtiene un producto por ID.
+   *
+   * @return Producto, o null si no existe
+   */
+  Product get(String productId);
+
+  /**
+   * Obtiene todos los productos del catálogo.
+   */
+  List<Product> getAll();
+
+  /**
+   * Agrega un producto o reemplaza el que tenga el mismo ID.
+   */
+  void put(Product product);
+
+  /**
+   * Agrega un producto sólo si su ID no existe.
+   *
+   * @return true si se agregó, false si ya había un producto con ese ID
+   */
+  boolean add(Product product);
+
+  /**
+   * Obtiene la cantidad de productos.
+   */
+  int size();
+
+  /**
+   * Registra quién recibe los cambios de stock de todos los productos del catálogo,
+   * incluidos los que se agreguen después.
+   */
+  void setStockObserver(StockObserver observer);
+}
@@ -0,0 +1,36 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+import java.util.List;
+
+/**
+ * Una página de resultados de una consulta sobre el catálogo.
+ */
+public class ProductPage {
+  private final List<Product> items;
+  private final String nextCursor;
+
+  /**
+   * Constructor de ProductPage.
+   *
+   * @param items      Productos de la página
+   * @param nextCursor Cursor para pedir la página siguiente, o null si es la última
+   */
+  public ProductPage(List<Product> items, String nextCursor) {
+    this.items = List.copyOf(items);
+    this.nextCursor = nextCursor;
+  }
+
+  public List<Product> getItems() {
+    return items;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
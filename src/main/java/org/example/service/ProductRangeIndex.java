@@ -0,0 +1,226 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Índices secundarios ordenados por precio y por stock para consultas por rango.
+ *
+ * <p>Cada índice es un {@link SortedKeyIndex} de claves primitivas, con el número de
+ * documento del producto como desempate, así que las consultas recorren sólo el rango
+ * pedido y las páginas siguientes continúan desde un cursor estable.
+ *
+ * <p>Los cambios de stock llegan como {@link org.example.model.StockObserver}: el
+ * observador sólo marca el producto como pendiente, sin locks, y la próxima consulta vuelve
+ * a leer su stock actual del catálogo antes de recorrer los índices. Así el camino de
+ * reservas no compite por el lock del índice.
+ */
+public class ProductRangeIndex {
+
+  private final ProductCatalog catalog;
+  private final SortedKeyIndex byPrice = new SortedKeyIndex();
+  private final SortedKeyIndex byStock = new SortedKeyIndex();
+  private final Map<String, Integer> documentsById = new HashMap<>();
+  private final Set<String> pendingStock = ConcurrentHashMap.newKeySet();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private String[] ids = new String[16];
+  private long[] prices = new long[16];
+  private int[] stocks = new int[16];
+
+  /**
+   * Crea índices vacíos sobre un catálogo, del que se leen los productos encontrados.
+   */
+  public ProductRangeIndex(ProductCatalog catalog) {
+    this.catalog = catalog;
+  }
+
+  /**
+   * Agrega un producto o actualiza su precio y stock en los índices.
+   */
+  public void index(Product product) {
+    lock.writeLock().lock();
+    try {
+      Integer existing = documentsById.get(product.getId());
+      int document;
+      if (existing == null) {
+        document = documentsById.size();
+        if (document == ids.length) {
+          ids = Arrays.copyOf(ids, document * 2);
+          prices = Arrays.copyOf(prices, document * 2);
+          stocks = Arrays.copyOf(stocks, document * 2);
+        }
+        ids[document] = product.getId();
+        documentsById.put(product.getId(), document);
+      } else {
+        document = existing;
+        byPrice.remove(prices[document], document);
+        byStock.remove(stocks[document], document);
+      }
+      prices[document] = product.getPriceCents();
+      stocks[document] = product.getStock();
+      byPrice.insert(prices[document], document);
+      byStock.insert(stocks[document], document);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexa todos los productos dados.
+   */
+  public void indexAll(Iterable<Product> products) {
+    for (Product product : products) {
+      index(product);
+    }
+  }
+
+  /**
+   * Marca el stock de un producto como desactualizado. Pensado para usarse como
+   * {@link org.example.model.StockObserver}; no bloquea.
+   */
+  public void stockChanged(Product product, int previousStock, int currentStock) {
+    pendingStock.add(product.getId());
+  }
+
+  /**
+   * Busca productos con precio dentro de un rango, ordenados por precio.
+   *
+   * @param minPriceCents Precio mínimo, en centavos (inclusive)
+   * @param maxPriceCents Precio máximo, en centavos (inclusive)
+   * @param minStock      Stock mínimo (1 para sólo productos disponibles, 0 para todos)
+   * @param pageSize      Máximo de productos por página
+   * @param cursor        Cursor de la página anterior, o null para la primera
+   * @throws IllegalArgumentException si el tamaño de página no es positivo o el cursor es
+   *                                  inválido
+   */
+  public ProductPage findByPrice(long minPriceCents, long maxPriceCents, int minStock,
+                                 int pageSize, String cursor) {
+    return query(byPrice, minPriceCents, maxPriceCents, pageSize, cursor,
+        document -> stocks[document] >= minStock);
+  }
+
+  /**
+   * Busca productos con stock dentro de un rango, ordenados por stock.
+   *
+   * @param minStock Stock mínimo (inclusive)
+   * @param maxStock Stock máximo (inclusive)
+   * @param pageSize Máximo de productos por página
+   * @param cursor   Cursor de la página anterior, o null para la primera
+   */
+  public ProductPage findByStock(int minStock, int maxStock, int pageSize, String cursor) {
+    return query(byStock, minStock, maxStock, pageSize, cursor, document -> true);
+  }
+
+  /**
+   * Obtiene la cantidad de productos indexados.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documentsById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private ProductPage query(SortedKeyIndex index, long minKey, long maxKey, int pageSize,
+                            String cursor, IntPredicate filter) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+    }
+    long fromKey = minKey;
+    int fromDocument = 0;
+    if (cursor != null) {
+      long[] position = parseCursor(cursor);
+      // Se continúa justo después del último par entregado
+      if (position[0] >= minKey) {
+        fromKey = position[0];
+        fromDocument = (int) position[1] + 1;
+      }
+    }
+    applyPendingStock();
+
+    List<String> found = new ArrayList<>(pageSize);
+    long[] last = new long[2];
+    boolean[] more = new boolean[1];
+    lock.readLock().lock();
+    try {
+      index.scan(fromKey, fromDocument, maxKey, (key, document) -> {
+        if (!filter.test(document)) {
+          return true;
+        }
+        if (found.size() == pageSize) {
+          more[0] = true;
+          return false;
+        }
+        found.add(ids[document]);
+        last[0] = key;
+        last[1] = document;
+        return true;
+      });
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<Product> products = new ArrayList<>(found.size());
+    for (String id : found) {
+      Product product = catalog.get(id);
+      if (product != null) {
+        products.add(product);
+      }
+    }
+    return new ProductPage(products, more[0] ? last[0] + ":" + last[1] : null);
+  }
+
+  private void applyPendingStock() {
+    if (pendingStock.isEmpty()) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      Iterator<String> pending = pendingStock.iterator();
+      while (pending.hasNext()) {
+        String id = pending.next();
+        pending.remove();
+        Integer document = documentsById.get(id);
+        Product product = catalog.get(id);
+        if (document == null || product == null) {
+          continue;
+        }
+        // Se relee el stock actual: varios cambios seguidos cuestan una sola actualización
+        int current = product.getStock();
+        if (current != stocks[document]) {
+          byStock.remove(stocks[document], document);
+          stocks[document] = current;
+          byStock.insert(current, document);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static long[] parseCursor(String cursor) {
+    int separator = cursor.indexOf(':');
+    try {
+      if (separator < 0) {
+        throw new NumberFormatException();
+      }
+      return new long[]{Long.parseLong(cursor.substring(0, separator)),
+          Integer.parseInt(cursor.substring(separator + 1))};
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de búsqueda por nombre de producto, sin distinguir mayúsculas ni acentos.
+ *
+ * <p>Las consultas de 3 o más caracteres buscan la subcadena en cualquier parte del nombre
+ * con un índice de trigramas: cada trigrama del nombre normalizado apunta a una lista
+ * ordenada de documentos, se recorre la lista más corta de la consulta verificando las
+ * demás con búsqueda binaria, y cada candidato se confirma contra el nombre. Las consultas
+ * más cortas buscan palabras que empiecen con el texto en un diccionario ordenado. Antes
+ * de eso se toman los nombres que empiezan con el texto de un diccionario ordenado de
+ * nombres completos, así nunca quedan afuera del límite por otras coincidencias. En todos
+ * los casos se corta al llegar al límite de resultados, por lo que el costo no depende
+ * del tamaño del catálogo sino de cuán selectiva es la consulta.
+ *
+ * <p>El índice se actualiza incrementalmente: renombrar un producto le asigna un documento
+ * nuevo y deja el anterior como lápida. Guarda IDs, no productos, para no retener objetos
+ * de catálogos fuera del heap.
+ */
+public class ProductSearchIndex {
+
+  private static final int GRAM = 3;
+
+  private final Map<Long, Postings> trigrams = new HashMap<>();
+  private final NavigableMap<String, Postings> words = new TreeMap<>();
+  private final NavigableMap<String, Postings> fullNames = new TreeMap<>();
+  private final Map<String, Integer> documentsById = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private String[] ids = new String[16];
+  private String[] names = new String[16];
+  private int documents;
+
+  /**
+   * Agrega o actualiza el nombre de un producto en el índice.
+   */
+  public void index(Product product) {
+    String normalized = normalize(product.getName());
+    lock.writeLock().lock();
+    try {
+      Integer previous = documentsById.get(product.getId());
+      if (previous != null) {
+        if (names[previous].equals(normalized)) {
+          return;
+        }
+        ids[previous] = null;
+      }
+      int document = documents++;
+      if (document == ids.length) {
+        ids = Arrays.copyOf(ids, document * 2);
+        names = Arrays.copyOf(names, document * 2);
+      }
+      ids[document] = product.getId();
+      names[document] = normalized;
+      documentsById.put(product.getId(), document);
+      fullNames.computeIfAbsent(normalized, key -> new Postings()).add(document);
+
+      for (int i = 0; i + GRAM <= normalized.length(); i++) {
+        trigrams.computeIfAbsent(trigram(normalized, i), key -> new Postings()).add(document);
+      }
+      for (String word : normalized.split(" ")) {
+        if (!word.isEmpty()) {
+          words.computeIfAbsent(word, key -> new Postings()).add(document);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexa todos los productos dados.
+   */
+  public void indexAll(Iterable<Product> products) {
+    for (Product product : products) {
+      index(product);
+    }
+  }
+
+  /**
+   * Busca productos cuyo nombre contenga el texto (3 o más caracteres) o tenga una palabra
+   * que empiece con él (1 o 2 caracteres). Los nombres que empiezan con el texto van
+   * primero, en orden alfabético, aunque haya más coincidencias que el límite.
+   *
+   * @param query Texto a buscar
+   * @param limit Máximo de resultados
+   * @return IDs de los productos encontrados
+   */
+  public List<String> search(String query, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("El límite debe ser mayor a cero");
+    }
+    String normalized = query == null ? "" : normalize(query);
+    if (normalized.isEmpty()) {
+      return List.of();
+    }
+    lock.readLock().lock();
+    try {
+      List<Integer> matches = new ArrayList<>();
+      collect(fullNames.subMap(normalized, true, normalized + Character.MAX_VALUE, false),
+          null, matches, limit);
+      if (matches.size() < limit) {
+        // Los nombres que empiezan con el texto ya están todos
+        if (normalized.length() < GRAM) {
+          collect(words.subMap(normalized, true, normalized + Character.MAX_VALUE, false),
+              normalized, matches, limit);
+        } else {
+          searchSubstring(normalized, matches, limit);
+        }
+      }
+      List<String> results = new ArrayList<>(matches.size());
+      for (int document : matches) {
+        results.add(ids[document]);
+      }
+      return results;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Obtiene la cantidad de productos indexados.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documentsById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Agrega las coincidencias con el texto en cualquier parte del nombre que no empiecen
+   * con él.
+   */
+  private void searchSubstring(String query, List<Integer> matches, int limit) {
+    int gramCount = query.length() - GRAM + 1;
+    Postings[] lists = new Postings[gramCount];
+    for (int i = 0; i < gramCount; i++) {
+      lists[i] = trigrams.get(trigram(query, i));
+      if (lists[i] == null) {
+        return;
+      }
+    }
+    Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+    Postings shortest = lists[0];
+    for (int i = 0; i < shortest.size && matches.size() < limit; i++) {
+      int document = shortest.docs[i];
+      if (ids[document] != null && containsAll(lists, document)
+          && names[document].contains(query) && !names[document].startsWith(query)) {
+        matches.add(document);
+      }
+    }
+  }
+
+  /**
+   * Agrega los documentos vivos de las listas dadas hasta el límite, sin repetir ni
+   * incluir los nombres que empiezan con {@code skipPrefix} (null para no omitir nada).
+   */
+  private void collect(Map<String, Postings> lists, String skipPrefix, List<Integer> matches,
+                       int limit) {
+    Set<Integer> seen = new HashSet<>();
+    for (Postings postings : lists.values()) {
+      for (int i = 0; i < postings.size; i++) {
+        int document = postings.docs[i];
+        if (ids[document] != null
+            && (skipPrefix == null || !names[document].startsWith(skipPrefix))
+            && seen.add(document)) {
+          matches.add(document);
+          if (matches.size() == limit) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean containsAll(Postings[] lists, int document) {
+    for (int i = 1; i < lists.length; i++) {
+      if (Arrays.binarySearch(lists[i].docs, 0, lists[i].size, document) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long trigram(String text, int start) {
+    return ((long) text.charAt(start) << 32)
+        | ((long) text.charAt(start + 1) << 16)
+        | text.charAt(start + 2);
+  }
+
+  /**
+   * Pasa a minúsculas, quita acentos y colapsa espacios.
+   */
+  static String normalize(String text) {
+    String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+    StringBuilder normalized = new StringBuilder(decomposed.length());
+    boolean space = true;
+    for (int i = 0; i < decomposed.length(); i++) {
+      char c = decomposed.charAt(i);
+      if (Character.getType(c) == Character.NON_SPACING_MARK) {
+        continue;
+      }
+      if (Character.isWhitespace(c)) {
+        if (!space) {
+          normalized.append(' ');
+          space = true;
+        }
+        continue;
+      }
+      normalized.append(Character.toLowerCase(c));
+      space = false;
+    }
+    int length = normalized.length();
+    if (length > 0 && normalized.charAt(length - 1) == ' ') {
+      normalized.setLength(length - 1);
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Lista creciente de documentos, ordenada porque los documentos se numeran en orden.
+   */
+  private static final class Postings {
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int document) {
+      if (size > 0 && docs[size - 1] == document) {
+        return;
+      }
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size * 2);
+      }
+      docs[size++] = document;
+    }
+  }
+}
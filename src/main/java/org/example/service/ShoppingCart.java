@@ -2,21 +2,57 @@ package org.example.service;
 
 import org.example.exception.InsufficientStockException;
 import org.example.model.CartItem;
+import org.example.model.Money;
 import org.example.model.Product;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Gestiona el carrito de compras.
  * Permite agregar, remover y actualizar productos.
+ *
+ * <p>Las líneas se indexan por ID de producto en un {@link LinkedHashMap}, de modo que
+ * agregar, actualizar y remover son O(1) y {@link #getItems()} conserva el orden de
+ * inserción.
+ *
+ * <p>El total y la cantidad de productos se mantienen de forma incremental en cada
+ * mutación, por lo que {@link #getTotal()} y {@link #getTotalProducts()} son O(1). El
+ * total se acumula en centavos (ver {@link Money}), así que siempre es exacto.
+ * Las cantidades deben modificarse a través del carrito y no directamente sobre los
+ * {@link CartItem} devueltos por {@link #getItems()}.
+ *
+ * <p>Si se crea con un {@link StockHoldManager}, cada línea retiene su cantidad del stock
+ * del producto mediante una {@link StockHold} que vence tras el TTL configurado. Sin él,
+ * el carrito sólo verifica el stock disponible sin reservarlo.
+ *
+ * <p>Cada mutación exitosa se notifica al {@link CartListener} registrado, si lo hay.
  */
 public class ShoppingCart {
-  private final List<CartItem> items;
+  private final Map<String, CartItem> items;
+  private final StockHoldManager holdManager;
+  private final Map<String, StockHold> holds;
+  private long totalCents;
+  private int totalProducts;
+  private CartListener listener;
+  private boolean closed;
 
   public ShoppingCart() {
-    this.items = new ArrayList<>();
+    this(null);
+  }
+
+  /**
+   * Crea un carrito que reserva stock al agregar productos.
+   *
+   * @param holdManager Administrador de reservas, o null para no reservar stock
+   */
+  public ShoppingCart(StockHoldManager holdManager) {
+    this.items = new LinkedHashMap<>();
+    this.holdManager = holdManager;
+    this.holds = new LinkedHashMap<>();
   }
 
   /**
@@ -35,36 +71,29 @@ public class ShoppingCart {
       throw new IllegalArgumentException("La cantidad debe ser mayor a cero");
     }
 
-    // Verificar stock disponible
-    if (!product.hasStock(quantity)) {
-      throw new InsufficientStockException(
-          product.getId(),
-          quantity,
-          product.getStock()
-      );
-    }
-
     // Buscar si el producto ya está en el carrito
     Optional<CartItem> existingItem = findItemByProduct(product);
+    int newQuantity = existingItem.map(CartItem::getQuantity).orElse(0) + quantity;
+
+    if (holdManager != null) {
+      // Reservar la cantidad total de la línea
+      holdStock(product, newQuantity);
+    } else {
+      // Verificar stock disponible y para la nueva cantidad total
+      checkStock(product, quantity);
+      checkStock(product, newQuantity);
+    }
 
     if (existingItem.isPresent()) {
       // Si existe, aumentar cantidad
-      CartItem item = existingItem.get();
-      int newQuantity = item.getQuantity() + quantity;
-
-      // Verificar stock para la nueva cantidad total
-      if (!product.hasStock(newQuantity)) {
-        throw new InsufficientStockException(
-            product.getId(),
-            newQuantity,
-            product.getStock()
-        );
-      }
-
-      item.increaseQuantity(quantity);
+      existingItem.get().increaseQuantity(quantity);
     } else {
       // Si no existe, crear nuevo item
-      items.add(new CartItem(product, quantity));
+      items.put(product.getId(), new CartItem(product, quantity));
+    }
+    adjustTotals(product, quantity);
+    if (listener != null) {
+      listener.lineChanged(product.getId(), newQuantity);
     }
   }
 
@@ -75,7 +104,16 @@ public class ShoppingCart {
    * @return true si se removió, false si no se encontró
    */
   public boolean removeProduct(String productId) {
-    return items.removeIf(item -> item.getProduct().getId().equals(productId));
+    CartItem removed = items.remove(productId);
+    if (removed == null) {
+      return false;
+    }
+    releaseHold(productId);
+    adjustTotals(removed.getProduct(), -removed.getQuantity());
+    if (listener != null) {
+      listener.lineChanged(productId, 0);
+    }
+    return true;
   }
 
   /**
@@ -102,16 +140,19 @@ public class ShoppingCart {
       return;
     }
 
-    // Verificar stock
-    if (!product.hasStock(newQuantity)) {
-      throw new InsufficientStockException(
-          productId,
-          newQuantity,
-          product.getStock()
-      );
+    // Verificar (o reservar) stock
+    if (holdManager != null) {
+      holdStock(product, newQuantity);
+    } else {
+      checkStock(product, newQuantity);
     }
 
+    int delta = newQuantity - cartItem.getQuantity();
     cartItem.setQuantity(newQuantity);
+    adjustTotals(product, delta);
+    if (listener != null) {
+      listener.lineChanged(productId, newQuantity);
+    }
   }
 
   /**
@@ -120,9 +161,16 @@ public class ShoppingCart {
    * @return Total del carrito
    */
   public double getTotal() {
-    return items.stream()
-        .mapToDouble(CartItem::getSubtotal)
-        .sum();
+    return Money.toDouble(totalCents);
+  }
+
+  /**
+   * Obtiene el total del carrito sin descuentos, en centavos.
+   *
+   * @return Total del carrito en centavos
+   */
+  public long getTotalCents() {
+    return totalCents;
   }
 
   /**
@@ -140,16 +188,34 @@ public class ShoppingCart {
    * @return Número total de productos
    */
   public int getTotalProducts() {
-    return items.stream()
-        .mapToInt(CartItem::getQuantity)
-        .sum();
+    return totalProducts;
   }
 
   /**
    * Vacía el carrito completamente.
    */
   public void clear() {
+    for (String productId : new ArrayList<>(holds.keySet())) {
+      releaseHold(productId);
+    }
+    boolean hadItems = !items.isEmpty();
     items.clear();
+    totalCents = 0;
+    totalProducts = 0;
+    if (hadItems && listener != null) {
+      listener.cleared();
+    }
+  }
+
+  /**
+   * Registra quién recibe las mutaciones del carrito (null para ninguno).
+   */
+  public void setListener(CartListener listener) {
+    this.listener = listener;
+  }
+
+  CartListener getListener() {
+    return listener;
   }
 
   /**
@@ -167,20 +233,82 @@ public class ShoppingCart {
    * @return Lista de items del carrito
    */
   public List<CartItem> getItems() {
-    return new ArrayList<>(items);
+    return new ArrayList<>(items.values());
+  }
+
+  /**
+   * Marca el carrito como descartado: la sesión terminó y quien lo tenga debe usar el
+   * carrito nuevo de la sesión. No modifica las líneas.
+   */
+  void close() {
+    closed = true;
+  }
+
+  /**
+   * Indica si el carrito fue descartado con {@link #close()}.
+   */
+  boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Obtiene la reserva de stock de una línea, o null si el carrito no reserva stock.
+   */
+  StockHold getHold(String productId) {
+    return holds.get(productId);
+  }
+
+  /**
+   * Obtiene el administrador de reservas del carrito, o null si no reserva stock.
+   */
+  StockHoldManager getHoldManager() {
+    return holdManager;
   }
 
   // Métodos privados de utilidad
 
+  private void checkStock(Product product, int quantity) throws InsufficientStockException {
+    if (!product.hasStock(quantity)) {
+      throw new InsufficientStockException(
+          product.getId(),
+          quantity,
+          product.getStock()
+      );
+    }
+  }
+
+  private void holdStock(Product product, int quantity) throws InsufficientStockException {
+    StockHold hold = holds.get(product.getId());
+    if (hold == null) {
+      hold = holdManager.newHold(product);
+    }
+    if (!holdManager.resize(hold, quantity)) {
+      throw new InsufficientStockException(
+          product.getId(),
+          quantity,
+          product.getStock() + hold.getQuantity()
+      );
+    }
+    holds.put(product.getId(), hold);
+  }
+
+  private void releaseHold(String productId) {
+    StockHold hold = holds.remove(productId);
+    if (hold != null) {
+      holdManager.resize(hold, 0);
+    }
+  }
+
+  private void adjustTotals(Product product, int quantityDelta) {
+    totalProducts += quantityDelta;
+    totalCents = Math.addExact(totalCents, Money.times(product.getPriceCents(), quantityDelta));
+  }
+
   private Optional<CartItem> findItemByProduct(Product product) {
-    return items.stream()
-        .filter(item -> item.getProduct().equals(product))
-        .findFirst();
+    return findItemById(product.getId());
   }
 
   private Optional<CartItem> findItemById(String productId) {
-    return items.stream()
-        .filter(item -> item.getProduct().getId().equals(productId))
-        .findFirst();
+    return Optional.ofNullable(items.get(productId));
   }
 }
\ No newline at end of file
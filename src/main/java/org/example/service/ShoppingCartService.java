@@ -1,55 +1,325 @@
 package org.example.service;
 
+import org.example.event.CartEvent;
+import org.example.event.CartEventBus;
+import org.example.exception.CheckoutException;
 import org.example.exception.InsufficientStockException;
+import org.example.metrics.CartMetrics;
+import org.example.metrics.CartMetrics.Operation;
+import org.example.model.CartItem;
+import org.example.model.Money;
 import org.example.model.Product;
+import org.example.persistence.CartJournal;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
- * Gestiona el catálogo y el carrito de forma centralizada.
+ * Gestiona el catálogo y los carritos de forma centralizada.
+ *
+ * <p>Cada sesión tiene su propio {@link ShoppingCart}, creado bajo demanda la primera vez
+ * que se usa su ID. El catálogo es compartido por todas las sesiones. Ambos se guardan en
+ * mapas concurrentes y las operaciones sobre un carrito se sincronizan sólo sobre ese
+ * carrito, de modo que sesiones distintas nunca compiten por el mismo lock.
+ *
+ * <p>Los métodos sin ID de sesión operan sobre la sesión {@link #DEFAULT_SESSION}. Sólo
+ * agregar un producto (o {@link #getCart(String)}) crea una sesión; las consultas y las
+ * demás operaciones tratan una sesión inexistente como un carrito vacío, sin crearla.
+ *
+ * <p>Agregar productos a un carrito retiene su stock durante un TTL configurable
+ * (ver {@link StockHoldManager}); vaciar el carrito o finalizar la sesión lo libera.
+ *
+ * <p>El catálogo inicial se carga con un {@link CatalogLoader}; por defecto desde
+ * {@link CatalogLoader#DEFAULT_RESOURCE}. Puede estar en el heap
+ * ({@link InMemoryProductCatalog}) o fuera de él ({@link OffHeapProductCatalog}).
+ *
+ * <p>Con un {@link CartJournal}, los carritos recuperados del journal se restauran al
+ * crear el servicio y cada mutación posterior se registra en él. Antes de modificar un
+ * carrito se verifica que el journal acepte eventos, así un journal roto rechaza la
+ * operación sin cambiar nada. Las operaciones que modifican un carrito vuelven cuando el
+ * último evento de su sesión está en disco, esperando el group commit del journal fuera
+ * del lock del carrito.
+ *
+ * <p>Con un {@link CartEventBus} registrado, cada cambio en un carrito se publica como un
+ * {@link CartEvent} mientras se mantiene el lock del carrito, así que los eventos de una
+ * sesión llegan en el orden en que ocurrieron. Se publican con
+ * {@link CartEventBus#tryPublish}: si un consumidor atrasado llenó el anillo, el evento se
+ * descarta y se cuenta en {@link CartEventBus#getDroppedCount()} en lugar de bloquear el
+ * carrito. Los eventos son notificaciones, no el registro de los carritos (eso es el
+ * journal).
+ *
+ * <p>Las operaciones de carrito, descuento, checkout y consultas al catálogo registran su
+ * cantidad, errores y latencia en un {@link CartMetrics}; por defecto deshabilitado.
  */
 public class ShoppingCartService {
 
-  private final Map<String, Product> catalog;
-  private final ShoppingCart cart;
+  /**
+   * Sesión usada por los métodos que no reciben un ID de sesión.
+   */
+  public static final String DEFAULT_SESSION = "default";
+
+  private final ProductCatalog catalog;
+  private final ConcurrentMap<String, ShoppingCart> sessions;
   private final DiscountService discountService;
+  private final StockHoldManager holdManager;
+  private final CheckoutService checkoutService;
+  private final CatalogLoadReport catalogLoadReport;
+  private final ProductSearchIndex searchIndex;
+  private final ProductRangeIndex rangeIndex;
+  private final NavigableSet<String> sortedIds;
+  private final CartJournal journal;
+  private volatile CartEventBus eventBus;
+  private volatile CartMetrics metrics = CartMetrics.disabled();
+  private int restoredLines;
+  private int droppedLines;
 
   public ShoppingCartService() {
-    this.catalog = new HashMap<>();
-    this.cart = new ShoppingCart();
+    this(StockHoldManager.DEFAULT_TTL);
+  }
+
+  /**
+   * Crea el servicio con un TTL específico para las reservas de stock de los carritos.
+   *
+   * @param holdTtl Tiempo que se retiene el stock agregado a un carrito sin checkout
+   */
+  public ShoppingCartService(Duration holdTtl) {
+    this(holdTtl, new CatalogLoader().loadDefault());
+  }
+
+  /**
+   * Crea el servicio con un catálogo ya cargado.
+   *
+   * @param holdTtl Tiempo que se retiene el stock agregado a un carrito sin checkout
+   * @param catalog Resultado de la carga; su {@link ProductCatalog} pasa a ser el catálogo
+   *                del servicio
+   */
+  public ShoppingCartService(Duration holdTtl, CatalogLoadReport catalog) {
+    this(holdTtl, catalog, null);
+  }
+
+  /**
+   * Crea el servicio con un catálogo ya cargado y un journal de carritos.
+   *
+   * <p>Restaura los carritos recuperados por el journal. Las líneas cuyo producto ya no
+   * existe o no tiene stock suficiente se descartan y se registran como removidas.
+   *
+   * @param holdTtl Tiempo que se retiene el stock agregado a un carrito sin checkout
+   * @param catalog Resultado de la carga del catálogo
+   * @param journal Journal de carritos, o null para no persistirlos
+   */
+  public ShoppingCartService(Duration holdTtl, CatalogLoadReport catalog, CartJournal journal) {
+    if (catalog == null) {
+      throw new IllegalArgumentException("El catálogo no puede ser nulo");
+    }
+    this.catalog = catalog.getCatalog();
+    this.sessions = new ConcurrentHashMap<>();
     this.discountService = new DiscountService();
-    initializeCatalog();
+    this.holdManager = new StockHoldManager(holdTtl);
+    this.checkoutService = new CheckoutService();
+    this.catalogLoadReport = catalog;
+    this.searchIndex = new ProductSearchIndex();
+    this.rangeIndex = new ProductRangeIndex(this.catalog);
+    this.sortedIds = new ConcurrentSkipListSet<>();
+    this.catalog.setStockObserver(rangeIndex::stockChanged);
+    List<Product> products = this.catalog.getAll();
+    searchIndex.indexAll(products);
+    rangeIndex.indexAll(products);
+    for (Product product : products) {
+      sortedIds.add(product.getId());
+    }
+    this.journal = journal;
+    if (journal != null) {
+      restore(journal.getRecoveredState());
+      journal.setSnapshotSource(this::captureCarts);
+    }
+  }
+
+  private void restore(Map<String, Map<String, Integer>> recovered) {
+    for (Map.Entry<String, Map<String, Integer>> session : recovered.entrySet()) {
+      // Sin listener mientras se restaura: esas líneas ya están en el journal
+      ShoppingCart cart = new ShoppingCart(holdManager);
+      for (Map.Entry<String, Integer> line : session.getValue().entrySet()) {
+        Product product = catalog.get(line.getKey());
+        try {
+          if (product == null) {
+            throw new IllegalArgumentException("Producto no encontrado");
+          }
+          cart.addProduct(product, line.getValue());
+          restoredLines++;
+        } catch (InsufficientStockException | IllegalArgumentException e) {
+          journal.appendSet(session.getKey(), line.getKey(), 0);
+          droppedLines++;
+        }
+      }
+      cart.setListener(new JournalListener(journal, session.getKey()));
+      sessions.put(session.getKey(), cart);
+    }
   }
 
   /**
-   * Inicializa el catálogo de productos.
+   * Agrega o reemplaza un producto en el catálogo compartido.
    */
-  private void initializeCatalog() {
-    addToCatalog(new Product("P001", "Laptop Dell", 1200.00, 10));
-    addToCatalog(new Product("P002", "Mouse Logitech", 25.50, 20));
-    addToCatalog(new Product("P003", "Teclado Mecánico", 75.00, 15));
-    addToCatalog(new Product("P004", "Monitor LG 27\"", 350.00, 8));
+  public void addToCatalog(Product product) {
+    if (product == null) {
+      throw new IllegalArgumentException("El producto no puede ser nulo");
+    }
+    catalog.put(product);
+    searchIndex.index(product);
+    rangeIndex.index(product);
+    sortedIds.add(product.getId());
   }
 
-  private void addToCatalog(Product product) {
-    catalog.put(product.getId(), product);
+  /**
+   * Obtiene el resultado de la carga inicial del catálogo (cantidad y duración).
+   */
+  public CatalogLoadReport getCatalogLoadReport() {
+    return catalogLoadReport;
   }
 
   /**
-   * Obtiene todos los productos del catálogo.
+   * Obtiene todos los productos del catálogo. Copia el catálogo completo: para mostrarlo
+   * usar {@link #listProducts(String, int)}.
    */
   public List<Product> getAllProducts() {
-    return new ArrayList<>(catalog.values());
+    return catalog.getAll();
+  }
+
+  /**
+   * Lista el catálogo por páginas, ordenado por ID. Cada página cuesta O(log n + tamaño
+   * de página) y los productos agregados entre páginas aparecen en su lugar sin repetir ni
+   * saltear los ya listados.
+   *
+   * @param cursor   Cursor de la página anterior, o null para la primera
+   * @param pageSize Máximo de productos por página
+   * @throws IllegalArgumentException si el tamaño de página no es positivo
+   */
+  public ProductPage listProducts(String cursor, int pageSize) {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      if (pageSize <= 0) {
+        throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+      }
+      NavigableSet<String> remaining = cursor == null
+          ? sortedIds
+          : sortedIds.tailSet(cursor, false);
+      List<Product> products = new ArrayList<>(pageSize);
+      String last = null;
+      for (String id : remaining) {
+        if (products.size() == pageSize) {
+          // Hay al menos un producto más: el cursor es el último ID entregado
+          success = true;
+          return new ProductPage(products, last);
+        }
+        Product product = catalog.get(id);
+        if (product != null) {
+          products.add(product);
+          last = id;
+        }
+      }
+      success = true;
+      return new ProductPage(products, null);
+    } finally {
+      metrics.record(Operation.CATALOG_QUERY, start, success);
+    }
   }
 
   /**
    * Obtiene un producto por ID.
    */
   public Product getProduct(String productId) {
-    return catalog.get(productId);
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      Product product = catalog.get(productId);
+      success = true;
+      return product;
+    } finally {
+      metrics.record(Operation.CATALOG_LOOKUP, start, success);
+    }
+  }
+
+  /**
+   * Busca productos por nombre, sin distinguir mayúsculas ni acentos.
+   *
+   * @param query Texto a buscar: subcadena del nombre, o inicio de palabra si tiene menos
+   *              de 3 caracteres
+   * @param limit Máximo de resultados
+   * @see ProductSearchIndex#search(String, int)
+   */
+  public List<Product> searchProducts(String query, int limit) {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      List<String> ids = searchIndex.search(query, limit);
+      List<Product> products = new ArrayList<>(ids.size());
+      for (String id : ids) {
+        Product product = catalog.get(id);
+        if (product != null) {
+          products.add(product);
+        }
+      }
+      success = true;
+      return products;
+    } finally {
+      metrics.record(Operation.CATALOG_QUERY, start, success);
+    }
+  }
+
+  /**
+   * Busca productos por rango de precio, ordenados por precio.
+   *
+   * @param minPrice    Precio mínimo (inclusive)
+   * @param maxPrice    Precio máximo (inclusive)
+   * @param inStockOnly true para omitir productos sin stock
+   * @param pageSize    Máximo de productos por página
+   * @param cursor      Cursor de la página anterior, o null para la primera
+   * @see ProductRangeIndex#findByPrice(long, long, int, int, String)
+   */
+  public ProductPage findProductsByPrice(double minPrice, double maxPrice, boolean inStockOnly,
+                                         int pageSize, String cursor) {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      ProductPage page = rangeIndex.findByPrice(Money.fromDouble(minPrice),
+          Money.fromDouble(maxPrice), inStockOnly ? 1 : 0, pageSize, cursor);
+      success = true;
+      return page;
+    } finally {
+      metrics.record(Operation.CATALOG_QUERY, start, success);
+    }
+  }
+
+  /**
+   * Busca productos por rango de stock, ordenados por stock.
+   *
+   * @see ProductRangeIndex#findByStock(int, int, int, String)
+   */
+  public ProductPage findProductsByStock(int minStock, int maxStock, int pageSize,
+                                         String cursor) {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      ProductPage page = rangeIndex.findByStock(minStock, maxStock, pageSize, cursor);
+      success = true;
+      return page;
+    } finally {
+      metrics.record(Operation.CATALOG_QUERY, start, success);
+    }
   }
 
   /**
@@ -57,59 +327,242 @@ public class ShoppingCartService {
    */
   public void addToCart(String productId, int quantity)
       throws InsufficientStockException {
-    Product product = catalog.get(productId);
-    if (product == null) {
-      throw new IllegalArgumentException("Producto no encontrado");
+    addToCart(DEFAULT_SESSION, productId, quantity);
+  }
+
+  /**
+   * Agrega un producto al carrito de una sesión.
+   */
+  public void addToCart(String sessionId, String productId, int quantity)
+      throws InsufficientStockException {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      Product product = catalog.get(productId);
+      if (product == null) {
+        throw new IllegalArgumentException("Producto no encontrado");
+      }
+      withCart(sessionId, true, cart -> {
+        cart.addProduct(product, quantity);
+        publish(CartEvent.Type.ITEM_ADDED, sessionId, productId, quantity, 0);
+        return null;
+      });
+      success = true;
+    } finally {
+      metrics.record(Operation.ADD_TO_CART, start, success);
+    }
+  }
+
+  /**
+   * Actualiza la cantidad de un producto en el carrito (0 lo remueve).
+   */
+  public void updateCartQuantity(String productId, int newQuantity)
+      throws InsufficientStockException {
+    updateCartQuantity(DEFAULT_SESSION, productId, newQuantity);
+  }
+
+  /**
+   * Actualiza la cantidad de un producto en el carrito de una sesión (0 lo remueve).
+   */
+  public void updateCartQuantity(String sessionId, String productId, int newQuantity)
+      throws InsufficientStockException {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      withExistingCart(sessionId, cart -> {
+        cart.updateQuantity(productId, newQuantity);
+        if (newQuantity > 0) {
+          publish(CartEvent.Type.QUANTITY_CHANGED, sessionId, productId, newQuantity, 0);
+        } else {
+          publish(CartEvent.Type.ITEM_REMOVED, sessionId, productId, 0, 0);
+        }
+        return null;
+      });
+      success = true;
+    } finally {
+      metrics.record(Operation.UPDATE_QUANTITY, start, success);
     }
-    cart.addProduct(product, quantity);
   }
 
   /**
    * Remueve un producto del carrito.
    */
   public boolean removeFromCart(String productId) {
-    return cart.removeProduct(productId);
+    return removeFromCart(DEFAULT_SESSION, productId);
+  }
+
+  /**
+   * Remueve un producto del carrito de una sesión.
+   */
+  public boolean removeFromCart(String sessionId, String productId) {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      boolean removed = withExistingCart(sessionId, cart -> {
+        boolean found = cart.removeProduct(productId);
+        if (found) {
+          publish(CartEvent.Type.ITEM_REMOVED, sessionId, productId, 0, 0);
+        }
+        return found;
+      });
+      success = true;
+      return removed;
+    } finally {
+      metrics.record(Operation.REMOVE_FROM_CART, start, success);
+    }
   }
 
   /**
    * Obtiene el total del carrito.
    */
   public double getCartTotal() {
-    return cart.getTotal();
+    return getCartTotal(DEFAULT_SESSION);
+  }
+
+  /**
+   * Obtiene el total del carrito de una sesión.
+   */
+  public double getCartTotal(String sessionId) {
+    return Money.toDouble(getCartTotalCents(sessionId));
+  }
+
+  /**
+   * Obtiene el total del carrito de una sesión, en centavos.
+   */
+  public long getCartTotalCents(String sessionId) {
+    ShoppingCart cart = existingCart(sessionId);
+    if (cart == null) {
+      return 0;
+    }
+    synchronized (cart) {
+      return cart.getTotalCents();
+    }
   }
 
   /**
    * Obtiene el número de items en el carrito.
    */
   public int getCartItemCount() {
-    return cart.getItemCount();
+    return getCartItemCount(DEFAULT_SESSION);
+  }
+
+  /**
+   * Obtiene el número de items en el carrito de una sesión.
+   */
+  public int getCartItemCount(String sessionId) {
+    ShoppingCart cart = existingCart(sessionId);
+    if (cart == null) {
+      return 0;
+    }
+    synchronized (cart) {
+      return cart.getItemCount();
+    }
   }
 
   /**
    * Limpia el carrito.
    */
   public void clearCart() {
-    cart.clear();
+    clearCart(DEFAULT_SESSION);
+  }
+
+  /**
+   * Limpia el carrito de una sesión.
+   */
+  public void clearCart(String sessionId) {
+    withExistingCart(sessionId, cart -> {
+      clearAndPublish(sessionId, cart);
+      return null;
+    });
   }
 
   /**
    * Aplica un cupón de descuento.
    */
   public double applyDiscount(String couponCode) {
-    return discountService.applyCoupon(cart.getTotal(), couponCode);
+    return applyDiscount(DEFAULT_SESSION, couponCode);
+  }
+
+  /**
+   * Aplica un cupón de descuento al carrito de una sesión.
+   */
+  public double applyDiscount(String sessionId, String couponCode) {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      long totalCents =
+          discountService.applyCouponCents(getCartTotalCents(sessionId), couponCode);
+      success = true;
+      return Money.toDouble(totalCents);
+    } finally {
+      metrics.record(Operation.APPLY_DISCOUNT, start, success);
+    }
+  }
+
+  /**
+   * Confirma la compra del carrito, descontando el stock de todas sus líneas.
+   */
+  public CheckoutReceipt checkout() throws CheckoutException {
+    return checkout(DEFAULT_SESSION);
+  }
+
+  /**
+   * Confirma la compra del carrito de una sesión, descontando el stock de todas sus
+   * líneas. Si alguna línea no tiene stock no se descuenta nada.
+   *
+   * @throws CheckoutException si alguna línea no tiene stock suficiente
+   * @throws IllegalArgumentException si el carrito está vacío
+   */
+  public CheckoutReceipt checkout(String sessionId) throws CheckoutException {
+    CartMetrics metrics = this.metrics;
+    long start = metrics.start();
+    boolean success = false;
+    try {
+      CheckoutReceipt receipt = withExistingCart(sessionId, cart -> {
+        CheckoutReceipt completed = checkoutService.checkout(cart);
+        publish(CartEvent.Type.CHECKED_OUT, sessionId, null, completed.getTotalProducts(),
+            completed.getTotalCents());
+        return completed;
+      });
+      success = true;
+      return receipt;
+    } finally {
+      metrics.record(Operation.CHECKOUT, start, success);
+    }
   }
 
   /**
    * Retorna el estado del carrito como String (para debugging).
    */
   public String getCartSummary() {
-    if (cart.isEmpty()) {
+    return getCartSummary(DEFAULT_SESSION);
+  }
+
+  /**
+   * Retorna el estado del carrito de una sesión como String (para debugging).
+   */
+  public String getCartSummary(String sessionId) {
+    ShoppingCart cart = existingCart(sessionId);
+    if (cart == null) {
       return "Carrito vacío";
     }
+    int itemCount;
+    long totalCents;
+    synchronized (cart) {
+      if (cart.isEmpty()) {
+        return "Carrito vacío";
+      }
+      itemCount = cart.getItemCount();
+      totalCents = cart.getTotalCents();
+    }
 
     StringBuilder summary = new StringBuilder();
-    summary.append("Items en carrito: ").append(cart.getItemCount()).append("\n");
-    summary.append("Total: $").append(String.format("%.2f", cart.getTotal()));
+    summary.append("Items en carrito: ").append(itemCount).append("\n");
+    Money.appendTo(summary.append("Total: $"), totalCents);
     return summary.toString();
   }
 
@@ -117,6 +570,301 @@ public class ShoppingCartService {
    * Obtiene el carrito actual.
    */
   public ShoppingCart getCart() {
+    return getCart(DEFAULT_SESSION);
+  }
+
+  /**
+   * Obtiene el carrito de una sesión, creándolo si todavía no existe.
+   *
+   * <p>El carrito devuelto no es thread-safe por sí mismo: quien lo use directamente
+   * desde varios hilos debe sincronizar sobre él, como hace este servicio.
+   *
+   * @throws IllegalArgumentException si el ID de sesión está vacío
+   */
+  public ShoppingCart getCart(String sessionId) {
+    if (sessionId == null || sessionId.isBlank()) {
+      throw new IllegalArgumentException("El ID de sesión no puede estar vacío");
+    }
+    return sessions.computeIfAbsent(sessionId, this::createCart);
+  }
+
+  /**
+   * Copia el carrito de una sesión sin crearla.
+   *
+   * @return Copia tomada bajo el lock del carrito, o null si la sesión no existe
+   */
+  public CartSnapshot findCart(String sessionId) {
+    ShoppingCart cart = sessionId == null ? null : sessions.get(sessionId);
+    if (cart == null) {
+      return null;
+    }
+    synchronized (cart) {
+      if (cart.isClosed()) {
+        return null;
+      }
+      List<CartItem> items = new ArrayList<>(cart.getItemCount());
+      for (CartItem item : cart.getItems()) {
+        items.add(new CartItem(item.getProduct(), item.getQuantity()));
+      }
+      return new CartSnapshot(items, cart.getTotalCents(), cart.getTotalProducts());
+    }
+  }
+
+  /**
+   * Obtiene el carrito de una sesión sin crearla.
+   *
+   * @return El carrito, o null si la sesión no existe
+   * @throws IllegalArgumentException si el ID de sesión está vacío
+   */
+  private ShoppingCart existingCart(String sessionId) {
+    if (sessionId == null || sessionId.isBlank()) {
+      throw new IllegalArgumentException("El ID de sesión no puede estar vacío");
+    }
+    return sessions.get(sessionId);
+  }
+
+  /**
+   * Ejecuta una acción sobre el carrito de una sesión sin crearla: si la sesión no existe,
+   * la acción se aplica a un carrito vacío descartable (sin journal ni reservas), así
+   * remover devuelve false, vaciar no hace nada y actualizar o confirmar fallan igual que
+   * con un carrito vacío.
+   *
+   * @see #withCart(String, boolean, CartAction)
+   */
+  private <T, E extends Exception> T withExistingCart(String sessionId,
+                                                      CartAction<T, E> action) throws E {
+    return withCart(sessionId, false, action);
+  }
+
+  /**
+   * Ejecuta una acción que modifica el carrito de una sesión, bajo el lock del carrito, y
+   * espera a que sus eventos estén en el journal. Si {@link #endSession(String)} descartó
+   * el carrito entre obtenerlo y tomar el lock, se reintenta con el carrito nuevo de la
+   * sesión, así ninguna línea queda en un carrito huérfano.
+   */
+  private <T, E extends Exception> T withCart(String sessionId, boolean create,
+                                              CartAction<T, E> action) throws E {
+    while (true) {
+      ShoppingCart cart = create ? getCart(sessionId) : existingCart(sessionId);
+      if (cart == null) {
+        return action.apply(new ShoppingCart());
+      }
+      T result;
+      long sequence;
+      synchronized (cart) {
+        if (cart.isClosed()) {
+          continue;
+        }
+        checkJournal();
+        result = action.apply(cart);
+        sequence = journalSequence(cart);
+      }
+      awaitJournal(sequence);
+      return result;
+    }
+  }
+
+  private ShoppingCart createCart(String sessionId) {
+    ShoppingCart cart = new ShoppingCart(holdManager);
+    if (journal != null) {
+      cart.setListener(new JournalListener(journal, sessionId));
+    }
     return cart;
   }
+
+  private void clearAndPublish(String sessionId, ShoppingCart cart) {
+    boolean hadItems = !cart.isEmpty();
+    cart.clear();
+    if (hadItems) {
+      publish(CartEvent.Type.CLEARED, sessionId, null, 0, 0);
+    }
+  }
+
+  private void publish(CartEvent.Type type, String sessionId, String productId, int quantity,
+                       long amountCents) {
+    CartEventBus bus = eventBus;
+    if (bus != null) {
+      bus.tryPublish(type, sessionId, productId, quantity, amountCents);
+    }
+  }
+
+  /**
+   * Registra el bus donde se publican los cambios de los carritos (null para dejar de
+   * publicar). El servicio no inicia ni cierra el bus.
+   */
+  public void setEventBus(CartEventBus eventBus) {
+    this.eventBus = eventBus;
+  }
+
+  /**
+   * Registra dónde se miden las operaciones del servicio (por defecto
+   * {@link CartMetrics#disabled()}).
+   */
+  public void setMetrics(CartMetrics metrics) {
+    if (metrics == null) {
+      throw new IllegalArgumentException("Las métricas no pueden ser nulas");
+    }
+    this.metrics = metrics;
+  }
+
+  /**
+   * Obtiene las métricas de las operaciones del servicio.
+   */
+  public CartMetrics getMetrics() {
+    return metrics;
+  }
+
+  private void checkJournal() {
+    if (journal != null) {
+      journal.checkWritable();
+    }
+  }
+
+  /**
+   * Obtiene la secuencia del último evento registrado por un carrito (0 si ninguno).
+   * Requiere el lock del carrito.
+   */
+  private static long journalSequence(ShoppingCart cart) {
+    return cart.getListener() instanceof JournalListener listener
+        ? listener.lastSequence
+        : 0;
+  }
+
+  private void awaitJournal(long sequence) {
+    if (journal != null && sequence > 0) {
+      journal.awaitDurable(sequence);
+    }
+  }
+
+  /**
+   * Copia el contenido de todos los carritos: sesión → producto → cantidad. Cada carrito
+   * se copia bajo su lock; el conjunto no es una foto atómica de todas las sesiones.
+   */
+  public Map<String, Map<String, Integer>> captureCarts() {
+    Map<String, Map<String, Integer>> carts = new LinkedHashMap<>();
+    for (Map.Entry<String, ShoppingCart> session : sessions.entrySet()) {
+      ShoppingCart cart = session.getValue();
+      Map<String, Integer> lines = new LinkedHashMap<>();
+      synchronized (cart) {
+        for (CartItem item : cart.getItems()) {
+          lines.put(item.getProduct().getId(), item.getQuantity());
+        }
+      }
+      if (!lines.isEmpty()) {
+        carts.put(session.getKey(), lines);
+      }
+    }
+    return carts;
+  }
+
+  /**
+   * Obtiene la cantidad de líneas restauradas desde el journal al crear el servicio.
+   */
+  public int getRestoredLineCount() {
+    return restoredLines;
+  }
+
+  /**
+   * Obtiene la cantidad de líneas del journal descartadas al restaurar (producto
+   * inexistente o sin stock).
+   */
+  public int getDroppedLineCount() {
+    return droppedLines;
+  }
+
+  /**
+   * Finaliza una sesión descartando su carrito y liberando el stock que retenía.
+   *
+   * @return true si la sesión existía
+   */
+  public boolean endSession(String sessionId) {
+    ShoppingCart cart = sessionId == null ? null : sessions.get(sessionId);
+    if (cart == null) {
+      return false;
+    }
+    long sequence;
+    synchronized (cart) {
+      // Quitar y marcar bajo el lock: quien ya tenga este carrito lo verá descartado
+      if (cart.isClosed()) {
+        return false;
+      }
+      checkJournal();
+      if (!sessions.remove(sessionId, cart)) {
+        return false;
+      }
+      cart.close();
+      clearAndPublish(sessionId, cart);
+      sequence = journalSequence(cart);
+    }
+    awaitJournal(sequence);
+    return true;
+  }
+
+  /**
+   * Obtiene el número de sesiones con carrito activo.
+   */
+  public int getActiveSessionCount() {
+    return sessions.size();
+  }
+
+  /**
+   * Obtiene el servicio de descuentos usado por los carritos.
+   */
+  public DiscountService getDiscountService() {
+    return discountService;
+  }
+
+  /**
+   * Obtiene el administrador de reservas de stock de los carritos.
+   */
+  public StockHoldManager getHoldManager() {
+    return holdManager;
+  }
+
+  /**
+   * Detiene el barrido de reservas en segundo plano y cierra el journal, si lo hay.
+   */
+  public void shutdown() {
+    holdManager.close();
+    if (journal != null) {
+      try {
+        journal.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException("No se pudo cerrar el journal", e);
+      }
+    }
+  }
+
+  /**
+   * Acción sobre un carrito ejecutada bajo su lock.
+   */
+  @FunctionalInterface
+  private interface CartAction<T, E extends Exception> {
+    T apply(ShoppingCart cart) throws E;
+  }
+
+  /**
+   * Registra en el journal las mutaciones del carrito de una sesión y recuerda la secuencia
+   * del último evento, que se lee bajo el lock del carrito.
+   */
+  private static final class JournalListener implements CartListener {
+    private final CartJournal journal;
+    private final String sessionId;
+    private long lastSequence;
+
+    JournalListener(CartJournal journal, String sessionId) {
+      this.journal = journal;
+      this.sessionId = sessionId;
+    }
+
+    @Override
+    public void lineChanged(String productId, int quantity) {
+      lastSequence = journal.appendSet(sessionId, productId, quantity);
+    }
+
+    @Override
+    public void cleared() {
+      lastSequence = journal.appendClear(sessionId);
+    }
+  }
 }
\ No newline at end of file
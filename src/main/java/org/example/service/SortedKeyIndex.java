@@ -0,0 +1,163 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice ordenado de pares ({@code long} clave, {@code int} documento), sin boxing.
+ *
+ * <p>Los pares se guardan ordenados por clave y luego por documento en bloques de hasta
+ * {@link #CHUNK_SIZE} elementos con arreglos primitivos paralelos. Insertar o quitar
+ * desplaza sólo un bloque, y el bloque de una clave se ubica con búsqueda binaria sobre el
+ * último par de cada bloque. No es seguro entre hilos: el llamador sincroniza.
+ */
+final class SortedKeyIndex {
+
+  static final int CHUNK_SIZE = 512;
+
+  private final List<Chunk> chunks = new ArrayList<>();
+  private int size;
+
+  /**
+   * Recibe los pares de un recorrido; devuelve false para detenerlo.
+   */
+  @FunctionalInterface
+  interface Visitor {
+    boolean visit(long key, int document);
+  }
+
+  void insert(long key, int document) {
+    if (chunks.isEmpty()) {
+      Chunk first = new Chunk();
+      first.insertAt(0, key, document);
+      chunks.add(first);
+      size++;
+      return;
+    }
+    int chunkIndex = Math.min(chunkFor(key, document), chunks.size() - 1);
+    Chunk chunk = chunks.get(chunkIndex);
+    int position = chunk.search(key, document);
+    chunk.insertAt(position < 0 ? -position - 1 : position, key, document);
+    size++;
+    if (chunk.size == CHUNK_SIZE) {
+      chunks.add(chunkIndex + 1, chunk.splitUpperHalf());
+    }
+  }
+
+  boolean remove(long key, int document) {
+    int chunkIndex = chunkFor(key, document);
+    if (chunkIndex == chunks.size()) {
+      return false;
+    }
+    Chunk chunk = chunks.get(chunkIndex);
+    int position = chunk.search(key, document);
+    if (position < 0) {
+      return false;
+    }
+    chunk.removeAt(position);
+    size--;
+    if (chunk.size == 0) {
+      chunks.remove(chunkIndex);
+    }
+    return true;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Recorre en orden los pares desde ({@code fromKey}, {@code fromDocument}) inclusive
+   * hasta los de clave {@code toKey} inclusive.
+   */
+  void scan(long fromKey, int fromDocument, long toKey, Visitor visitor) {
+    int chunkIndex = chunkFor(fromKey, fromDocument);
+    if (chunkIndex == chunks.size()) {
+      return;
+    }
+    int position = chunks.get(chunkIndex).search(fromKey, fromDocument);
+    if (position < 0) {
+      position = -position - 1;
+    }
+    for (; chunkIndex < chunks.size(); chunkIndex++, position = 0) {
+      Chunk chunk = chunks.get(chunkIndex);
+      for (; position < chunk.size; position++) {
+        if (chunk.keys[position] > toKey
+            || !visitor.visit(chunk.keys[position], chunk.documents[position])) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Primer bloque cuyo último par es mayor o igual al dado, o {@code chunks.size()}.
+   */
+  private int chunkFor(long key, int document) {
+    int low = 0;
+    int high = chunks.size() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      Chunk chunk = chunks.get(middle);
+      int last = chunk.size - 1;
+      if (compare(chunk.keys[last], chunk.documents[last], key, document) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  private static int compare(long key1, int document1, long key2, int document2) {
+    int byKey = Long.compare(key1, key2);
+    return byKey != 0 ? byKey : Integer.compare(document1, document2);
+  }
+
+  private static final class Chunk {
+    private long[] keys = new long[CHUNK_SIZE];
+    private int[] documents = new int[CHUNK_SIZE];
+    private int size;
+
+    int search(long key, int document) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int middle = (low + high) >>> 1;
+        int order = compare(keys[middle], documents[middle], key, document);
+        if (order < 0) {
+          low = middle + 1;
+        } else if (order > 0) {
+          high = middle - 1;
+        } else {
+          return middle;
+        }
+      }
+      return -(low + 1);
+    }
+
+    void insertAt(int position, long key, int document) {
+      System.arraycopy(keys, position, keys, position + 1, size - position);
+      System.arraycopy(documents, position, documents, position + 1, size - position);
+      keys[position] = key;
+      documents[position] = document;
+      size++;
+    }
+
+    void removeAt(int position) {
+      System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+      System.arraycopy(documents, position + 1, documents, position, size - position - 1);
+      size--;
+    }
+
+    Chunk splitUpperHalf() {
+      Chunk upper = new Chunk();
+      int half = size / 2;
+      upper.size = size - half;
+      System.arraycopy(keys, half, upper.keys, 0, upper.size);
+      System.arraycopy(documents, half, upper.documents, 0, upper.size);
+      size = half;
+      return upper;
+    }
+  }
+}
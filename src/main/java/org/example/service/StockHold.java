@@ -0,0 +1,124 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+/**
+ * Reserva temporal de stock de un producto asociada a una línea del carrito.
+ *
+ * <p>Las unidades retenidas ya fueron descontadas del stock del producto. Si la reserva
+ * vence antes del checkout, {@link StockHoldManager} las devuelve al stock.
+ * El estado se protege con el monitor de la propia reserva.
+ */
+public class StockHold {
+  static final int SWEEP_KEEP = 0;
+  static final int SWEEP_DROP = 1;
+  static final int SWEEP_EXPIRED = 2;
+
+  private final Product product;
+  private int quantity;
+  private long deadline;
+  private boolean expired;
+
+  // Estado de la rueda de tiempos: la reserva está encolada en algún bucket
+  private boolean scheduled;
+  StockHold nextInBucket;
+
+  StockHold(Product product) {
+    this.product = product;
+  }
+
+  public Product getProduct() {
+    return product;
+  }
+
+  /**
+   * Obtiene la cantidad retenida actualmente (0 si venció o fue liberada).
+   */
+  public synchronized int getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * Indica si la reserva venció y su stock fue devuelto.
+   */
+  public synchronized boolean isExpired() {
+    return expired;
+  }
+
+  synchronized long getDeadline() {
+    return deadline;
+  }
+
+  /**
+   * Ajusta la cantidad retenida, reservando o liberando la diferencia, y renueva el
+   * vencimiento.
+   *
+   * @return true si ajustó, false si no hay stock para la diferencia
+   */
+  synchronized boolean resize(int newQuantity, long newDeadline) {
+    int delta = newQuantity - quantity;
+    if (delta > 0 && !product.tryReserve(delta)) {
+      return false;
+    }
+    if (delta < 0) {
+      product.release(-delta);
+    }
+    quantity = newQuantity;
+    deadline = newDeadline;
+    expired = false;
+    return true;
+  }
+
+  /**
+   * Entrega las unidades retenidas a quien las consume (checkout) sin devolverlas al stock.
+   */
+  synchronized int take() {
+    int taken = quantity;
+    quantity = 0;
+    return taken;
+  }
+
+  /**
+   * Devuelve a la reserva unidades entregadas con {@link #take()} que no llegaron a
+   * confirmarse. El stock ya está descontado, por lo que no se toca el producto.
+   */
+  synchronized void restore(int restored, long newDeadline) {
+    quantity += restored;
+    deadline = newDeadline;
+    expired = false;
+  }
+
+  /**
+   * Marca la reserva para volver a encolarse si no lo está.
+   *
+   * @return true si quien llama debe encolarla en la rueda
+   */
+  synchronized boolean markScheduled() {
+    if (scheduled || quantity == 0) {
+      return false;
+    }
+    scheduled = true;
+    return true;
+  }
+
+  /**
+   * Revisa la reserva desde el barrido.
+   *
+   * @return {@link #SWEEP_KEEP} si todavía no vence, {@link #SWEEP_DROP} si ya no retiene
+   *     nada o {@link #SWEEP_EXPIRED} si venció y devolvió su stock
+   */
+  synchronized int sweep(long now) {
+    if (quantity == 0) {
+      scheduled = false;
+      return SWEEP_DROP;
+    }
+    if (deadline > now) {
+      return SWEEP_KEEP;
+    }
+    product.release(quantity);
+    quantity = 0;
+    expired = true;
+    scheduled = false;
+    return SWEEP_EXPIRED;
+  }
+}
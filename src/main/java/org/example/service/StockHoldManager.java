@@ -0,0 +1,200 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Administra las reservas temporales de stock ({@link StockHold}) de los carritos.
+ *
+ * <p>Cada reserva vence tras un TTL configurable desde su último ajuste. Las reservas
+ * vencidas se recuperan con una rueda de tiempos (timer wheel): cada reserva se encola
+ * en el bucket del tick en que vence mediante un enlace intrusivo, y un único hilo de
+ * barrido procesa un bucket por tick. No hay una tarea programada por reserva, por lo que
+ * cada una cuesta un objeto pequeño y el barrido sólo toca los buckets vencidos.
+ *
+ * <p>Renovar una reserva sólo actualiza su vencimiento; si al barrer su bucket todavía
+ * no venció, se vuelve a encolar en el bucket que le corresponde.
+ */
+public class StockHoldManager implements AutoCloseable {
+
+  /**
+   * TTL por defecto de una reserva.
+   */
+  public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+
+  private static final int WHEEL_SIZE = 512;
+  private static final long DEFAULT_TICK_MILLIS = 1_000;
+
+  private final long ttlMillis;
+  private final long tickMillis;
+  private final LongSupplier clock;
+  private final Bucket[] wheel;
+  private final ScheduledExecutorService sweeper;
+  private long lastSweptTick;
+
+  /**
+   * Crea un administrador con el TTL dado y un hilo de barrido en segundo plano.
+   *
+   * @param ttl Tiempo que se mantiene una reserva sin checkout
+   * @throws IllegalArgumentException si el TTL no es positivo
+   */
+  public StockHoldManager(Duration ttl) {
+    this(ttl, Duration.ofMillis(Math.min(DEFAULT_TICK_MILLIS, Math.max(1, ttl.toMillis() / 8))),
+        () -> System.nanoTime() / 1_000_000, true);
+  }
+
+  StockHoldManager(Duration ttl, Duration tick, LongSupplier clock, boolean startSweeper) {
+    if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("El TTL de la reserva debe ser positivo");
+    }
+    this.ttlMillis = ttl.toMillis();
+    this.tickMillis = Math.max(1, tick.toMillis());
+    this.clock = clock;
+    this.wheel = new Bucket[WHEEL_SIZE];
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.lastSweptTick = clock.getAsLong() / tickMillis - 1;
+
+    if (startSweeper) {
+      this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-hold-sweeper");
+        thread.setDaemon(true);
+        return thread;
+      });
+      sweeper.scheduleAtFixedRate(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    } else {
+      this.sweeper = null;
+    }
+  }
+
+  /**
+   * Crea una reserva vacía para un producto. No retiene stock hasta ajustarla.
+   */
+  public StockHold newHold(Product product) {
+    if (product == null) {
+      throw new IllegalArgumentException("El producto no puede ser nulo");
+    }
+    return new StockHold(product);
+  }
+
+  /**
+   * Ajusta una reserva a la cantidad indicada y renueva su vencimiento.
+   * Con cantidad 0 libera todo lo retenido.
+   *
+   * @param hold     Reserva a ajustar
+   * @param quantity Cantidad total que debe quedar retenida
+   * @return true si se ajustó, false si no hay stock suficiente (la reserva no cambia)
+   * @throws IllegalArgumentException si la cantidad es negativa
+   */
+  public boolean resize(StockHold hold, int quantity) {
+    if (quantity < 0) {
+      throw new IllegalArgumentException("La cantidad a reservar no puede ser negativa");
+    }
+    if (!hold.resize(quantity, clock.getAsLong() + ttlMillis)) {
+      return false;
+    }
+    if (hold.markScheduled()) {
+      schedule(hold);
+    }
+    return true;
+  }
+
+  /**
+   * Entrega las unidades retenidas por la reserva para confirmarlas (checkout).
+   * El stock no se devuelve y la reserva queda vacía.
+   *
+   * @return Unidades que estaban retenidas
+   */
+  public int take(StockHold hold) {
+    return hold.take();
+  }
+
+  /**
+   * Devuelve a la reserva unidades tomadas con {@link #take(StockHold)} cuyo checkout no se
+   * confirmó, renovando su vencimiento.
+   */
+  void restore(StockHold hold, int quantity) {
+    if (quantity <= 0) {
+      return;
+    }
+    hold.restore(quantity, clock.getAsLong() + ttlMillis);
+    if (hold.markScheduled()) {
+      schedule(hold);
+    }
+  }
+
+  /**
+   * Procesa los ticks transcurridos desde el último barrido, devolviendo al stock las
+   * reservas vencidas. El hilo de barrido lo invoca periódicamente.
+   *
+   * @return Número de reservas vencidas en este barrido
+   */
+  public synchronized int expireDue() {
+    long now = clock.getAsLong();
+    // Sólo se barren ticks ya terminados: todo lo que vence en ellos es <= now
+    long lastCompleteTick = now / tickMillis - 1;
+    long ticks = Math.min(lastCompleteTick - lastSweptTick, WHEEL_SIZE);
+    int expired = 0;
+    for (long i = 1; i <= ticks; i++) {
+      expired += sweepBucket(wheel[(int) ((lastSweptTick + i) & (WHEEL_SIZE - 1))], now);
+    }
+    lastSweptTick = Math.max(lastSweptTick, lastCompleteTick);
+    return expired;
+  }
+
+  /**
+   * Detiene el hilo de barrido. Las reservas activas se conservan.
+   */
+  @Override
+  public void close() {
+    if (sweeper != null) {
+      sweeper.shutdownNow();
+    }
+  }
+
+  private int sweepBucket(Bucket bucket, long now) {
+    int expired = 0;
+    StockHold hold = bucket.detach();
+    while (hold != null) {
+      StockHold next = hold.nextInBucket;
+      hold.nextInBucket = null;
+      int outcome = hold.sweep(now);
+      if (outcome == StockHold.SWEEP_KEEP) {
+        schedule(hold);
+      } else if (outcome == StockHold.SWEEP_EXPIRED) {
+        expired++;
+      }
+      hold = next;
+    }
+    return expired;
+  }
+
+  private void schedule(StockHold hold) {
+    long tick = hold.getDeadline() / tickMillis;
+    wheel[(int) (tick & (WHEEL_SIZE - 1))].push(hold);
+  }
+
+  /**
+   * Lista intrusiva de reservas que vencen en un mismo slot de la rueda.
+   */
+  private static final class Bucket {
+    private StockHold head;
+
+    synchronized void push(StockHold hold) {
+      hold.nextInBucket = head;
+      head = hold;
+    }
+
+    synchronized StockHold detach() {
+      StockHold detached = head;
+      head = null;
+      return detached;
+    }
+  }
+}
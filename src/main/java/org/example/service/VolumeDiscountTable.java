@@ -0,0 +1,79 @@
+package org.example.service;
+
+import org.example.model.Money;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de tramos de descuento por volumen de un segmento de clientes.
+ *
+ * <p>Los umbrales (en centavos) se guardan ordenados en un arreglo primitivo junto a sus
+ * puntos básicos, y el tramo de un total se encuentra con búsqueda binaria, por lo que
+ * cientos de tramos cuestan O(log n) por consulta y no crean objetos.
+ */
+public class VolumeDiscountTable {
+
+  private final long[] thresholdsCents;
+  private final int[] basisPoints;
+
+  /**
+   * Constructor de VolumeDiscountTable.
+   *
+   * @param thresholdsCents Umbral mínimo de cada tramo, en centavos (en cualquier orden)
+   * @param basisPoints     Descuento de cada tramo en puntos básicos (0-10000)
+   * @throws IllegalArgumentException si los arreglos no coinciden, hay umbrales repetidos
+   *                                  o negativos, o un descuento fuera de rango
+   */
+  public VolumeDiscountTable(long[] thresholdsCents, int[] basisPoints) {
+    if (thresholdsCents.length != basisPoints.length) {
+      throw new IllegalArgumentException("Cada umbral debe tener un descuento");
+    }
+    Integer[] order = new Integer[thresholdsCents.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(thresholdsCents[a], thresholdsCents[b]));
+
+    this.thresholdsCents = new long[order.length];
+    this.basisPoints = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      long threshold = thresholdsCents[order[i]];
+      int points = basisPoints[order[i]];
+      if (threshold < 0) {
+        throw new IllegalArgumentException("El umbral no puede ser negativo");
+      }
+      if (points < 0 || points > Money.FULL_BASIS_POINTS) {
+        throw new IllegalArgumentException(
+            "El porcentaje de descuento debe estar entre 0 y 100");
+      }
+      if (i > 0 && threshold == this.thresholdsCents[i - 1]) {
+        throw new IllegalArgumentException("Umbral repetido: " + Money.format(threshold));
+      }
+      this.thresholdsCents[i] = threshold;
+      this.basisPoints[i] = points;
+    }
+  }
+
+  /**
+   * Obtiene el descuento del tramo que corresponde a un total.
+   *
+   * @param totalCents Total en centavos
+   * @return Puntos básicos del tramo más alto cuyo umbral es menor o igual al total,
+   *     o 0 si no alcanza ningún tramo
+   */
+  public int basisPointsFor(long totalCents) {
+    int index = Arrays.binarySearch(thresholdsCents, totalCents);
+    if (index < 0) {
+      // Punto de inserción - 1 = último umbral menor que el total
+      index = -index - 2;
+    }
+    return index < 0 ? 0 : basisPoints[index];
+  }
+
+  /**
+   * Obtiene la cantidad de tramos.
+   */
+  public int size() {
+    return thresholdsCents.length;
+  }
+}
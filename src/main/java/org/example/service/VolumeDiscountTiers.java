@@ -0,0 +1,141 @@
+package org.example.service;
+
+import org.example.model.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tramos de descuento por volumen por segmento de clientes, cargados desde configuración.
+ *
+ * <p>Formato del archivo (una línea por tramo, {@code #} para comentarios):
+ * <pre>
+ * default,100,5
+ * mayorista,50.00,7.5
+ * </pre>
+ * donde cada línea es {@code segmento,umbral,porcentaje}.
+ */
+public class VolumeDiscountTiers {
+
+  /**
+   * Segmento usado cuando no se indica otro.
+   */
+  public static final String DEFAULT_SEGMENT = "default";
+
+  /**
+   * Recurso del classpath con los tramos por defecto.
+   */
+  public static final String DEFAULT_RESOURCE = "/volume-tiers.csv";
+
+  private final Map<String, VolumeDiscountTable> segments;
+
+  /**
+   * Crea la configuración con una tabla por segmento.
+   */
+  public VolumeDiscountTiers(Map<String, VolumeDiscountTable> segments) {
+    this.segments = Map.copyOf(segments);
+  }
+
+  /**
+   * Crea la configuración con los tramos por defecto del classpath.
+   */
+  public static VolumeDiscountTiers loadDefault() {
+    try (InputStream input = VolumeDiscountTiers.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+      if (input == null) {
+        throw new IllegalStateException("No se encontró el recurso " + DEFAULT_RESOURCE);
+      }
+      return parse(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)),
+          DEFAULT_RESOURCE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Crea la configuración con los tramos de un archivo.
+   *
+   * @throws IOException si no se puede leer el archivo
+   * @throws IllegalArgumentException si el archivo tiene líneas inválidas
+   */
+  public static VolumeDiscountTiers fromFile(Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      return parse(reader, file.toString());
+    }
+  }
+
+  /**
+   * Obtiene la tabla de un segmento.
+   *
+   * @throws IllegalArgumentException si el segmento no existe
+   */
+  public VolumeDiscountTable forSegment(String segment) {
+    VolumeDiscountTable table = segment == null ? null : segments.get(segment);
+    if (table == null) {
+      throw new IllegalArgumentException("Segmento de clientes desconocido: " + segment);
+    }
+    return table;
+  }
+
+  static VolumeDiscountTiers parse(BufferedReader reader, String source) throws IOException {
+    Map<String, TierBuilder> builders = new LinkedHashMap<>();
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      String trimmed = line.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+      String[] fields = trimmed.split(",");
+      try {
+        if (fields.length != 3 || fields[0].isBlank()) {
+          throw new IllegalArgumentException("se esperaban 3 campos");
+        }
+        builders.computeIfAbsent(fields[0].trim(), key -> new TierBuilder()).add(
+            Money.fromDouble(Double.parseDouble(fields[1].trim())),
+            Money.basisPoints(Double.parseDouble(fields[2].trim())));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(String.format(
+            "Línea %d inválida en %s: '%s' (%s)", lineNumber, source, line, e.getMessage()), e);
+      }
+    }
+
+    Map<String, VolumeDiscountTable> segments = new HashMap<>();
+    builders.forEach((segment, builder) -> segments.put(segment, builder.build()));
+    return new VolumeDiscountTiers(segments);
+  }
+
+  /**
+   * Acumula los tramos de un segmento en arreglos primitivos mientras se lee el archivo.
+   */
+  private static final class TierBuilder {
+    private long[] thresholds = new long[8];
+    private int[] points = new int[8];
+    private int size;
+
+    void add(long threshold, int basisPoints) {
+      if (size == thresholds.length) {
+        thresholds = Arrays.copyOf(thresholds, size * 2);
+        points = Arrays.copyOf(points, size * 2);
+      }
+      thresholds[size] = threshold;
+      points[size] = basisPoints;
+      size++;
+    }
+
+    VolumeDiscountTable build() {
+      return new VolumeDiscountTable(
+          Arrays.copyOf(thresholds, size), Arrays.copyOf(points, size));
+    }
+  }
+}
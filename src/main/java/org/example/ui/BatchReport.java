@@ -0,0 +1,65 @@
+package org.example.ui;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Resultado de ejecutar un script de comandos con {@link BatchRunner}.
+ */
+public class BatchReport {
+  private final long commands;
+  private final long errors;
+  private final Map<String, Long> commandCounts;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor de BatchReport.
+   *
+   * @param commands      Comandos ejecutados (incluye los que fallaron)
+   * @param errors        Comandos que fallaron o no se pudieron interpretar
+   * @param commandCounts Comandos ejecutados por nombre
+   * @param elapsedNanos  Duración de la ejecución
+   */
+  public BatchReport(long commands, long errors, Map<String, Long> commandCounts,
+                     long elapsedNanos) {
+    this.commands = commands;
+    this.errors = errors;
+    this.commandCounts = Collections.unmodifiableMap(new LinkedHashMap<>(commandCounts));
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public long getCommands() {
+    return commands;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  public Map<String, Long> getCommandCounts() {
+    return commandCounts;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Obtiene los comandos ejecutados por segundo.
+   */
+  public double getCommandsPerSecond() {
+    return elapsedNanos == 0 ? 0 : commands * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder summary = new StringBuilder();
+    summary.append(String.format("Comandos: %d (%d con error) en %.1f ms, %.0f comandos/s%n",
+        commands, errors, elapsedNanos / 1_000_000.0, getCommandsPerSecond()));
+    for (Map.Entry<String, Long> entry : commandCounts.entrySet()) {
+      summary.append(String.format("  %-10s %d%n", entry.getKey(), entry.getValue()));
+    }
+    return summary.toString();
+  }
+}
@@ -0,0 +1,171 @@
+package org.example.ui;
+
+import org.example.exception.CheckoutException;
+import org.example.exception.InsufficientStockException;
+import org.example.service.ShoppingCartService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ejecuta un script de comandos contra {@link ShoppingCartService} sin menús ni
+ * confirmaciones, para reproducir tráfico capturado a la máxima velocidad.
+ *
+ * <p>Un comando por línea; las líneas vacías y las que empiezan con {@code #} se ignoran.
+ * Un prefijo {@code @sesion} opcional elige la sesión; sin él se usa
+ * {@link ShoppingCartService#DEFAULT_SESSION}:
+ * <pre>
+ * add P001 3
+ * &#64;ana update P002 0
+ * remove P001
+ * coupon SAVE10
+ * checkout
+ * clear
+ * </pre>
+ * Un comando que falla se informa con su número de línea y la ejecución sigue con el
+ * siguiente.
+ */
+public class BatchRunner {
+
+  private final ShoppingCartService service;
+  private final PrintStream errors;
+
+  /**
+   * Crea el ejecutor.
+   *
+   * @param service Servicio sobre el que se ejecutan los comandos
+   * @param errors  Stream donde se informan los comandos que fallan
+   */
+  public BatchRunner(ShoppingCartService service, PrintStream errors) {
+    this.service = service;
+    this.errors = errors;
+  }
+
+  /**
+   * Ejecuta todos los comandos del reader hasta el final.
+   *
+   * @throws IOException si no se puede leer el script
+   */
+  public BatchReport run(BufferedReader reader) throws IOException {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    long commands = 0;
+    long failed = 0;
+    long lineNumber = 0;
+    String[] tokens = new String[4];
+    long start = System.nanoTime();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      int count = tokenize(line, tokens);
+      if (count == 0 || tokens[0].charAt(0) == '#') {
+        continue;
+      }
+      commands++;
+      try {
+        String command = execute(tokens, count);
+        counts.merge(command, 1L, Long::sum);
+      } catch (InsufficientStockException | CheckoutException | IllegalArgumentException e) {
+        failed++;
+        errors.println("Línea " + lineNumber + ": " + e.getMessage());
+      }
+    }
+    return new BatchReport(commands, failed, counts, System.nanoTime() - start);
+  }
+
+  /**
+   * Ejecuta un comando ya separado en palabras.
+   *
+   * @return Nombre del comando ejecutado
+   */
+  private String execute(String[] tokens, int count)
+      throws InsufficientStockException, CheckoutException {
+    String session = ShoppingCartService.DEFAULT_SESSION;
+    int first = 0;
+    if (tokens[0].charAt(0) == '@') {
+      session = tokens[0].substring(1);
+      first = 1;
+    }
+    int arguments = count - first - 1;
+    if (arguments < 0) {
+      throw new IllegalArgumentException("Falta el comando");
+    }
+    String command = tokens[first];
+    switch (command) {
+      case "add" -> {
+        expectArguments(command, arguments, 2);
+        service.addToCart(session, tokens[first + 1], parseQuantity(tokens[first + 2]));
+      }
+      case "update" -> {
+        expectArguments(command, arguments, 2);
+        service.updateCartQuantity(session, tokens[first + 1], parseQuantity(tokens[first + 2]));
+      }
+      case "remove" -> {
+        expectArguments(command, arguments, 1);
+        if (!service.removeFromCart(session, tokens[first + 1])) {
+          throw new IllegalArgumentException("Producto no encontrado en el carrito");
+        }
+      }
+      case "coupon" -> {
+        expectArguments(command, arguments, 1);
+        service.applyDiscount(session, tokens[first + 1]);
+      }
+      case "checkout" -> {
+        expectArguments(command, arguments, 0);
+        service.checkout(session);
+      }
+      case "clear" -> {
+        expectArguments(command, arguments, 0);
+        service.clearCart(session);
+      }
+      default -> throw new IllegalArgumentException("Comando desconocido: " + command);
+    }
+    return command;
+  }
+
+  private static void expectArguments(String command, int actual, int expected) {
+    if (actual != expected) {
+      throw new IllegalArgumentException(
+          "El comando " + command + " espera " + expected + " argumentos");
+    }
+  }
+
+  private static int parseQuantity(String text) {
+    try {
+      return Integer.parseInt(text);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Cantidad inválida: " + text);
+    }
+  }
+
+  /**
+   * Separa la línea en palabras sin expresiones regulares.
+   *
+   * @return Cantidad de palabras; si hay más que lugares en el arreglo se devuelve una
+   *         más para que el comando falle por cantidad de argumentos
+   */
+  static int tokenize(String line, String[] tokens) {
+    int count = 0;
+    int length = line.length();
+    int i = 0;
+    while (i < length) {
+      while (i < length && Character.isWhitespace(line.charAt(i))) {
+        i++;
+      }
+      if (i == length) {
+        break;
+      }
+      int start = i;
+      while (i < length && !Character.isWhitespace(line.charAt(i))) {
+        i++;
+      }
+      if (count == tokens.length) {
+        return count + 1;
+      }
+      tokens[count++] = line.substring(start, i);
+    }
+    return count;
+  }
+}
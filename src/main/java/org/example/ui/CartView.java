@@ -1,54 +1,79 @@
 package org.example.ui;
 
 import org.example.model.CartItem;
+import org.example.model.Money;
 import org.example.model.Product;
 
+import java.io.PrintStream;
 import java.util.List;
 
 /**
  * Responsable de mostrar el contenido del carrito de compras.
+ *
+ * <p>Cada pantalla se arma en un {@link ScreenBuffer} y se escribe de una sola vez, así
+ * que mostrar un carrito de miles de líneas cuesta una escritura y no una por fila.
  */
 public class CartView {
 
+  private final PrintStream out;
+  private final ScreenBuffer screen = new ScreenBuffer();
+
+  public CartView() {
+    this(System.out);
+  }
+
+  /**
+   * Crea la vista escribiendo en el stream dado.
+   */
+  public CartView(PrintStream out) {
+    this.out = out;
+  }
+
   /**
    * Muestra el contenido completo del carrito.
+   *
+   * @param totalCents Total del carrito en centavos
    */
-  public void displayCart(List<CartItem> items, int itemCount, int totalProducts, double total) {
-    System.out.println("\n🛒 CONTENIDO DEL CARRITO");
-    System.out.println("═════════════════════════════════════════════════════════════");
+  public void displayCart(List<CartItem> items, int itemCount, int totalProducts,
+                          long totalCents) {
+    screen.newLine()
+        .line("🛒 CONTENIDO DEL CARRITO")
+        .line("═════════════════════════════════════════════════════════════");
 
     if (items.isEmpty()) {
-      System.out.println("El carrito está vacío.\n");
+      screen.line("El carrito está vacío.").newLine().flushTo(out);
       return;
     }
 
-    System.out.printf("%-6s │ %-30s │ %-8s │ %-10s │ %-10s%n",
-        "ID", "Producto", "Cantidad", "Precio", "Subtotal");
-    System.out.println("─────────────────────────────────────────────────────────────");
+    screen.left("ID", 6).append(" │ ").left("Producto", 30).append(" │ ")
+        .left("Cantidad", 8).append(" │ ").left("Precio", 10).append(" │ ")
+        .left("Subtotal", 10).newLine()
+        .line("─────────────────────────────────────────────────────────────");
 
     for (CartItem item : items) {
       Product product = item.getProduct();
-      System.out.printf("%-6s │ %-30s │ %-8d │ $%-9.2f │ $%-9.2f%n",
-          product.getId(),
-          product.getName(),
-          item.getQuantity(),
-          product.getPrice(),
-          item.getSubtotal()
-      );
+      screen.left(product.getId(), 6).append(" │ ")
+          .left(product.getName(), 30).append(" │ ")
+          .left(item.getQuantity(), 8).append(" │ $")
+          .money(product.getPriceCents(), 9).append(" │ $")
+          .money(item.getSubtotalCents(), 9).newLine();
     }
 
-    System.out.println("─────────────────────────────────────────────────────────────");
-    System.out.printf("Total de items: %d │ Total de productos: %d │ TOTAL: $%.2f%n",
-        itemCount, totalProducts, total);
-    System.out.println("═════════════════════════════════════════════════════════════\n");
+    screen.line("─────────────────────────────────────────────────────────────")
+        .append("Total de items: ").append(itemCount)
+        .append(" │ Total de productos: ").append(totalProducts)
+        .append(" │ TOTAL: $").money(totalCents, 0).newLine()
+        .line("═════════════════════════════════════════════════════════════")
+        .newLine()
+        .flushTo(out);
   }
 
   /**
-   * Muestra el resumen de descuento aplicado.
+   * Muestra el resumen de descuento aplicado, con los montos en centavos.
    */
-  public void displayDiscount(double original, double discount, double finalTotal) {
-    System.out.printf("\n✅ Descuento aplicado: $%.2f (%.1f%%)%n",
-        discount, (discount / original) * 100);
-    System.out.printf("💰 Total final: $%.2f%n\n", finalTotal);
+  public void displayDiscount(long originalCents, long discountCents, long finalCents) {
+    out.printf("\n✅ Descuento aplicado: $%s (%.1f%%)%n",
+        Money.format(discountCents), discountCents * 100.0 / originalCents);
+    out.printf("💰 Total final: $%s%n\n", Money.format(finalCents));
   }
-}
\ No newline at end of file
+}
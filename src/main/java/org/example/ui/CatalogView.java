@@ -1,42 +1,83 @@
 package org.example.ui;
 
 import org.example.model.Product;
+import org.example.service.ProductPage;
 
+import java.io.PrintStream;
 import java.util.List;
 
 /**
  * Responsable de mostrar el catálogo de productos.
+ *
+ * <p>Cada pantalla se arma en un {@link ScreenBuffer} y se escribe de una sola vez.
  */
 public class CatalogView {
 
+  private static final String TOP =
+      "╔════════════════════════════════════════════════════════════════╗";
+  private static final String SEPARATOR =
+      "╠════════════════════════════════════════════════════════════════╣";
+  private static final String BOTTOM =
+      "╚════════════════════════════════════════════════════════════════╝";
+
+  private final PrintStream out;
+  private final ScreenBuffer screen = new ScreenBuffer();
+
+  public CatalogView() {
+    this(System.out);
+  }
+
+  /**
+   * Crea la vista escribiendo en el stream dado.
+   */
+  public CatalogView(PrintStream out) {
+    this.out = out;
+  }
+
   /**
    * Muestra la lista de productos disponibles.
    */
   public void displayCatalog(List<Product> products) {
-    System.out.println("\n╔════════════════════════════════════════════════════════════════╗");
-    System.out.println("║                    CATÁLOGO DE PRODUCTOS                       ║");
-    System.out.println("╠════════════════════════════════════════════════════════════════╣");
-    System.out.printf("║ %-6s │ %-30s │ %-10s │ %-6s ║%n", "ID", "Nombre", "Precio", "Stock");
-    System.out.println("╠════════════════════════════════════════════════════════════════╣");
-
-    for (Product product : products) {
-      System.out.printf("║ %-6s │ %-30s │ $%-9.2f │ %-6d ║%n",
-          product.getId(),
-          product.getName(),
-          product.getPrice(),
-          product.getStock()
-      );
-    }
+    appendCatalog(products);
+    screen.flushTo(out);
+  }
 
-    System.out.println("╚════════════════════════════════════════════════════════════════╝\n");
+  /**
+   * Muestra una página del catálogo con su número y si quedan más productos.
+   */
+  public void displayCatalogPage(ProductPage page, int pageNumber) {
+    appendCatalog(page.getItems());
+    screen.append("Página ").append(pageNumber)
+        .line(page.hasNext() ? " (hay más productos)" : " (fin del catálogo)")
+        .newLine()
+        .flushTo(out);
   }
 
   /**
    * Muestra detalles de un producto específico.
    */
   public void displayProductDetails(Product product) {
-    System.out.println("Producto seleccionado: " + product.getName());
-    System.out.println("Precio: $" + product.getPrice());
-    System.out.println("Stock disponible: " + product.getStock());
+    out.println("Producto seleccionado: " + product.getName());
+    out.println("Precio: $" + product.getPrice());
+    out.println("Stock disponible: " + product.getStock());
+  }
+
+  private void appendCatalog(List<Product> products) {
+    screen.newLine()
+        .line(TOP)
+        .line("║                    CATÁLOGO DE PRODUCTOS                       ║")
+        .line(SEPARATOR)
+        .append("║ ").left("ID", 6).append(" │ ").left("Nombre", 30).append(" │ ")
+        .left("Precio", 10).append(" │ ").left("Stock", 6).line(" ║")
+        .line(SEPARATOR);
+
+    for (Product product : products) {
+      screen.append("║ ").left(product.getId(), 6).append(" │ ")
+          .left(product.getName(), 30).append(" │ $")
+          .money(product.getPriceCents(), 9).append(" │ ")
+          .left(product.getStock(), 6).line(" ║");
+    }
+
+    screen.line(BOTTOM).newLine();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package org.example.ui;
+
+/**
+ * Lectura validada de la entrada del usuario, con reintentos ante valores inválidos.
+ */
+public interface ConsoleInput {
+
+  /**
+   * Lee un número entero, repitiendo la pregunta hasta que sea válido.
+   */
+  int readInt(String prompt);
+
+  /**
+   * Lee un número decimal, repitiendo la pregunta hasta que sea válido.
+   */
+  double readDouble(String prompt);
+
+  /**
+   * Lee una línea de texto sin espacios al inicio ni al final.
+   */
+  String readString(String prompt);
+
+  /**
+   * Lee una confirmación (S/N).
+   */
+  default boolean readConfirmation(String prompt) {
+    String response = readString(prompt + " (S/N): ");
+    return response.equalsIgnoreCase("S");
+  }
+}
@@ -1,12 +1,18 @@
 package org.example.ui;
 
+import org.example.exception.CheckoutException;
 import org.example.exception.InsufficientStockException;
+import org.example.model.Money;
 import org.example.model.Product;
+import org.example.service.CheckoutReceipt;
 import org.example.service.DiscountService;
+import org.example.service.ProductPage;
 import org.example.service.ShoppingCart;
 import org.example.service.ShoppingCartService;
 
+import java.util.List;
 import java.util.Scanner;
+import java.util.function.Function;
 
 /**
  * Controlador principal de la interfaz de consola.
@@ -14,20 +20,40 @@ import java.util.Scanner;
  */
 public class ConsoleUI {
 
+  private static final int SEARCH_LIMIT = 20;
+  private static final int PAGE_SIZE = 20;
+
   private final ShoppingCartService service;
   private final MenuView menuView;
   private final CatalogView catalogView;
   private final CartView cartView;
-  private final InputReader inputReader;
+  private final ConsoleInput inputReader;
   private final DiscountService discountService;
 
   public ConsoleUI() {
-    this.service = new ShoppingCartService();
+    this(new ShoppingCartService());
+  }
+
+  /**
+   * Crea la interfaz sobre un servicio ya construido (por ejemplo, con otro catálogo).
+   * Sin terminal (entrada redirigida) lee con {@link FastInputReader}.
+   */
+  public ConsoleUI(ShoppingCartService service) {
+    this(service, System.console() == null
+        ? new FastInputReader(System.in, System.out)
+        : new InputReader(new Scanner(System.in)));
+  }
+
+  /**
+   * Crea la interfaz leyendo la entrada con el lector dado.
+   */
+  public ConsoleUI(ShoppingCartService service, ConsoleInput inputReader) {
+    this.service = service;
     this.menuView = new MenuView();
     this.catalogView = new CatalogView();
     this.cartView = new CartView();
-    this.inputReader = new InputReader(new Scanner(System.in));
-    this.discountService = new DiscountService();
+    this.inputReader = inputReader;
+    this.discountService = service.getDiscountService();
   }
 
   /**
@@ -35,6 +61,7 @@ public class ConsoleUI {
    */
   public void start() {
     menuView.showWelcome();
+    menuView.showInfo(service.getCatalogLoadReport().toString());
 
     boolean running = true;
 
@@ -55,13 +82,73 @@ public class ConsoleUI {
           menuView.showGoodbye();
           running = false;
         }
+        case 10 -> searchProducts();
+        case 11 -> filterCatalog();
         default -> menuView.showError("Opción inválida. Intente nuevamente.");
       }
     }
   }
 
   private void showCatalog() {
-    catalogView.displayCatalog(service.getAllProducts());
+    showPages(cursor -> service.listProducts(cursor, PAGE_SIZE));
+  }
+
+  private void filterCatalog() {
+    System.out.println("\n🔎 FILTRAR CATÁLOGO");
+    System.out.println("─────────────────────────────────");
+    System.out.println("1. Por rango de precio");
+    System.out.println("2. Por rango de stock");
+
+    int option = inputReader.readInt("Seleccione una opción: ");
+    switch (option) {
+      case 1 -> {
+        double minPrice = inputReader.readDouble("Precio mínimo: ");
+        double maxPrice = inputReader.readDouble("Precio máximo: ");
+        boolean inStockOnly = inputReader.readConfirmation("¿Sólo productos con stock?");
+        showPages(cursor ->
+            service.findProductsByPrice(minPrice, maxPrice, inStockOnly, PAGE_SIZE, cursor));
+      }
+      case 2 -> {
+        int minStock = inputReader.readInt("Stock mínimo: ");
+        int maxStock = inputReader.readInt("Stock máximo: ");
+        showPages(cursor -> service.findProductsByStock(minStock, maxStock, PAGE_SIZE, cursor));
+      }
+      default -> menuView.showError("Opción inválida.");
+    }
+  }
+
+  private void showPages(Function<String, ProductPage> pages) {
+    String cursor = null;
+    int pageNumber = 1;
+    do {
+      ProductPage page;
+      try {
+        page = pages.apply(cursor);
+      } catch (IllegalArgumentException e) {
+        menuView.showError("Error: " + e.getMessage());
+        return;
+      }
+      if (page.getItems().isEmpty()) {
+        menuView.showInfo("No hay productos para mostrar.");
+        return;
+      }
+      catalogView.displayCatalogPage(page, pageNumber++);
+      cursor = page.getNextCursor();
+    } while (cursor != null && inputReader.readConfirmation("¿Ver más productos?"));
+  }
+
+  private void searchProducts() {
+    System.out.println("\n🔍 BUSCAR PRODUCTOS");
+    System.out.println("─────────────────────────────────");
+
+    String query = inputReader.readString("Ingrese parte del nombre: ");
+    List<Product> results = service.searchProducts(query, SEARCH_LIMIT);
+
+    if (results.isEmpty()) {
+      menuView.showInfo("No se encontraron productos.");
+      return;
+    }
+    catalogView.displayCatalog(results);
   }
 
   private void addProductToCart() {
@@ -95,7 +182,7 @@ public class ConsoleUI {
         cart.getItems(),
         cart.getItemCount(),
         cart.getTotalProducts(),
-        cart.getTotal()
+        cart.getTotalCents()
     );
   }
 
@@ -115,7 +202,7 @@ public class ConsoleUI {
     int newQuantity = inputReader.readInt("Ingrese la nueva cantidad (0 para eliminar): ");
 
     try {
-      cart.updateQuantity(productId, newQuantity);
+      service.updateCartQuantity(productId, newQuantity);
       menuView.showSuccess("Cantidad actualizada exitosamente.");
     } catch (InsufficientStockException e) {
       menuView.showError(e.getMessage());
@@ -138,7 +225,7 @@ public class ConsoleUI {
 
     String productId = inputReader.readString("Ingrese el ID del producto a remover: ").toUpperCase();
 
-    if (cart.removeProduct(productId)) {
+    if (service.removeFromCart(productId)) {
       menuView.showSuccess("Producto removido exitosamente.");
     } else {
       menuView.showError("Producto no encontrado en el carrito.");
@@ -152,27 +239,35 @@ public class ConsoleUI {
       return;
     }
 
-    double originalTotal = cart.getTotal();
+    long originalTotal = cart.getTotalCents();
     menuView.showDiscountMenu(originalTotal);
 
     int option = inputReader.readInt("Seleccione tipo de descuento: ");
 
     try {
-      double finalTotal = switch (option) {
+      long finalTotal = switch (option) {
         case 1 -> {
           double percent = inputReader.readDouble("Ingrese el porcentaje (0-100): ");
-          yield discountService.applyPercentageDiscount(originalTotal, percent);
+          if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException(
+                "El porcentaje de descuento debe estar entre 0 y 100");
+          }
+          yield discountService.applyPercentageDiscountCents(
+              originalTotal, Money.basisPoints(percent));
         }
         case 2 -> {
           double amount = inputReader.readDouble("Ingrese el monto de descuento: ");
-          yield discountService.applyFixedDiscount(originalTotal, amount);
+          if (amount < 0) {
+            throw new IllegalArgumentException("El monto de descuento no puede ser negativo");
+          }
+          yield discountService.applyFixedDiscountCents(originalTotal, Money.fromDouble(amount));
         }
-        case 3 -> discountService.applyVolumeDiscount(originalTotal);
+        case 3 -> discountService.applyVolumeDiscountCents(originalTotal);
         case 4 -> {
           String coupon = inputReader.readString(
-              "Ingrese el código del cupón (SAVE10, SAVE20, FLAT50): "
+              "Ingrese el código del cupón: "
           );
-          yield discountService.applyCoupon(originalTotal, coupon);
+          yield discountService.applyCouponCents(originalTotal, coupon);
         }
         default -> {
           menuView.showError("Opción inválida.");
@@ -180,7 +275,7 @@ public class ConsoleUI {
         }
       };
 
-      double discount = originalTotal - finalTotal;
+      long discount = originalTotal - finalTotal;
       if (discount > 0) {
         cartView.displayDiscount(originalTotal, discount, finalTotal);
       }
@@ -202,10 +297,17 @@ public class ConsoleUI {
     viewCart();
 
     if (inputReader.readConfirmation("¿Confirmar compra?")) {
-      System.out.printf("\n✅ ¡Compra realizada exitosamente!%n");
-      System.out.printf("Total pagado: $%.2f%n", cart.getTotal());
-      System.out.println("Gracias por su compra. 🎉\n");
-      cart.clear();
+      try {
+        CheckoutReceipt receipt = service.checkout();
+        System.out.printf("\n✅ ¡Compra realizada exitosamente!%n");
+        System.out.println("Total pagado: $" + Money.format(receipt.getTotalCents()));
+        System.out.println("Gracias por su compra. 🎉\n");
+      } catch (CheckoutException e) {
+        menuView.showError(e.getMessage());
+        for (InsufficientStockException failure : e.getFailures()) {
+          System.out.println("   • " + failure.getMessage());
+        }
+      }
     } else {
       menuView.showInfo("Compra cancelada.");
     }
@@ -219,7 +321,7 @@ public class ConsoleUI {
     }
 
     if (inputReader.readConfirmation("¿Está seguro de vaciar el carrito?")) {
-      cart.clear();
+      service.clearCart();
       menuView.showSuccess("Carrito vaciado exitosamente.");
     } else {
       menuView.showInfo("Operación cancelada.");
@@ -0,0 +1,246 @@
+package org.example.ui;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Lector de entrada para consola redirigida o de gran volumen.
+ *
+ * <p>Lee bytes en un buffer propio y busca los saltos de línea a mano, sin las expresiones
+ * regulares de {@link java.util.Scanner}. Los números con la forma habitual ({@code 42},
+ * {@code -7}, {@code 12.50}) se interpretan directamente sobre el buffer sin crear un
+ * {@link String}; cualquier otra forma se delega en {@link Integer#parseInt(String)} o
+ * {@link Double#parseDouble(String)}, así que acepta y rechaza exactamente lo mismo que
+ * {@link InputReader}, con los mismos mensajes y reintentos.
+ *
+ * <p>Los textos se decodifican como UTF-8. Las preguntas se escriben en la salida y sólo
+ * se vacía antes de bloquearse esperando más entrada.
+ */
+public class FastInputReader implements ConsoleInput {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final String INVALID_NUMBER = "❌ Por favor ingrese un número válido.";
+  // Dígitos que entran en un int sin desbordar
+  private static final int MAX_FAST_INT_DIGITS = 9;
+  // Mayor mantisa que un double representa exactamente
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  // Potencias de 10 exactas en double: dividir por ellas redondea igual que parseDouble
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private final InputStream in;
+  private final PrintStream out;
+  private byte[] buffer;
+  private int position;
+  private int limit;
+  // Última línea leída, sin espacios al inicio ni al final
+  private int lineStart;
+  private int lineEnd;
+
+  public FastInputReader(InputStream in, PrintStream out) {
+    this(in, out, BUFFER_SIZE);
+  }
+
+  FastInputReader(InputStream in, PrintStream out, int bufferSize) {
+    this.in = in;
+    this.out = out;
+    this.buffer = new byte[bufferSize];
+  }
+
+  /**
+   * Lee un número entero con validación.
+   */
+  @Override
+  public int readInt(String prompt) {
+    while (true) {
+      out.print(prompt);
+      nextLine();
+      long value = parseSimpleInt();
+      if (value != Long.MIN_VALUE) {
+        return (int) value;
+      }
+      try {
+        return Integer.parseInt(lineText());
+      } catch (NumberFormatException e) {
+        out.println(INVALID_NUMBER);
+      }
+    }
+  }
+
+  /**
+   * Lee un número decimal con validación.
+   */
+  @Override
+  public double readDouble(String prompt) {
+    while (true) {
+      out.print(prompt);
+      nextLine();
+      double value = parseSimpleDecimal();
+      if (!Double.isNaN(value)) {
+        return value;
+      }
+      try {
+        return Double.parseDouble(lineText());
+      } catch (NumberFormatException e) {
+        out.println(INVALID_NUMBER);
+      }
+    }
+  }
+
+  /**
+   * Lee una cadena de texto.
+   */
+  @Override
+  public String readString(String prompt) {
+    out.print(prompt);
+    nextLine();
+    return lineText();
+  }
+
+  /**
+   * Interpreta la línea si es {@code [+-]dígitos} con hasta 9 dígitos.
+   *
+   * @return El valor, o {@link Long#MIN_VALUE} si tiene otra forma
+   */
+  private long parseSimpleInt() {
+    int i = lineStart;
+    boolean negative = false;
+    if (i < lineEnd && (buffer[i] == '-' || buffer[i] == '+')) {
+      negative = buffer[i] == '-';
+      i++;
+    }
+    int digits = lineEnd - i;
+    if (digits == 0 || digits > MAX_FAST_INT_DIGITS) {
+      return Long.MIN_VALUE;
+    }
+    long value = 0;
+    for (; i < lineEnd; i++) {
+      int digit = buffer[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return Long.MIN_VALUE;
+      }
+      value = value * 10 + digit;
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Interpreta la línea si es {@code [+-]dígitos[.dígitos]} y el resultado es exacto.
+   *
+   * @return El valor, o NaN si tiene otra forma
+   */
+  private double parseSimpleDecimal() {
+    int i = lineStart;
+    boolean negative = false;
+    if (i < lineEnd && (buffer[i] == '-' || buffer[i] == '+')) {
+      negative = buffer[i] == '-';
+      i++;
+    }
+    long mantissa = 0;
+    int digits = 0;
+    int fractionDigits = -1;
+    for (; i < lineEnd; i++) {
+      byte b = buffer[i];
+      if (b == '.' && fractionDigits < 0) {
+        fractionDigits = 0;
+        continue;
+      }
+      int digit = b - '0';
+      if (digit < 0 || digit > 9) {
+        return Double.NaN;
+      }
+      mantissa = mantissa * 10 + digit;
+      if (mantissa > MAX_EXACT_MANTISSA) {
+        return Double.NaN;
+      }
+      digits++;
+      if (fractionDigits >= 0) {
+        fractionDigits++;
+      }
+    }
+    if (digits == 0 || fractionDigits >= POWERS_OF_TEN.length) {
+      return Double.NaN;
+    }
+    double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+    return negative ? -value : value;
+  }
+
+  private String lineText() {
+    return new String(buffer, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Avanza a la siguiente línea y deja sus límites, sin espacios (igual que
+   * {@link String#trim()}), en {@link #lineStart} y {@link #lineEnd}.
+   *
+   * @throws NoSuchElementException si la entrada terminó
+   */
+  private void nextLine() {
+    int end = -1;
+    int from = position;
+    while (end < 0) {
+      for (int i = from; i < limit; i++) {
+        if (buffer[i] == '\n') {
+          end = i;
+          break;
+        }
+      }
+      if (end < 0) {
+        int scanned = limit - position;
+        if (!fill()) {
+          if (position == limit) {
+            throw new NoSuchElementException("No hay más líneas de entrada");
+          }
+          end = limit;
+          break;
+        }
+        from = position + scanned;
+      }
+    }
+    int start = position;
+    position = end < limit ? end + 1 : limit;
+    while (start < end && (buffer[start] & 0xFF) <= ' ') {
+      start++;
+    }
+    while (end > start && (buffer[end - 1] & 0xFF) <= ' ') {
+      end--;
+    }
+    lineStart = start;
+    lineEnd = end;
+  }
+
+  /**
+   * Mueve lo pendiente al inicio del buffer (agrandándolo si está lleno) y lee más bytes.
+   *
+   * @return false si la entrada terminó
+   */
+  private boolean fill() {
+    if (position > 0) {
+      System.arraycopy(buffer, position, buffer, 0, limit - position);
+      limit -= position;
+      position = 0;
+    }
+    if (limit == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    // La pregunta tiene que verse antes de esperar la respuesta
+    out.flush();
+    try {
+      int read = in.read(buffer, limit, buffer.length - limit);
+      if (read < 0) {
+        return false;
+      }
+      limit += read;
+      return true;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error al leer la entrada", e);
+    }
+  }
+}
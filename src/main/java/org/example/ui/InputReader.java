@@ -5,8 +5,11 @@ import java.util.Scanner;
 /**
  * Responsable de leer y validar entrada del usuario desde la consola.
  * Maneja errores de formato y reintentos.
+ *
+ * <p>Usa {@link Scanner}; para entrada redirigida o de gran volumen ver
+ * {@link FastInputReader}.
  */
-public class InputReader {
+public class InputReader implements ConsoleInput {
   private final Scanner scanner;
 
   public InputReader(Scanner scanner) {
@@ -16,6 +19,7 @@ public class InputReader {
   /**
    * Lee un número entero con validación.
    */
+  @Override
   public int readInt(String prompt) {
     while (true) {
       try {
@@ -30,6 +34,7 @@ public class InputReader {
   /**
    * Lee un número decimal con validación.
    */
+  @Override
   public double readDouble(String prompt) {
     while (true) {
       try {
@@ -44,6 +49,7 @@ public class InputReader {
   /**
    * Lee una cadena de texto.
    */
+  @Override
   public String readString(String prompt) {
     System.out.print(prompt);
     return scanner.nextLine().trim();
@@ -52,6 +58,7 @@ public class InputReader {
   /**
    * Lee una confirmación (S/N).
    */
+  @Override
   public boolean readConfirmation(String prompt) {
     String response = readString(prompt + " (S/N): ");
     return response.equalsIgnoreCase("S");
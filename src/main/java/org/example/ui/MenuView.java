@@ -1,5 +1,7 @@
 package org.example.ui;
 
+import org.example.model.Money;
+
 /**
  * Responsable de mostrar los diferentes menús de la aplicación.
  */
@@ -31,16 +33,18 @@ public class MenuView {
     System.out.println("│ 7. 💳 Finalizar compra              │");
     System.out.println("│ 8. 🗑️  Vaciar carrito                │");
     System.out.println("│ 9. 🚪 Salir                         │");
+    System.out.println("│ 10. 🔍 Buscar productos             │");
+    System.out.println("│ 11. 🔎 Filtrar catálogo             │");
     System.out.println("└─────────────────────────────────────┘");
   }
 
   /**
-   * Muestra el menú de descuentos.
+   * Muestra el menú de descuentos con el total actual en centavos.
    */
-  public void showDiscountMenu(double currentTotal) {
+  public void showDiscountMenu(long currentTotalCents) {
     System.out.println("\n🎫 APLICAR DESCUENTO");
     System.out.println("════════════════════════════════════");
-    System.out.printf("Total actual: $%.2f%n", currentTotal);
+    System.out.println("Total actual: $" + Money.format(currentTotalCents));
     System.out.println("────────────────────────────────────");
     System.out.println("1. Descuento por porcentaje");
     System.out.println("2. Descuento fijo");
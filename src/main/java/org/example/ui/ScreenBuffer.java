@@ -0,0 +1,101 @@
+package org.example.ui;
+
+import org.example.model.Money;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Buffer reutilizable donde las vistas arman una pantalla completa antes de escribirla.
+ *
+ * <p>Las columnas se alinean rellenando con espacios de un arreglo preparado, sin
+ * interpretar cadenas de formato, y la pantalla se escribe con un único {@code print}: el
+ * stream se sincroniza y vacía una vez por pantalla en lugar de una vez por fila.
+ */
+final class ScreenBuffer {
+
+  private static final char[] SPACES = new char[256];
+
+  static {
+    Arrays.fill(SPACES, ' ');
+  }
+
+  private final StringBuilder text = new StringBuilder(4096);
+
+  ScreenBuffer append(String value) {
+    text.append(value);
+    return this;
+  }
+
+  ScreenBuffer append(char value) {
+    text.append(value);
+    return this;
+  }
+
+  ScreenBuffer append(long value) {
+    text.append(value);
+    return this;
+  }
+
+  ScreenBuffer line(String value) {
+    text.append(value).append(System.lineSeparator());
+    return this;
+  }
+
+  ScreenBuffer newLine() {
+    text.append(System.lineSeparator());
+    return this;
+  }
+
+  /**
+   * Agrega un texto alineado a la izquierda en una columna del ancho dado (como
+   * {@code %-Ns}: un texto más largo no se corta).
+   */
+  ScreenBuffer left(String value, int width) {
+    int start = text.length();
+    text.append(value);
+    return padFrom(start, width);
+  }
+
+  /**
+   * Agrega un entero alineado a la izquierda (como {@code %-Nd}).
+   */
+  ScreenBuffer left(long value, int width) {
+    int start = text.length();
+    text.append(value);
+    return padFrom(start, width);
+  }
+
+  /**
+   * Agrega un monto en centavos con dos decimales alineado a la izquierda (como
+   * {@code %-N.2f}).
+   */
+  ScreenBuffer money(long cents, int width) {
+    int start = text.length();
+    Money.appendTo(text, cents);
+    return padFrom(start, width);
+  }
+
+  /**
+   * Escribe el contenido en el stream con una sola llamada y vacía el buffer.
+   */
+  void flushTo(PrintStream out) {
+    out.print(text);
+    out.flush();
+    text.setLength(0);
+    if (text.capacity() > 1 << 20) {
+      // No retener indefinidamente el buffer de una pantalla excepcional
+      text.trimToSize();
+    }
+  }
+
+  private ScreenBuffer padFrom(int start, int width) {
+    int missing = width - (text.length() - start);
+    while (missing > 0) {
+      int chunk = Math.min(missing, SPACES.length);
+      text.append(SPACES, 0, chunk);
+      missing -= chunk;
+    }
+    return this;
+  }
+}
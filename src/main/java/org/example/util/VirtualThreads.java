@@ -0,0 +1,60 @@
+package org.example.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ejecutores con un hilo virtual por tarea cuando la JVM los soporta.
+ *
+ * <p>El proyecto compila para Java 17, donde los hilos virtuales no existen, así que el
+ * ejecutor se busca por reflexión. En JVMs sin hilos virtuales se usa un hilo de
+ * plataforma (daemon) por tarea, que funciona igual pero cuesta más memoria por tarea
+ * bloqueada.
+ */
+public final class VirtualThreads {
+
+  private static final Method NEW_VIRTUAL_EXECUTOR = findVirtualExecutorFactory();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * Indica si la JVM actual tiene hilos virtuales.
+   */
+  public static boolean isAvailable() {
+    return NEW_VIRTUAL_EXECUTOR != null;
+  }
+
+  /**
+   * Crea un ejecutor que inicia un hilo nuevo por tarea: virtual si está disponible, de
+   * plataforma si no.
+   *
+   * @param namePrefix Prefijo del nombre de los hilos de plataforma
+   */
+  public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+    if (NEW_VIRTUAL_EXECUTOR != null) {
+      try {
+        return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke(null);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        // Sigue con hilos de plataforma
+      }
+    }
+    AtomicInteger counter = new AtomicInteger();
+    return Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + counter.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private static Method findVirtualExecutorFactory() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
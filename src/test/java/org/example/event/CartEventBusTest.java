@@ -0,0 +1,161 @@
+package org.example.event;
+
+import org.example.service.ShoppingCartService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CartEventBus")
+class CartEventBusTest {
+
+    @Test
+    @DisplayName("Varios productores, dos consumidores y todas las estrategias de espera")
+    void testMultiProducerAllStrategies() throws InterruptedException {
+        for (WaitStrategy strategy : List.of(WaitStrategy.busySpin(), WaitStrategy.yielding(),
+                WaitStrategy.sleeping(), WaitStrategy.blocking())) {
+            // Anillo chico para forzar que los productores esperen a los consumidores
+            CartEventBus bus = new CartEventBus(64, strategy);
+            int producers = 4;
+            int perProducer = 2_000;
+            long[][] lastSeen = new long[2][producers];
+            AtomicLong sum = new AtomicLong();
+            AtomicInteger outOfOrder = new AtomicInteger();
+            for (int c = 0; c < 2; c++) {
+                long[] last = lastSeen[c];
+                bus.subscribe((event, sequence, endOfBatch) -> {
+                    int producer = Integer.parseInt(event.getSessionId());
+                    if (event.getQuantity() <= last[producer]) {
+                        outOfOrder.incrementAndGet();
+                    }
+                    last[producer] = event.getQuantity();
+                    sum.addAndGet(event.getQuantity());
+                });
+            }
+            bus.start();
+
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                String session = String.valueOf(p);
+                Thread thread = new Thread(() -> {
+                    for (int i = 1; i <= perProducer; i++) {
+                        bus.publish(CartEvent.Type.ITEM_ADDED, session, "P001", i, 0);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            bus.close();
+
+            long expected = 2L * producers * perProducer * (perProducer + 1) / 2;
+            assertEquals(expected, sum.get(), strategy.getClass().getSimpleName());
+            assertEquals(0, outOfOrder.get());
+        }
+    }
+
+    @Test
+    @DisplayName("Los lotes terminan con endOfBatch y los errores del handler se cuentan")
+    void testBatchesAndHandlerErrors() throws InterruptedException {
+        CartEventBus bus = new CartEventBus(1024, WaitStrategy.blocking());
+        AtomicInteger events = new AtomicInteger();
+        AtomicInteger batches = new AtomicInteger();
+        bus.subscribe((event, sequence, endOfBatch) -> {
+            events.incrementAndGet();
+            if (endOfBatch) {
+                batches.incrementAndGet();
+            }
+            if (event.getQuantity() == 3) {
+                throw new IllegalStateException("falla");
+            }
+        });
+        bus.start();
+        for (int i = 1; i <= 500; i++) {
+            bus.publish(CartEvent.Type.QUANTITY_CHANGED, "s", "P001", i, 0);
+        }
+        assertTrue(bus.awaitConsumed(5_000));
+        bus.close();
+
+        assertEquals(500, events.get());
+        assertTrue(batches.get() >= 1 && batches.get() <= 500);
+        assertEquals(1, bus.getHandlerErrorCount());
+        assertEquals(-1, bus.publish(CartEvent.Type.CLEARED, "s", null, 0, 0));
+    }
+
+    @Test
+    @DisplayName("tryPublish descarta con el anillo lleno y un cierre no deja huecos")
+    void testTryPublishAndCloseWhileFull() throws InterruptedException {
+        CartEventBus bus = new CartEventBus(2, WaitStrategy.blocking());
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger events = new AtomicInteger();
+        bus.subscribe((event, sequence, endOfBatch) -> {
+            events.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bus.start();
+        bus.publish(CartEvent.Type.ITEM_ADDED, "s", "P001", 1, 0);
+        bus.publish(CartEvent.Type.ITEM_ADDED, "s", "P001", 2, 0);
+
+        Thread producer = new Thread(() ->
+            bus.publish(CartEvent.Type.ITEM_ADDED, "s", "P001", 3, 0));
+        producer.start();
+        while (bus.getLastSequence() < 2) {
+            Thread.yield();
+        }
+        assertEquals(-1, bus.tryPublish(CartEvent.Type.ITEM_ADDED, "s", "P001", 4, 0));
+        assertEquals(1, bus.getDroppedCount());
+
+        Thread closer = new Thread(bus::close);
+        closer.start();
+        producer.join();
+        release.countDown();
+        closer.join();
+
+        assertTrue(bus.awaitConsumed(1_000));
+        assertEquals(2, events.get());
+    }
+
+    @Test
+    @DisplayName("El servicio publica los cambios de los carritos en orden")
+    void testServicePublishesEvents() throws Exception {
+        CartEventBus bus = new CartEventBus(1024, WaitStrategy.sleeping());
+        List<String> seen = new ArrayList<>();
+        bus.subscribe((event, sequence, endOfBatch) -> seen.add(event.getType() + ":"
+            + event.getProductId() + ":" + event.getQuantity() + ":" + event.getAmountCents()));
+        bus.start();
+        ShoppingCartService service = new ShoppingCartService();
+        service.setEventBus(bus);
+
+        service.addToCart("ana", "P002", 2);
+        service.updateCartQuantity("ana", "P002", 3);
+        service.addToCart("ana", "P003", 1);
+        service.removeFromCart("ana", "P003");
+        service.checkout("ana");
+        service.addToCart("ana", "P001", 1);
+        service.clearCart("ana");
+        service.clearCart("ana");
+        bus.close();
+        service.shutdown();
+
+        assertEquals(List.of(
+            "ITEM_ADDED:P002:2:0",
+            "QUANTITY_CHANGED:P002:3:0",
+            "ITEM_ADDED:P003:1:0",
+            "ITEM_REMOVED:P003:0:0",
+            "CHECKED_OUT:null:3:7650",
+            "ITEM_ADDED:P001:1:0",
+            "CLEARED:null:0:0"), seen);
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.http;
+
+import org.example.model.Product;
+import org.example.service.ShoppingCartService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CartHttpServer")
+class CartHttpServerTest {
+
+    private final ShoppingCartService service = new ShoppingCartService();
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .build();
+    private CartHttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new CartHttpServer(service, new InetSocketAddress("localhost", 0));
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        service.shutdown();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body)
+            throws IOException, InterruptedException {
+        return client.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Recorre catálogo, carrito, descuento y checkout")
+    void testShoppingFlow() throws IOException, InterruptedException {
+        HttpResponse<String> page = send("GET", "/products?limit=2", null);
+        assertEquals(200, page.statusCode());
+        assertTrue(page.headers().firstValue("Content-Type").orElse("")
+            .startsWith("application/json"));
+        assertTrue(page.body().startsWith(
+            "{\"items\":[{\"id\":\"P001\",\"name\":\"Laptop Dell\",\"price\":1200.00"));
+        assertTrue(page.body().endsWith("\"nextCursor\":\"P002\"}"));
+        assertTrue(send("GET", "/products?q=mouse", null).body().contains("\"id\":\"P002\""));
+        assertEquals(404, send("GET", "/products/NOPE", null).statusCode());
+
+        HttpResponse<String> added =
+            send("POST", "/carts/ana/items", "{\"productId\": \"P002\", \"quantity\": 4}");
+        assertEquals(200, added.statusCode());
+        assertTrue(added.body().contains("\"quantity\":4,\"subtotal\":102.00"));
+        assertEquals(16, service.getProduct("P002").getStock());
+
+        HttpResponse<String> updated = send("PUT", "/carts/ana/items/P002", "{\"quantity\":2}");
+        assertTrue(updated.body().endsWith("\"totalProducts\":2,\"total\":51.00}"));
+        send("POST", "/carts/ana/items", "{\"productId\":\"P003\",\"quantity\":1}");
+        assertEquals(200, send("DELETE", "/carts/ana/items/P003", null).statusCode());
+        assertEquals(404, send("DELETE", "/carts/ana/items/P003", null).statusCode());
+
+        assertEquals("{\"coupon\":\"FLAT50\",\"total\":51.00,\"discountedTotal\":1.00}",
+            send("POST", "/carts/ana/discount", "{\"coupon\":\"FLAT50\"}").body());
+
+        HttpResponse<String> receipt = send("POST", "/carts/ana/checkout", null);
+        assertEquals(200, receipt.statusCode());
+        assertTrue(receipt.body().endsWith("\"totalProducts\":2,\"total\":51.00}"));
+        assertEquals(18, service.getProduct("P002").getStock());
+        assertEquals(0, service.getCartItemCount("ana"));
+
+        assertEquals(204, send("DELETE", "/carts/ana", null).statusCode());
+        assertEquals(404, send("DELETE", "/carts/ana", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Responde errores con el código de estado adecuado")
+    void testErrors() throws IOException, InterruptedException {
+        HttpResponse<String> noStock =
+            send("POST", "/carts/ana/items", "{\"productId\":\"P001\",\"quantity\":50}");
+        assertEquals(409, noStock.statusCode());
+        assertTrue(noStock.body().startsWith("{\"error\":"));
+        assertEquals(400, send("POST", "/carts/ana/items", "{\"productId\":\"P001\"").statusCode());
+        assertEquals(400, send("POST", "/carts/ana/items",
+            "{\"productId\":\"P001\",\"quantity\":\"dos\"}").statusCode());
+        assertEquals(400,
+            send("POST", "/carts/ana/discount", "{\"coupon\":\"NOEXISTE\"}").statusCode());
+        assertEquals(404, send("POST", "/carts/ana/items",
+            "{\"productId\":\"NOPE\",\"quantity\":1}").statusCode());
+        assertEquals(405, send("POST", "/products", "{}").statusCode());
+        assertEquals(404, send("GET", "/orders", null).statusCode());
+        assertEquals(404, send("GET", "/carts/nadie", null).statusCode());
+        assertEquals(404, send("PUT", "/carts/nadie/items/P001", "{\"quantity\":1}").statusCode());
+        assertEquals(404, send("DELETE", "/carts/nadie/items/P001", null).statusCode());
+        assertEquals(404,
+            send("POST", "/carts/nadie/discount", "{\"coupon\":\"SAVE10\"}").statusCode());
+        assertEquals(404, send("POST", "/carts/nadie/checkout", null).statusCode());
+        assertEquals(1, service.getActiveSessionCount());
+        assertEquals(400, send("GET", "/products?limit=0", null).statusCode());
+    }
+
+    @Test
+    @DisplayName("Sesiones concurrentes no venden más que el stock")
+    void testConcurrentSessionsDoNotOversell() {
+        service.addToCatalog(new Product("H001", "Edición limitada", 99.0, 100));
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            responses.add(client.sendAsync(
+                request("POST", "/carts/s" + i + "/items",
+                    "{\"productId\":\"H001\",\"quantity\":1}"),
+                HttpResponse.BodyHandlers.ofString()));
+        }
+
+        int accepted = 0;
+        int conflicts = 0;
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            int status = response.join().statusCode();
+            if (status == 200) {
+                accepted++;
+            } else if (status == 409) {
+                conflicts++;
+            }
+        }
+
+        assertEquals(100, accepted);
+        assertEquals(200, conflicts);
+        assertEquals(0, service.getProduct("H001").getStock());
+    }
+
+    @Test
+    @DisplayName("Lee objetos JSON planos y rechaza los inválidos")
+    void testJsonReader() {
+        Map<String, String> values = JsonReader.parseObject(
+            " {\"a\": \"x\\\"y\\u00e9\", \"n\": -1.5e3, \"b\": true, \"z\": null} ");
+
+        assertEquals("x\"yé", values.get("a"));
+        assertEquals("-1.5e3", values.get("n"));
+        assertEquals("true", values.get("b"));
+        assertTrue(values.containsKey("z"));
+        assertNull(values.get("z"));
+        assertEquals(Map.of(), JsonReader.parseObject("{}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parseObject("{\"a\":01}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parseObject("{\"a\":1} x"));
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parseObject("{\"a\":{}}"));
+    }
+}
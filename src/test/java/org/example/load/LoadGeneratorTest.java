@@ -0,0 +1,67 @@
+package org.example.load;
+
+import org.example.model.Product;
+import org.example.service.ShoppingCartService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de LoadGenerator")
+class LoadGeneratorTest {
+
+    private final ShoppingCartService service = new ShoppingCartService();
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Interpreta la mezcla y elige sólo operaciones con peso")
+    void testParseMix() {
+        LoadMix mix = LoadMix.parse("browse=3, CHECKOUT=1,remove=0");
+        SplittableRandom random = new SplittableRandom(1);
+        int browse = 0;
+        for (int i = 0; i < 4_000; i++) {
+            LoadOperation operation = mix.pick(random);
+            assertTrue(operation == LoadOperation.BROWSE || operation == LoadOperation.CHECKOUT);
+            if (operation == LoadOperation.BROWSE) {
+                browse++;
+            }
+        }
+
+        assertEquals(3_000, browse, 150);
+        assertEquals(0, mix.getWeight(LoadOperation.REMOVE));
+        assertEquals("browse=3,checkout=1", mix.toString());
+        assertThrows(IllegalArgumentException.class, () -> LoadMix.parse("pay=1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadMix.parse("add=-1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadMix.parse("add=0"));
+    }
+
+    @Test
+    @DisplayName("Compradores concurrentes no sobrevenden ni pierden stock")
+    void testConcurrentShoppersKeepStock() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            service.addToCatalog(new Product(String.format("L%03d", i), "Producto " + i, 10.0, 30));
+        }
+        LoadGenerator generator = new LoadGenerator(service, 16,
+            LoadMix.parse("browse=2,add=5,update=2,remove=1,discount=1,checkout=3"));
+
+        LoadReport report = generator.run(300);
+
+        assertEquals(16 * 300, report.getTotalOperations());
+        assertEquals(0, report.getTotalErrors());
+        assertEquals(0, report.getOversoldUnits());
+        assertEquals(0, report.getLostUnits());
+        LoadReport.OperationResult checkouts = report.getOperations().get(LoadOperation.CHECKOUT);
+        assertTrue(checkouts.getCount() > checkouts.getRejected());
+        assertTrue(checkouts.getLatencies().getValueAt(0.999)
+            >= checkouts.getLatencies().getValueAt(0.5));
+        assertEquals(0, service.getActiveSessionCount());
+        assertTrue(report.toString().contains("Sobreventa: 0 unidades"));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.metrics;
+
+import org.example.exception.InsufficientStockException;
+import org.example.metrics.CartMetrics.Operation;
+import org.example.service.ShoppingCartService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CartMetrics")
+class CartMetricsTest {
+
+    @Test
+    @DisplayName("Percentiles con error relativo acotado")
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(10_000, snapshot.getCount());
+        assertEquals(10_000_000, snapshot.getMax());
+        assertEquals(5_000_500, snapshot.getMean(), 1);
+        assertEquals(5_000_000, snapshot.getValueAt(0.5), 5_000_000 * 0.125);
+        assertEquals(9_900_000, snapshot.getValueAt(0.99), 9_900_000 * 0.125);
+        assertEquals(10_000_000, snapshot.getValueAt(1.0));
+        assertEquals(0, new LatencyHistogram().snapshot().getValueAt(0.99));
+    }
+
+    @Test
+    @DisplayName("Registros concurrentes en varias franjas no se pierden")
+    void testConcurrentRecordsAcrossStripes() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        int threads = 8;
+        int perThread = 20_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    histogram.record(i % 2 == 0 ? 1_000 : 2_000);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals((long) threads * perThread, snapshot.getCount());
+        assertEquals(1_500, snapshot.getMean(), 0.001);
+        assertEquals(2_000, snapshot.getValueAt(1.0));
+        assertTrue(snapshot.getValueAt(0.5) < 1_200);
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(1, LatencyHistogram.stripesFor(1));
+        assertEquals(4, LatencyHistogram.stripesFor(3));
+        assertEquals(LatencyHistogram.MAX_STRIPES, LatencyHistogram.stripesFor(64));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(3));
+    }
+
+    @Test
+    @DisplayName("Cada valor cae en un bucket que lo contiene")
+    void testBuckets() {
+        long[] values = {0, 1, 15, 16, 17, 100, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(bucket < LatencyHistogram.BUCKETS);
+            assertTrue(LatencyHistogram.upperBoundOf(bucket) >= value);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < value);
+        }
+    }
+
+    @Test
+    @DisplayName("El servicio registra operaciones y errores; deshabilitado no registra")
+    void testServiceInstrumentation() {
+        ShoppingCartService service = new ShoppingCartService();
+        try {
+            service.getProduct("P001");
+            CartMetrics disabled = service.getMetrics();
+            assertFalse(disabled.isEnabled());
+            assertEquals(0, disabled.get(Operation.CATALOG_LOOKUP).getCount());
+
+            CartMetrics metrics = new CartMetrics();
+            service.setMetrics(metrics);
+            assertDoesNotThrow(() -> service.addToCart("ana", "P001", 1));
+            assertThrows(InsufficientStockException.class,
+                () -> service.addToCart("ana", "P001", 1_000));
+            assertThrows(IllegalArgumentException.class,
+                () -> service.applyDiscount("ana", "NOEXISTE"));
+            service.getProduct("P002");
+            service.searchProducts("mouse", 5);
+
+            assertEquals(2, metrics.get(Operation.ADD_TO_CART).getCount());
+            assertEquals(1, metrics.get(Operation.ADD_TO_CART).getErrorCount());
+            assertEquals(1, metrics.get(Operation.APPLY_DISCOUNT).getErrorCount());
+            assertEquals(1, metrics.get(Operation.CATALOG_LOOKUP).getCount());
+            assertEquals(1, metrics.get(Operation.CATALOG_QUERY).getCount());
+            assertTrue(metrics.format().contains("addToCart"));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("MXBeans en JMX y volcado periódico")
+    void testJmxAndDump() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (CartMetrics metrics = new CartMetrics()) {
+            metrics.record(Operation.CHECKOUT, metrics.start(), true);
+            metrics.registerMBeans();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("org.example:type=CartMetrics,operation=checkout");
+            assertEquals(1L, server.getAttribute(name, "Count"));
+
+            metrics.startDump(Duration.ofMillis(10),
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (output.size() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("checkout"));
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(
+            new ObjectName("org.example:type=CartMetrics,operation=checkout")));
+    }
+}
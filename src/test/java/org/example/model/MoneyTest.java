@@ -0,0 +1,43 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de Money")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Convertir entre decimales y centavos")
+    void testConversions() {
+        assertEquals(2550L, Money.fromDouble(25.50));
+        assertEquals(35L, Money.fromDouble(0.35));
+        assertEquals(1200.0, Money.toDouble(120_000));
+        assertEquals(1250, Money.basisPoints(12.5));
+        assertThrows(IllegalArgumentException.class, () -> Money.fromDouble(Double.NaN));
+    }
+
+    @Test
+    @DisplayName("Porcentaje redondea medio centavo hacia arriba")
+    void testPercentOf() {
+        assertEquals(1000L, Money.percentOf(10_000, 1_000));
+        assertEquals(1L, Money.percentOf(10, 500));
+        assertEquals(0L, Money.percentOf(9, 500));
+    }
+
+    @Test
+    @DisplayName("Formatear centavos")
+    void testFormat() {
+        assertEquals("1234.50", Money.format(123_450));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-3.10", Money.format(-310));
+    }
+
+    @Test
+    @DisplayName("Multiplicar detecta desbordes")
+    void testTimesOverflow() {
+        assertEquals(300L, Money.times(100, 3));
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+    }
+}
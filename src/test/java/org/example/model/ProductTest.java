@@ -3,6 +3,14 @@ package org.example.model;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Tests de Product")
@@ -70,6 +78,56 @@ class ProductTest {
         // No hay aserciones aquí intencionalmente
     }
 
+    @Test
+    @DisplayName("Reservar y liberar stock")
+    void testTryReserveAndRelease() {
+        Product product = new Product("P001", "Laptop", 1000.0, 10);
+
+        assertTrue(product.tryReserve(4));
+        assertEquals(6, product.getStock());
+        assertFalse(product.tryReserve(7));
+        assertEquals(6, product.getStock());
+
+        product.release(4);
+        assertEquals(10, product.getStock());
+        assertThrows(IllegalArgumentException.class, () -> product.tryReserve(0));
+        assertThrows(IllegalArgumentException.class, () -> product.release(-1));
+    }
+
+    @Test
+    @DisplayName("Reservas concurrentes nunca sobrevenden")
+    void testConcurrentReservationsNeverOversell() throws Exception {
+        int initialStock = 1_000;
+        Product product = new Product("P001", "Laptop", 1000.0, initialStock);
+        int threads = 16;
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        if (product.tryReserve(1)) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(initialStock, reserved.get());
+        assertEquals(0, product.getStock());
+    }
+
     // DELIBERADAMENTE falta testear:
     // - Stock negativo al crear
     // - ID vacío
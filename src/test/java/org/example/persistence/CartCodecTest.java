@@ -0,0 +1,123 @@
+package org.example.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CartCodec")
+class CartCodecTest {
+
+    @Test
+    @DisplayName("Codificar y decodificar conserva sesiones, líneas y orden")
+    void testRoundTrip() {
+        Map<String, Map<String, Integer>> carts = new LinkedHashMap<>();
+        carts.put("ana", new LinkedHashMap<>(Map.of("P001", 2)));
+        carts.get("ana").put("P002", 300);
+        carts.put("sesión-ñ", new LinkedHashMap<>(Map.of("P002", 1)));
+
+        ByteBuffer encoded = CartCodec.encode(carts);
+        Map<String, Map<String, Integer>> decoded = CartCodec.decode(encoded);
+
+        assertEquals(carts, decoded);
+        assertEquals(List.of("P001", "P002"), List.copyOf(decoded.get("ana").keySet()));
+        assertFalse(encoded.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Los IDs repetidos se escriben una sola vez")
+    void testDictionary() {
+        Map<String, Map<String, Integer>> carts = new LinkedHashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            carts.put("s" + i, Map.of("PRODUCTO-LARGO-0001", 1 + i % 100));
+        }
+
+        int size = CartCodec.encode(carts).remaining();
+
+        // Por sesión: largo, ID de sesión (2-4 bytes), líneas, índice y cantidad
+        assertTrue(size < 1_000 * 8 + 32, "Tamaño: " + size);
+    }
+
+    @Test
+    @DisplayName("Decodificación desde memoria directa sin mapas intermedios")
+    void testDirectBufferVisitor() {
+        ByteBuffer encoded = CartCodec.encode(Map.of("ana", Map.of("P001", 70_000)));
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining() + 1);
+        direct.put((byte) 9).put(encoded).flip().position(1);
+
+        StringBuilder seen = new StringBuilder();
+        int lines = CartCodec.decode(direct, (session, product, quantity) ->
+            seen.append(session).append('/').append(product).append('=').append(quantity));
+
+        assertEquals(1, lines);
+        assertEquals("ana/P001=70000", seen.toString());
+    }
+
+    @Test
+    @DisplayName("Versión desconocida y datos truncados se rechazan")
+    void testInvalidInput() {
+        ByteBuffer encoded = CartCodec.encode(Map.of("ana", Map.of("P001", 1)));
+        ByteBuffer truncated = encoded.duplicate().limit(encoded.limit() - 1);
+        ByteBuffer future = ByteBuffer.allocate(encoded.remaining()).put(encoded).flip();
+        future.put(0, (byte) (CartCodec.VERSION + 1));
+
+        assertThrows(IllegalArgumentException.class, () -> CartCodec.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> CartCodec.decode(future));
+        assertThrows(IllegalArgumentException.class,
+            () -> CartCodec.encode(Map.of("ana", Map.of("P001", 0))));
+    }
+
+    @Test
+    @DisplayName("Datos corruptos sólo lanzan IllegalArgumentException")
+    void testMalformedInput() {
+        int version = CartCodec.VERSION;
+        // Diccionario con una cantidad enorme o negativa de IDs
+        assertMalformed(version, 0xFF, 0xFF, 0xFF, 0xFF, 0x07);
+        assertMalformed(version, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+        // ID de producto con largo negativo o mayor a lo que queda
+        assertMalformed(version, 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+        assertMalformed(version, 1, 10, 'P');
+        // Sesión con una cantidad de líneas mayor a lo que queda
+        assertMalformed(version, 1, 1, 'P', 1, 1, 'a', 100, 0, 1);
+        // Índice negativo, índice fuera de rango y cantidades no positivas
+        assertMalformed(version, 1, 1, 'P', 1, 1, 'a', 1, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F, 1);
+        assertMalformed(version, 1, 1, 'P', 1, 1, 'a', 1, 1, 1);
+        assertMalformed(version, 1, 1, 'P', 1, 1, 'a', 1, 0, 0);
+        assertMalformed(version, 1, 1, 'P', 1, 1, 'a', 1, 0, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+        // Varint de más de cinco bytes
+        assertMalformed(version, 0x80, 0x80, 0x80, 0x80, 0x80, 0x01);
+
+        assertEquals(Map.of("a", Map.of("P", 3)),
+            CartCodec.decode(bytes(version, 1, 1, 'P', 1, 1, 'a', 1, 0, 3)));
+    }
+
+    private static void assertMalformed(int... values) {
+        ByteBuffer buffer = bytes(values);
+        assertThrows(IllegalArgumentException.class, () -> CartCodec.decode(buffer));
+    }
+
+    private static ByteBuffer bytes(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length);
+        for (int value : values) {
+            buffer.put((byte) value);
+        }
+        return buffer.flip();
+    }
+
+    @Test
+    @DisplayName("Tamaño de varints")
+    void testVarint() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        for (int value : new int[] {0, 127, 128, 16_383, 16_384, Integer.MAX_VALUE}) {
+            buffer.clear();
+            CartCodec.putVarint(buffer, value);
+            assertEquals(CartCodec.varintSize(value), buffer.position());
+            assertEquals(value, CartCodec.getVarint(buffer.flip()));
+        }
+    }
+}
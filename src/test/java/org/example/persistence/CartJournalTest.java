@@ -0,0 +1,169 @@
+package org.example.persistence;
+
+import org.example.service.CatalogLoader;
+import org.example.service.ShoppingCartService;
+import org.example.service.StockHoldManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CartJournal")
+class CartJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Los eventos se recuperan al reabrir el journal")
+    void testAppendAndRecover() throws IOException {
+        try (CartJournal journal = new CartJournal(tempDir)) {
+            journal.appendSet("s1", "P001", 2);
+            journal.appendSet("s1", "P002", 1);
+            journal.appendSet("s1", "P001", 3);
+            journal.appendSet("s2", "P003", 4);
+            journal.appendSet("s1", "P002", 0);
+            long last = journal.appendClear("s2");
+            journal.awaitDurable(last);
+            assertEquals(6, last);
+        }
+
+        try (CartJournal journal = new CartJournal(tempDir)) {
+            assertEquals(Map.of("s1", Map.of("P001", 3)), journal.getRecoveredState());
+            assertEquals(6, journal.lastSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Instantánea más eventos posteriores, sin segmentos viejos")
+    void testSnapshotAndReplay() throws IOException {
+        Map<String, Map<String, Integer>> state = new LinkedHashMap<>();
+        try (CartJournal journal = new CartJournal(tempDir)) {
+            journal.setSnapshotSource(() -> state);
+            journal.appendSet("s1", "P001", 2);
+            state.put("s1", new LinkedHashMap<>(Map.of("P001", 2)));
+            journal.snapshot();
+            journal.appendSet("s1", "P002", 5);
+        }
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.filter(f -> f.toString().endsWith(".bin")).count());
+        }
+        try (CartJournal journal = new CartJournal(tempDir)) {
+            assertEquals(Map.of("s1", Map.of("P001", 2, "P002", 5)),
+                journal.getRecoveredState());
+        }
+    }
+
+    @Test
+    @DisplayName("Un registro truncado al final se descarta")
+    void testTornTail() throws IOException {
+        try (CartJournal journal = new CartJournal(tempDir)) {
+            journal.appendSet("s1", "P001", 2);
+            journal.appendSet("s1", "P002", 1);
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            segment = files.filter(f -> f.toString().endsWith(".log"))
+                .filter(f -> f.toFile().length() > 0)
+                .findFirst().orElseThrow();
+        }
+        long size = Files.size(segment);
+        try (var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        try (CartJournal journal = new CartJournal(tempDir)) {
+            assertEquals(Map.of("s1", Map.of("P001", 2)), journal.getRecoveredState());
+            journal.appendSet("s1", "P003", 7);
+        }
+        try (CartJournal journal = new CartJournal(tempDir)) {
+            assertEquals(Map.of("s1", Map.of("P001", 2, "P003", 7)),
+                journal.getRecoveredState());
+        }
+    }
+
+    @Test
+    @DisplayName("El servicio restaura los carritos tras reiniciar")
+    void testServiceRestart() throws Exception {
+        ShoppingCartService service = new ShoppingCartService(StockHoldManager.DEFAULT_TTL,
+            new CatalogLoader().loadDefault(),
+            new CartJournal(tempDir, Duration.ofMillis(1), 3));
+        service.addToCart("ana", "P001", 2);
+        service.addToCart("ana", "P002", 1);
+        service.addToCart("luis", "P003", 4);
+        service.updateCartQuantity("ana", "P002", 3);
+        service.removeFromCart("luis", "P003");
+        service.addToCart("luis", "P004", 1);
+        service.shutdown();
+
+        ShoppingCartService restarted = new ShoppingCartService(StockHoldManager.DEFAULT_TTL,
+            new CatalogLoader().loadDefault(), new CartJournal(tempDir));
+        try {
+            assertEquals(2, restarted.getCartItemCount("ana"));
+            assertEquals(2 * 120_000 + 3 * 2_550, restarted.getCartTotalCents("ana"));
+            assertEquals(1, restarted.getCartItemCount("luis"));
+            assertEquals(3, restarted.getRestoredLineCount());
+            assertEquals(0, restarted.getDroppedLineCount());
+            assertEquals(35_000, restarted.getCartTotalCents("luis"));
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Un journal cerrado rechaza esperas y operaciones pendientes")
+    void testClosedAndInterrupted() throws IOException {
+        CartJournal journal = new CartJournal(tempDir, Duration.ofMinutes(1), 100);
+        long sequence = journal.appendSet("s1", "P001", 2);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(UncheckedIOException.class, () -> journal.awaitDurable(sequence));
+            assertTrue(Thread.interrupted());
+        } finally {
+            journal.close();
+        }
+
+        journal.awaitDurable(sequence);
+        assertThrows(IllegalStateException.class, journal::checkWritable);
+        assertThrows(IllegalStateException.class,
+            () -> journal.awaitDurable(journal.appendSet("s1", "P002", 1)));
+    }
+
+    @Test
+    @DisplayName("Las instantáneas automáticas no bloquean el commit")
+    void testBackgroundSnapshot() throws Exception {
+        CountDownLatch snapshotStarted = new CountDownLatch(1);
+        CountDownLatch releaseSnapshot = new CountDownLatch(1);
+        try (CartJournal journal = new CartJournal(tempDir, Duration.ofMillis(1), 2)) {
+            journal.setSnapshotSource(() -> {
+                snapshotStarted.countDown();
+                try {
+                    releaseSnapshot.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Map.of();
+            });
+            journal.appendSet("s1", "P001", 1);
+            journal.awaitDurable(journal.appendSet("s1", "P001", 2));
+            assertTrue(snapshotStarted.await(5, TimeUnit.SECONDS));
+
+            journal.awaitDurable(journal.appendSet("s1", "P001", 3));
+            releaseSnapshot.countDown();
+        }
+    }
+}
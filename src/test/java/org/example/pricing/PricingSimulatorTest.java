@@ -0,0 +1,123 @@
+package org.example.pricing;
+
+import org.example.service.DiscountService;
+import org.example.service.VolumeDiscountTiers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de PricingSimulator")
+class PricingSimulatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DiscountService discountService;
+
+    @BeforeEach
+    void setUp() {
+        discountService = new DiscountService();
+    }
+
+    @Test
+    @DisplayName("Simular cupones y volumen sobre pocos carritos")
+    void testSmallSimulation() {
+        PricingSimulator simulator = new PricingSimulator(List.of(
+                PricingStrategy.coupon(discountService, "SAVE20"),
+                PricingStrategy.fixed(discountService, 5_000),
+                PricingStrategy.volume(discountService, VolumeDiscountTiers.DEFAULT_SEGMENT)));
+
+        SimulationReport report = simulator.run(new long[]{2_000, 20_000, 200_000});
+
+        assertEquals(3, report.getCarts());
+        assertEquals(222_000, report.getBaselineRevenueCents());
+        assertEquals(177_600, report.getRevenueCents("Cupón SAVE20"));
+        assertEquals(-44_400, report.getRevenueDeltaCents("Cupón SAVE20"));
+        // 20.00 queda en 0, no negativo
+        assertEquals(0 + 15_000 + 195_000, report.getRevenueCents("Fijo 50.00"));
+        assertEquals(2_000 + 19_000 + 170_000,
+                report.getRevenueCents("Volumen " + VolumeDiscountTiers.DEFAULT_SEGMENT));
+        assertThrows(IllegalArgumentException.class, () -> report.getRevenueCents("otra"));
+        assertTrue(report.format().contains("Cupón SAVE20: $1776.00 (diferencia $-444.00)"));
+    }
+
+    @Test
+    @DisplayName("Archivo grande en varios bloques coincide con el cálculo secuencial")
+    void testStreamedFileMatchesSequential() throws IOException {
+        Path file = tempDir.resolve("carts.csv");
+        SplittableRandom random = new SplittableRandom(7);
+        int carts = 50_000;
+        long expectedBaseline = 0;
+        long expectedPercentage = 0;
+        long expectedVolume = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("# carrito,total");
+            writer.newLine();
+            for (int i = 0; i < carts; i++) {
+                long cents = random.nextLong(300_000);
+                writer.write("C" + i + "," + (cents / 100) + "." + String.format("%02d", cents % 100));
+                writer.newLine();
+                expectedBaseline += cents;
+                expectedPercentage += discountService.applyPercentageDiscountCents(cents, 1_250);
+                expectedVolume += discountService.applyVolumeDiscountCents(cents);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PricingSimulator simulator = new PricingSimulator(List.of(
+                    PricingStrategy.percentage(discountService, 1_250),
+                    PricingStrategy.volume(discountService, VolumeDiscountTiers.DEFAULT_SEGMENT)),
+                    pool, 1_000);
+
+            SimulationReport report = simulator.run(file);
+
+            assertEquals(carts, report.getCarts());
+            assertEquals(expectedBaseline, report.getBaselineRevenueCents());
+            assertEquals(expectedPercentage, report.getRevenueCents("Porcentaje 12.5%"));
+            assertEquals(expectedVolume,
+                    report.getRevenueCents("Volumen " + VolumeDiscountTiers.DEFAULT_SEGMENT));
+            assertTrue(report.getCartsPerSecond() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Línea inválida indica su número")
+    void testInvalidLine() throws IOException {
+        Path file = tempDir.resolve("bad.csv");
+        Files.write(file, List.of("10.00", "", "C2,-5"));
+        PricingSimulator simulator = new PricingSimulator(
+                List.of(PricingStrategy.of("Sin cambios", total -> total)));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> simulator.run(file));
+        assertTrue(exception.getMessage().contains("Línea 3"));
+    }
+
+    @Test
+    @DisplayName("Estrategias inválidas se rechazan al crearlas")
+    void testInvalidStrategies() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingStrategy.coupon(discountService, "NOPE"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingStrategy.percentage(discountService, 20_000));
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingStrategy.volume(discountService, "desconocido"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PricingStrategy.of(" ", total -> total));
+        assertThrows(IllegalArgumentException.class, () -> new PricingSimulator(List.of()));
+    }
+}
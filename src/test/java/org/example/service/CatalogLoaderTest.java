@@ -0,0 +1,112 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CatalogLoader")
+class CatalogLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Catálogo por defecto desde el classpath")
+    void testLoadDefault() {
+        CatalogLoadReport report = new CatalogLoader().loadDefault();
+
+        assertEquals(4, report.getProductCount());
+        Product monitor = report.getCatalog().get("P004");
+        assertEquals("Monitor LG 27\"", monitor.getName());
+        assertEquals(35_000, monitor.getPriceCents());
+        assertEquals(8, monitor.getStock());
+        assertEquals(2_550, report.getCatalog().get("P002").getPriceCents());
+        assertTrue(report.toString().contains("4 productos"));
+    }
+
+    @Test
+    @DisplayName("Nombre con comas")
+    void testNameWithCommas() {
+        Product product = CatalogLoader.parseProduct("X1, Cable USB-C, 2m ,9.99, 3");
+
+        assertEquals("X1", product.getId());
+        assertEquals("Cable USB-C, 2m", product.getName());
+        assertEquals(999, product.getPriceCents());
+        assertEquals(3, product.getStock());
+    }
+
+    @Test
+    @DisplayName("Archivo grande secuencial y en paralelo")
+    void testLargeFileSequentialAndParallel() throws IOException {
+        Path file = tempDir.resolve("catalog.csv");
+        int rows = 100_000;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("# id,nombre,precio,stock");
+            writer.newLine();
+            for (int i = 0; i < rows; i++) {
+                writer.write("SKU" + i + ",Producto " + i + "," + (i % 1000) + ".25," + (i % 50));
+                writer.newLine();
+            }
+        }
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            CatalogLoadReport report = new CatalogLoader(parallel).load(file);
+
+            assertEquals(rows, report.getProductCount());
+            Product product = report.getCatalog().get("SKU12345");
+            assertEquals("Producto 12345", product.getName());
+            assertEquals(34_525, product.getPriceCents());
+            assertEquals(45, product.getStock());
+            assertTrue(report.getElapsedNanos() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Líneas inválidas y duplicados")
+    void testInvalidLines() throws IOException {
+        Path badPrice = tempDir.resolve("bad.csv");
+        Files.write(badPrice, List.of("P1,Uno,1.00,1", "P2,Dos,abc,1"));
+        Path duplicate = tempDir.resolve("dup.csv");
+        Files.write(duplicate, List.of("P1,Uno,1.00,1", "", "P1,Otro,2.00,1"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new CatalogLoader().load(badPrice));
+        assertTrue(exception.getMessage().contains("Línea 2"));
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> new CatalogLoader().load(duplicate));
+        assertTrue(exception.getMessage().contains("Línea 3"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CatalogLoader(true).load(badPrice));
+        assertThrows(IllegalArgumentException.class,
+                () -> CatalogLoader.parseProduct("P1,Uno,1.00"));
+        assertThrows(IllegalArgumentException.class,
+                () -> CatalogLoader.parseProduct("P1,Uno,-1.00,1"));
+    }
+
+    @Test
+    @DisplayName("El servicio usa el catálogo cargado")
+    void testServiceUsesLoadedCatalog() throws IOException {
+        Path file = tempDir.resolve("small.csv");
+        Files.write(file, List.of("A1,Cable,5.00,3"));
+
+        ShoppingCartService service = new ShoppingCartService(
+                Duration.ofMinutes(1), new CatalogLoader().load(file));
+        try {
+            assertEquals(1, service.getAllProducts().size());
+            assertNull(service.getProduct("P001"));
+            assertEquals(1, service.getCatalogLoadReport().getProductCount());
+        } finally {
+            service.shutdown();
+        }
+    }
+}
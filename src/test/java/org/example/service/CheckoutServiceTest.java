@@ -0,0 +1,216 @@
+package org.example.service;
+
+import org.example.exception.CheckoutException;
+import org.example.exception.InsufficientStockException;
+import org.example.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CheckoutService")
+class CheckoutServiceTest {
+
+    private CheckoutService checkoutService;
+    private AtomicLong clock;
+    private StockHoldManager holdManager;
+    private Product laptop;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        checkoutService = new CheckoutService();
+        clock = new AtomicLong(0);
+        holdManager = new StockHoldManager(
+                Duration.ofSeconds(60), Duration.ofSeconds(1), clock::get, false);
+        laptop = new Product("P001", "Laptop", 1000.0, 5);
+        mouse = new Product("P002", "Mouse", 25.0, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdManager.close();
+    }
+
+    @Test
+    @DisplayName("Checkout con más productos que franjas de locks")
+    void testCheckoutWithSharedStripes() throws Exception {
+        ShoppingCart cart = new ShoppingCart();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Product product = new Product("S" + i, "Producto " + i, 1.0, 2);
+            products.add(product);
+            cart.addProduct(product, 1);
+        }
+
+        CheckoutReceipt receipt = checkoutService.checkout(cart);
+
+        assertEquals(600, receipt.getTotalProducts());
+        assertTrue(cart.isEmpty());
+        for (Product product : products) {
+            assertEquals(1, product.getStock());
+        }
+        // Todas las franjas quedaron libres
+        cart.addProduct(products.get(0), 1);
+        assertEquals(1, checkoutService.checkout(cart).getTotalProducts());
+    }
+
+    @Test
+    @DisplayName("Checkout descuenta stock y vacía el carrito")
+    void testCheckoutCommitsStock() throws Exception {
+        ShoppingCart cart = new ShoppingCart();
+        cart.addProduct(laptop, 2);
+        cart.addProduct(mouse, 3);
+
+        CheckoutReceipt receipt = checkoutService.checkout(cart);
+
+        assertEquals(2075.0, receipt.getTotal(), 0.001);
+        assertEquals(5, receipt.getTotalProducts());
+        assertEquals(2, receipt.getItems().size());
+        assertEquals(3, laptop.getStock());
+        assertEquals(7, mouse.getStock());
+        assertTrue(cart.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Checkout confirma las reservas sin descontar dos veces")
+    void testCheckoutConsumesHolds() throws Exception {
+        ShoppingCart cart = new ShoppingCart(holdManager);
+        cart.addProduct(laptop, 2);
+        assertEquals(3, laptop.getStock());
+
+        checkoutService.checkout(cart);
+
+        assertEquals(3, laptop.getStock());
+        clock.addAndGet(120_000);
+        holdManager.expireDue();
+        assertEquals(3, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("Reserva vencida se vuelve a reservar en el checkout")
+    void testCheckoutAfterHoldExpired() throws Exception {
+        ShoppingCart cart = new ShoppingCart(holdManager);
+        cart.addProduct(laptop, 4);
+        clock.addAndGet(120_000);
+        holdManager.expireDue();
+        assertEquals(5, laptop.getStock());
+
+        checkoutService.checkout(cart);
+        assertEquals(1, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("Checkout fallido no descuenta nada y reporta cada línea")
+    void testCheckoutIsAllOrNothing() throws Exception {
+        ShoppingCart cart = new ShoppingCart(holdManager);
+        cart.addProduct(laptop, 3);
+        cart.addProduct(mouse, 6);
+        Product monitor = new Product("P004", "Monitor", 350.0, 4);
+        cart.addProduct(monitor, 4);
+
+        // Vencen las reservas y otro comprador se lleva parte del stock
+        clock.addAndGet(120_000);
+        holdManager.expireDue();
+        laptop.reduceStock(4);
+        mouse.reduceStock(5);
+
+        CheckoutException exception = assertThrows(
+                CheckoutException.class, () -> checkoutService.checkout(cart));
+
+        List<InsufficientStockException> failures = exception.getFailures();
+        assertEquals(2, failures.size());
+        assertEquals("P001", failures.get(0).getProductId());
+        assertEquals(3, failures.get(0).getRequested());
+        assertEquals(1, failures.get(0).getAvailable());
+        assertEquals("P002", failures.get(1).getProductId());
+        assertEquals(5, failures.get(1).getAvailable());
+
+        assertEquals(1, laptop.getStock());
+        assertEquals(5, mouse.getStock());
+        assertEquals(4, monitor.getStock());
+        assertEquals(3, cart.getItemCount());
+    }
+
+    @Test
+    @DisplayName("Checkout fallido conserva las reservas vigentes")
+    void testFailedCheckoutRestoresHolds() throws Exception {
+        ShoppingCart cart = new ShoppingCart(holdManager);
+        cart.addProduct(laptop, 2);
+        cart.addProduct(mouse, 1);
+        // La reserva del mouse se pierde y otro comprador agota su stock
+        holdManager.take(cart.getHold("P002"));
+        mouse.reduceStock(mouse.getStock());
+
+        assertThrows(CheckoutException.class, () -> checkoutService.checkout(cart));
+
+        assertEquals(2, cart.getHold("P001").getQuantity());
+        assertEquals(3, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("Checkout de carrito vacío es inválido")
+    void testEmptyCartCheckout() {
+        assertThrows(IllegalArgumentException.class,
+                () -> checkoutService.checkout(new ShoppingCart()));
+    }
+
+    @Test
+    @DisplayName("Checkouts concurrentes sobre los mismos productos no sobrevenden")
+    void testConcurrentOverlappingCheckouts() throws Exception {
+        Product a = new Product("A", "Cable", 1.0, 500);
+        Product b = new Product("B", "Hub", 1.0, 500);
+        Product c = new Product("C", "Funda", 1.0, 500);
+        Product[][] orders = {{a, b, c}, {c, b, a}, {b, c, a}, {c, a, b}};
+        int threads = 8;
+        AtomicInteger committed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Product[] order = orders[t % orders.length];
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        ShoppingCart cart = new ShoppingCart();
+                        try {
+                            for (Product product : order) {
+                                cart.addProduct(product, 1);
+                            }
+                            checkoutService.checkout(cart);
+                            committed.incrementAndGet();
+                        } catch (CheckoutException | InsufficientStockException e) {
+                            // Stock agotado: esperado al final
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(500, committed.get());
+        assertEquals(0, a.getStock());
+        assertEquals(0, b.getStock());
+        assertEquals(0, c.getStock());
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.service;
+
+import org.example.model.Coupon;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de CouponRegistry")
+class CouponRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Cupones por defecto sin distinguir mayúsculas")
+    void testDefaultCouponsCaseInsensitive() {
+        CouponRegistry registry = CouponRegistry.loadDefault();
+
+        assertEquals(3, registry.size());
+        Coupon save10 = registry.find("save10");
+        assertNotNull(save10);
+        assertEquals(Coupon.Type.PERCENTAGE, save10.getType());
+        assertEquals(1_000, save10.getValue());
+        assertEquals(5_000, registry.find("Flat50").getValue());
+        assertNull(registry.find("SAVE1"));
+        assertNull(registry.find(null));
+    }
+
+    @Test
+    @DisplayName("Cargar miles de cupones desde archivo")
+    void testLoadThousandsFromFile() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# generado");
+        for (int i = 0; i < 5_000; i++) {
+            lines.add("PROMO" + i + "," + (i % 2 == 0 ? "PERCENT," + (i % 90) : "FIXED," + i + ".25"));
+        }
+        Path file = tempDir.resolve("coupons.csv");
+        Files.write(file, lines);
+
+        CouponRegistry registry = CouponRegistry.fromFile(file);
+
+        assertEquals(5_000, registry.size());
+        assertEquals(3_800L, registry.find("promo38").getValue());
+        assertEquals(123_725L, registry.find("PROMO1237").getValue());
+        assertEquals(Coupon.Type.FIXED, registry.find("Promo4999").getType());
+    }
+
+    @Test
+    @DisplayName("Recargar reemplaza los cupones y un archivo inválido no cambia nada")
+    void testReload() throws IOException {
+        CouponRegistry registry = CouponRegistry.loadDefault();
+        Path file = tempDir.resolve("nuevos.csv");
+        Files.writeString(file, "VERANO,PERCENT,12.5\n");
+
+        assertEquals(1, registry.reload(file));
+        assertNull(registry.find("SAVE10"));
+        assertEquals(1_250, registry.find("verano").getValue());
+
+        Files.writeString(file, "OTONO,PERCENT,10\nROTO,PORCENTAJE,5\n");
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class, () -> registry.reload(file));
+        assertTrue(exception.getMessage().contains("Línea 2"));
+        assertNotNull(registry.find("VERANO"));
+    }
+
+    @Test
+    @DisplayName("Códigos duplicados son inválidos")
+    void testDuplicateCodes() {
+        List<Coupon> coupons = List.of(
+                new Coupon("DUP", Coupon.Type.FIXED, 100),
+                new Coupon("dup", Coupon.Type.FIXED, 200));
+        assertThrows(IllegalArgumentException.class, () -> new CouponRegistry(coupons));
+    }
+
+    @Test
+    @DisplayName("DiscountService usa el registro recargado")
+    void testDiscountServiceUsesRegistry() {
+        CouponRegistry registry = new CouponRegistry(
+                List.of(new Coupon("MITAD", Coupon.Type.PERCENTAGE, 5_000)));
+        DiscountService service = new DiscountService(registry);
+
+        assertEquals(5_000L, service.applyCouponCents(10_000, "mitad"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.applyCouponCents(10_000, "SAVE10"));
+
+        registry.replaceAll(List.of(new Coupon("SAVE10", Coupon.Type.PERCENTAGE, 1_000)));
+        assertEquals(9_000L, service.applyCouponCents(10_000, "save10"));
+    }
+}
@@ -73,6 +73,18 @@ class DiscountServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Descuentos en centavos con aritmética entera")
+    void testCentsDiscounts() {
+        assertEquals(8_999L, service.applyPercentageDiscountCents(9_999, 1_000));
+        assertEquals(0L, service.applyFixedDiscountCents(4_000, 5_000));
+        assertEquals(85_000L, service.applyVolumeDiscountCents(100_000));
+        assertEquals(9_999L, service.applyVolumeDiscountCents(9_999));
+        assertEquals(7_999L, service.applyCouponCents(9_999, "save20"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.applyPercentageDiscountCents(100, 10_001));
+    }
+
     // DELIBERADAMENTE falta testear:
     // - Porcentaje negativo
     // - Porcentaje mayor a 100
@@ -0,0 +1,165 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de OffHeapProductCatalog")
+class OffHeapProductCatalogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Vista flyweight con los mismos datos que el producto original")
+    void testFlyweightView() {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        Product original = new Product("P004", "Monitor LG 27\" ñ", 350.0, 8);
+        assertTrue(catalog.add(original));
+
+        Product view = catalog.get("P004");
+
+        assertEquals("P004", view.getId());
+        assertEquals("Monitor LG 27\" ñ", view.getName());
+        assertEquals(35_000, view.getPriceCents());
+        assertEquals(350.0, view.getPrice(), 0.001);
+        assertEquals(8, view.getStock());
+        assertEquals(original, view);
+        assertEquals(view, original);
+        assertEquals(original.hashCode(), view.hashCode());
+        assertNull(catalog.get("P005"));
+        assertNull(catalog.get(null));
+        assertFalse(catalog.add(original));
+    }
+
+    @Test
+    @DisplayName("El stock se actualiza en el almacén y lo ven todas las vistas")
+    void testStockSharedBetweenViews() {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        catalog.add(new Product("P001", "Laptop", 1200.0, 10));
+        Product first = catalog.get("P001");
+        Product second = catalog.get("P001");
+
+        assertTrue(first.tryReserve(4));
+        assertEquals(6, second.getStock());
+        second.reduceStock(6);
+        assertFalse(first.tryReserve(1));
+        first.release(2);
+        first.addStock(3);
+        assertEquals(5, catalog.get("P001").getStock());
+        assertThrows(IllegalArgumentException.class, () -> second.reduceStock(6));
+    }
+
+    @Test
+    @DisplayName("Reemplazar un producto actualiza su slot")
+    void testPutReplaces() {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        catalog.put(new Product("P001", "Laptop", 1200.0, 10));
+        Product view = catalog.get("P001");
+
+        catalog.put(new Product("P001", "Laptop Dell XPS", 999.99, 3));
+
+        assertEquals(1, catalog.size());
+        assertEquals("Laptop Dell XPS", view.getName());
+        assertEquals(99_999, view.getPriceCents());
+        assertEquals(3, view.getStock());
+    }
+
+    @Test
+    @DisplayName("Cientos de miles de productos en varios segmentos")
+    void testManySegments() {
+        int count = 200_000;
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        for (int i = 0; i < count; i++) {
+            assertTrue(catalog.add(Product.ofCents("SKU" + i, "Producto " + i, i, i % 100)));
+        }
+
+        assertEquals(count, catalog.size());
+        for (int i = 0; i < count; i += 997) {
+            Product product = catalog.get("SKU" + i);
+            assertEquals("Producto " + i, product.getName());
+            assertEquals(i, product.getPriceCents());
+            assertEquals(i % 100, product.getStock());
+        }
+        List<Product> all = catalog.getAll();
+        assertEquals(count, all.size());
+        assertEquals("SKU150000", all.get(150_000).getId());
+        assertTrue(catalog.getOffHeapBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Reservas concurrentes sobre vistas no sobrevenden")
+    void testConcurrentReservations() throws Exception {
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog();
+        catalog.add(new Product("HOT", "Oferta", 1.0, 1_000));
+        int threads = 8;
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        if (catalog.get("HOT").tryReserve(1)) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1_000, reserved.get());
+        assertEquals(0, catalog.get("HOT").getStock());
+    }
+
+    @Test
+    @DisplayName("Cargar un archivo fuera del heap y usarlo desde el servicio")
+    void testLoadIntoServiceOffHeap() throws Exception {
+        Path file = tempDir.resolve("catalog.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < 1_000; i++) {
+                writer.write("SKU" + i + ",Producto " + i + ",10.00,5");
+                writer.newLine();
+            }
+        }
+        OffHeapProductCatalog catalog = new OffHeapProductCatalog(
+                CatalogLoader.estimateProducts(file));
+        ShoppingCartService service = new ShoppingCartService(
+                Duration.ofMinutes(1), new CatalogLoader(true).load(file, catalog));
+        try {
+            service.addToCart("SKU42", 3);
+
+            assertEquals(2, service.getProduct("SKU42").getStock());
+            assertEquals(30.0, service.getCartTotal(), 0.001);
+            assertEquals(1_000, service.getAllProducts().size());
+        } finally {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de ProductRangeIndex")
+class ProductRangeIndexTest {
+
+    private InMemoryProductCatalog catalog;
+    private ProductRangeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new InMemoryProductCatalog();
+        index = new ProductRangeIndex(catalog);
+        catalog.setStockObserver(index::stockChanged);
+        add(new Product("P001", "Laptop Dell", 1200.0, 10));
+        add(new Product("P002", "Mouse Logitech", 25.5, 20));
+        add(new Product("P003", "Teclado Mecánico", 75.0, 0));
+        add(new Product("P004", "Monitor LG", 350.0, 8));
+        add(new Product("P005", "Webcam", 50.0, 4));
+    }
+
+    private void add(Product product) {
+        catalog.put(product);
+        index.index(product);
+    }
+
+    private static List<String> ids(ProductPage page) {
+        return page.getItems().stream().map(Product::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Rango de precio ordenado, con y sin filtro de stock")
+    void testPriceRange() {
+        assertEquals(List.of("P005", "P003", "P004"),
+                ids(index.findByPrice(5_000, 40_000, 0, 10, null)));
+        assertEquals(List.of("P005", "P004"),
+                ids(index.findByPrice(5_000, 40_000, 1, 10, null)));
+        assertEquals(List.of(), ids(index.findByPrice(200_000, 300_000, 0, 10, null)));
+    }
+
+    @Test
+    @DisplayName("Páginas continúan desde el cursor")
+    void testPaging() {
+        ProductPage first = index.findByPrice(0, Long.MAX_VALUE, 0, 2, null);
+        assertEquals(List.of("P002", "P005"), ids(first));
+        assertTrue(first.hasNext());
+
+        ProductPage second = index.findByPrice(0, Long.MAX_VALUE, 0, 2, first.getNextCursor());
+        assertEquals(List.of("P003", "P004"), ids(second));
+
+        ProductPage third = index.findByPrice(0, Long.MAX_VALUE, 0, 2, second.getNextCursor());
+        assertEquals(List.of("P001"), ids(third));
+        assertFalse(third.hasNext());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> index.findByPrice(0, 1, 0, 2, "xyz"));
+        assertThrows(IllegalArgumentException.class,
+                () -> index.findByPrice(0, 1, 0, 0, null));
+    }
+
+    @Test
+    @DisplayName("Los cambios de stock se reflejan en los índices")
+    void testStockChangesTracked() {
+        catalog.get("P003").addStock(5);
+        catalog.get("P002").reduceStock(20);
+        assertTrue(catalog.get("P005").tryReserve(4));
+
+        assertEquals(List.of("P003", "P004"),
+                ids(index.findByPrice(5_000, 40_000, 1, 10, null)));
+        assertEquals(List.of("P002", "P005"), ids(index.findByStock(0, 0, 10, null)));
+        assertEquals(List.of("P003", "P004", "P001"), ids(index.findByStock(1, 100, 10, null)));
+    }
+
+    @Test
+    @DisplayName("Reemplazar un producto actualiza su precio")
+    void testReindexPrice() {
+        add(new Product("P001", "Laptop Dell", 60.0, 10));
+
+        assertEquals(List.of("P005", "P001", "P003"),
+                ids(index.findByPrice(5_000, 10_000, 0, 10, null)));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    @DisplayName("Índice grande coincide con un recorrido completo")
+    void testMatchesFullScan() {
+        InMemoryProductCatalog large = new InMemoryProductCatalog();
+        ProductRangeIndex largeIndex = new ProductRangeIndex(large);
+        large.setStockObserver(largeIndex::stockChanged);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 20_000; i++) {
+            Product product = Product.ofCents("SKU" + i, "Producto " + i,
+                    random.nextLong(100_000), random.nextInt(5));
+            large.put(product);
+            largeIndex.index(product);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            Product product = large.get("SKU" + random.nextInt(20_000));
+            if (!product.tryReserve(1)) {
+                product.addStock(2);
+            }
+        }
+
+        long expected = large.getAll().stream()
+                .filter(p -> p.getPriceCents() >= 5_000 && p.getPriceCents() <= 40_000)
+                .filter(p -> p.getStock() > 0)
+                .count();
+        List<Product> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductPage page = largeIndex.findByPrice(5_000, 40_000, 1, 777, cursor);
+            paged.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, paged.size());
+        for (int i = 1; i < paged.size(); i++) {
+            assertTrue(paged.get(i - 1).getPriceCents() <= paged.get(i).getPriceCents());
+        }
+    }
+
+    @Test
+    @DisplayName("El servicio filtra el catálogo por precio")
+    void testServiceFilter() throws Exception {
+        ShoppingCartService service = new ShoppingCartService();
+        try {
+            ProductPage page = service.findProductsByPrice(50, 400, true, 10, null);
+            assertEquals(List.of("P003", "P004"), ids(page));
+
+            service.addToCart("P004", 8);
+            assertEquals(List.of("P003"), ids(service.findProductsByPrice(50, 400, true, 10, null)));
+            assertEquals(List.of("P004"), ids(service.findProductsByStock(0, 0, 10, null)));
+        } finally {
+            service.shutdown();
+        }
+    }
+}
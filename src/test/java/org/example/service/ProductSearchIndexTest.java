@@ -0,0 +1,115 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de ProductSearchIndex")
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.indexAll(List.of(
+                new Product("P001", "Laptop Dell", 1200.0, 10),
+                new Product("P002", "Mouse Logitech", 25.5, 20),
+                new Product("P003", "Teclado Mecánico", 75.0, 15),
+                new Product("P004", "Monitor LG 27\"", 350.0, 8),
+                new Product("P005", "Mousepad  XL", 9.0, 30)));
+    }
+
+    @Test
+    @DisplayName("Subcadena sin distinguir mayúsculas ni acentos")
+    void testSubstringSearch() {
+        assertEquals(List.of("P003"), index.search("MECANICO", 10));
+        assertEquals(List.of("P003"), index.search("cánic", 10));
+        assertEquals(List.of("P002"), index.search("gitech", 10));
+        assertEquals(List.of("P004"), index.search("lg 27", 10));
+        assertEquals(List.of(), index.search("tablet", 10));
+    }
+
+    @Test
+    @DisplayName("Los nombres que empiezan con el texto van primero")
+    void testPrefixFirst() {
+        index.index(new Product("P006", "Funda para mouse", 5.0, 3));
+
+        List<String> results = index.search("mouse", 10);
+
+        assertEquals(3, results.size());
+        assertEquals("P006", results.get(2));
+        assertEquals(2, index.search("mouse", 2).size());
+    }
+
+    @Test
+    @DisplayName("Un nombre que empieza con el texto entra aunque haya más coincidencias antes")
+    void testPrefixBeyondLimit() {
+        for (int i = 0; i < 30; i++) {
+            index.index(new Product("F" + i, "Funda para mouse " + i, 5.0, 3));
+        }
+        index.index(new Product("P007", "Mouse inalámbrico", 30.0, 4));
+
+        // Las 30 fundas se indexaron antes, pero sólo coinciden en el medio del nombre
+        assertEquals(List.of("P007", "P002", "P005"), index.search("mouse", 3));
+        assertEquals(List.of("P007", "P002", "P005", "F0"), index.search("mouse", 4));
+        assertEquals(List.of("P004", "P007", "P002", "P005", "P003"), index.search("m", 5));
+    }
+
+    @Test
+    @DisplayName("Consultas cortas buscan inicio de palabra")
+    void testShortQueryWordPrefix() {
+        assertEquals(List.of("P002", "P003", "P004", "P005"),
+                index.search("m", 10).stream().sorted().toList());
+        assertEquals(List.of("P001"), index.search("de", 10));
+        assertEquals(List.of("P005"), index.search("xl", 10));
+        assertEquals(List.of(), index.search("  ", 10));
+        assertEquals(List.of(), index.search(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("x", 0));
+    }
+
+    @Test
+    @DisplayName("Renombrar un producto actualiza el índice")
+    void testIncrementalRename() {
+        index.index(new Product("P001", "Notebook Lenovo", 900.0, 5));
+
+        assertEquals(List.of(), index.search("laptop", 10));
+        assertEquals(List.of("P001"), index.search("lenovo", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    @DisplayName("Catálogo grande responde con el límite")
+    void testLargeCatalog() {
+        ProductSearchIndex large = new ProductSearchIndex();
+        for (int i = 0; i < 200_000; i++) {
+            large.index(Product.ofCents("SKU" + i, "Producto genérico " + i, 100, 1));
+        }
+        large.index(Product.ofCents("RARE", "Cafetera italiana", 100, 1));
+
+        assertEquals(List.of("RARE"), large.search("italia", 20));
+        assertEquals(20, large.search("generico", 20).size());
+        assertEquals(List.of("SKU123456"), large.search("genérico 123456", 20));
+    }
+
+    @Test
+    @DisplayName("El servicio busca en su catálogo y en los productos agregados")
+    void testServiceSearch() {
+        ShoppingCartService service = new ShoppingCartService();
+        try {
+            List<Product> results = service.searchProducts("teclado", 10);
+            assertEquals(1, results.size());
+            assertEquals("P003", results.get(0).getId());
+
+            service.addToCatalog(new Product("P010", "Teclado inalámbrico", 40.0, 5));
+            assertEquals(2, service.searchProducts("TECLADO", 10).size());
+        } finally {
+            service.shutdown();
+        }
+    }
+}
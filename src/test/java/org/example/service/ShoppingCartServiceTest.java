@@ -0,0 +1,227 @@
+package org.example.service;
+
+import org.example.exception.InsufficientStockException;
+import org.example.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de ShoppingCartService")
+class ShoppingCartServiceTest {
+
+    private ShoppingCartService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ShoppingCartService();
+    }
+
+    @Test
+    @DisplayName("Métodos sin sesión usan la sesión por defecto")
+    void testDefaultSession() throws InsufficientStockException {
+        service.addToCart("P002", 2);
+
+        assertSame(service.getCart(), service.getCart(ShoppingCartService.DEFAULT_SESSION));
+        assertEquals(1, service.getCartItemCount());
+        assertEquals(51.0, service.getCartTotal(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Cada sesión tiene su propio carrito")
+    void testSessionsAreIsolated() throws InsufficientStockException {
+        service.addToCart("alice", "P001", 1);
+        service.addToCart("bob", "P002", 3);
+
+        assertNotSame(service.getCart("alice"), service.getCart("bob"));
+        assertEquals(1200.0, service.getCartTotal("alice"), 0.001);
+        assertEquals(76.5, service.getCartTotal("bob"), 0.001);
+        assertEquals(2, service.getActiveSessionCount());
+
+        service.clearCart("alice");
+        assertEquals(0, service.getCartItemCount("alice"));
+        assertEquals(1, service.getCartItemCount("bob"));
+    }
+
+    @Test
+    @DisplayName("Actualizar, remover y finalizar sesión")
+    void testUpdateRemoveAndEndSession() throws InsufficientStockException {
+        service.addToCart("s1", "P003", 1);
+        service.updateCartQuantity("s1", "P003", 4);
+        assertEquals(300.0, service.getCartTotal("s1"), 0.001);
+
+        assertTrue(service.removeFromCart("s1", "P003"));
+        assertEquals("Carrito vacío", service.getCartSummary("s1"));
+
+        assertTrue(service.endSession("s1"));
+        assertFalse(service.endSession("s1"));
+        assertEquals(0, service.getActiveSessionCount());
+    }
+
+    @Test
+    @DisplayName("ID de sesión vacío es inválido")
+    void testBlankSessionId() {
+        assertThrows(IllegalArgumentException.class, () -> service.getCart(" "));
+        assertThrows(IllegalArgumentException.class, () -> service.getCart(null));
+    }
+
+    @Test
+    @DisplayName("Agregar al carrito retiene stock y vaciarlo lo libera")
+    void testAddToCartHoldsStock() throws InsufficientStockException {
+        Product mouse = service.getProduct("P002");
+        service.addToCart("alice", "P002", 5);
+        assertEquals(15, mouse.getStock());
+
+        assertThrows(InsufficientStockException.class,
+                () -> service.addToCart("bob", "P002", 16));
+
+        service.updateCartQuantity("alice", "P002", 2);
+        assertEquals(18, mouse.getStock());
+
+        assertTrue(service.endSession("alice"));
+        assertEquals(20, mouse.getStock());
+    }
+
+    @Test
+    @DisplayName("Checkout confirma el stock retenido y vacía el carrito")
+    void testCheckoutCommitsHeldStock() throws Exception {
+        service.addToCart("alice", "P001", 2);
+        service.addToCart("alice", "P003", 1);
+
+        CheckoutReceipt receipt = service.checkout("alice");
+
+        assertEquals(2475.0, receipt.getTotal(), 0.001);
+        assertEquals(8, service.getProduct("P001").getStock());
+        assertEquals(14, service.getProduct("P003").getStock());
+        assertEquals(0, service.getCartItemCount("alice"));
+
+        service.endSession("alice");
+        assertEquals(8, service.getProduct("P001").getStock());
+    }
+
+    @Test
+    @DisplayName("Muchos hilos sobre muchas sesiones")
+    void testConcurrentSessions() throws Exception {
+        service.addToCatalog(new Product("BULK", "Tornillo", 0.10, 1_000_000));
+        int threads = 8;
+        int sessionsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < sessionsPerThread; i++) {
+                        String session = "s-" + thread + "-" + i;
+                        service.addToCart(session, "BULK", 1);
+                        // Todos los hilos tocan también una sesión compartida
+                        service.addToCart("shared", "BULK", 1);
+                        service.removeFromCart("shared", "BULK");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * sessionsPerThread + 1, service.getActiveSessionCount());
+        assertEquals(0.10, service.getCartTotal("s-3-42"), 0.001);
+        assertEquals(1_000_000 - threads * sessionsPerThread,
+                service.getProduct("BULK").getStock());
+    }
+
+    @Test
+    @DisplayName("Finalizar la sesión mientras otro hilo agrega no deja stock retenido")
+    void testEndSessionRacingWithAdd() throws Exception {
+        service.addToCatalog(new Product("RACE", "Pieza", 1.0, 100_000));
+        ShoppingCart stale = service.getCart("race");
+        assertTrue(service.endSession("race"));
+        service.addToCart("race", "RACE", 1);
+        assertTrue(stale.isEmpty());
+        assertEquals(1, service.getCartItemCount("race"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> adder = executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    service.addToCart("race", "RACE", 1);
+                }
+                return null;
+            });
+            Future<?> ender = executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    service.endSession("race");
+                }
+            });
+            adder.get();
+            ender.get();
+        } finally {
+            executor.shutdown();
+        }
+        int inCart = service.getCart("race").getTotalProducts();
+
+        assertEquals(100_000 - inCart, service.getProduct("RACE").getStock());
+        service.endSession("race");
+        assertEquals(100_000, service.getProduct("RACE").getStock());
+    }
+
+    @Test
+    @DisplayName("Consultas y operaciones sobre sesiones inexistentes no las crean")
+    void testUnknownSessionsAreNotCreated() {
+        int sessions = service.getActiveSessionCount();
+
+        assertEquals(0, service.getCartTotalCents("fantasma"));
+        assertEquals(0, service.getCartItemCount("fantasma"));
+        assertEquals("Carrito vacío", service.getCartSummary("fantasma"));
+        assertEquals(0.0, service.applyDiscount("fantasma", "SAVE10"), 0.001);
+        assertFalse(service.removeFromCart("fantasma", "P001"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateCartQuantity("fantasma", "P001", 2));
+        assertThrows(IllegalArgumentException.class, () -> service.checkout("fantasma"));
+        service.clearCart("fantasma");
+        assertNull(service.findCart("fantasma"));
+        assertFalse(service.endSession("fantasma"));
+
+        assertEquals(sessions, service.getActiveSessionCount());
+    }
+
+    @Test
+    @DisplayName("Catálogo paginado ordenado por ID")
+    void testListProductsPaged() {
+        ProductPage first = service.listProducts(null, 3);
+        assertEquals(List.of("P001", "P002", "P003"),
+                first.getItems().stream().map(Product::getId).toList());
+        assertTrue(first.hasNext());
+
+        // Un producto agregado entre páginas aparece en su lugar
+        service.addToCatalog(new Product("P0035", "Cable HDMI", 9.0, 40));
+        service.addToCatalog(new Product("P000", "Adaptador", 5.0, 40));
+        ProductPage second = service.listProducts(first.getNextCursor(), 3);
+        assertEquals(List.of("P0035", "P004"),
+                second.getItems().stream().map(Product::getId).toList());
+        assertFalse(second.hasNext());
+
+        assertEquals(2, service.listProducts("P003", 5).getItems().size());
+        assertThrows(IllegalArgumentException.class, () -> service.listProducts(null, 0));
+    }
+
+    @Test
+    @DisplayName("Página exacta no deja cursor")
+    void testListProductsExactPage() {
+        ProductPage page = service.listProducts(null, 4);
+
+        assertEquals(4, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -1,11 +1,15 @@
 package org.example.service;
 
 import org.example.exception.InsufficientStockException;
+import org.example.model.CartItem;
 import org.example.model.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Tests de ShoppingCart")
@@ -95,6 +99,105 @@ class ShoppingCartTest {
         assertTrue(cart.isEmpty());
     }
 
+    @Test
+    @DisplayName("getItems conserva el orden de inserción")
+    void testGetItemsKeepsInsertionOrder() throws InsufficientStockException {
+        cart.addProduct(mouse, 1);
+        cart.addProduct(laptop, 1);
+        cart.addProduct(mouse, 2);
+
+        List<CartItem> items = cart.getItems();
+        assertEquals(2, items.size());
+        assertEquals("P002", items.get(0).getProduct().getId());
+        assertEquals(3, items.get(0).getQuantity());
+        assertEquals("P001", items.get(1).getProduct().getId());
+    }
+
+    @Test
+    @DisplayName("Remover y volver a agregar mueve el producto al final")
+    void testReAddAfterRemoveGoesLast() throws InsufficientStockException {
+        cart.addProduct(laptop, 1);
+        cart.addProduct(mouse, 1);
+        cart.removeProduct("P001");
+        cart.addProduct(laptop, 1);
+
+        List<CartItem> items = cart.getItems();
+        assertEquals("P002", items.get(0).getProduct().getId());
+        assertEquals("P001", items.get(1).getProduct().getId());
+    }
+
+    @Test
+    @DisplayName("Totales incrementales coinciden con un recálculo completo")
+    void testRunningTotalsMatchRecomputation() throws InsufficientStockException {
+        Product[] products = {
+            new Product("A", "Cable", 3.99, 1_000),
+            new Product("B", "Adaptador", 12.49, 1_000),
+            new Product("C", "Hub", 45.10, 1_000),
+            new Product("D", "Funda", 0.35, 1_000)
+        };
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            Product product = products[random.nextInt(products.length)];
+            switch (random.nextInt(5)) {
+                case 0, 1 -> cart.addProduct(product, 1 + random.nextInt(3));
+                case 2 -> {
+                    if (cart.getItems().stream()
+                            .anyMatch(item -> item.getProduct().equals(product))) {
+                        cart.updateQuantity(product.getId(), random.nextInt(6));
+                    }
+                }
+                case 3 -> cart.removeProduct(product.getId());
+                default -> {
+                    if (random.nextInt(50) == 0) {
+                        cart.clear();
+                    }
+                }
+            }
+            assertTotalsMatchItems();
+        }
+    }
+
+    @Test
+    @DisplayName("Totales incrementales tras actualizar y remover")
+    void testRunningTotalsAfterUpdateAndRemove() throws InsufficientStockException {
+        cart.addProduct(laptop, 2);
+        cart.addProduct(mouse, 4);
+        cart.updateQuantity("P002", 1);
+        assertEquals(3, cart.getTotalProducts());
+        assertEquals(2025.0, cart.getTotal(), 0.001);
+
+        cart.updateQuantity("P001", 0);
+        assertEquals(1, cart.getTotalProducts());
+        assertEquals(25.0, cart.getTotal(), 0.001);
+
+        cart.removeProduct("P002");
+        assertEquals(0, cart.getTotalProducts());
+        assertEquals(0.0, cart.getTotal());
+    }
+
+    @Test
+    @DisplayName("Total exacto en centavos con muchas líneas")
+    void testExactTotalOnLargeCart() throws InsufficientStockException {
+        for (int i = 0; i < 100_000; i++) {
+            cart.addProduct(new Product("L" + i, "Línea " + i, 0.10, 10), 1);
+        }
+
+        assertEquals(1_000_000L, cart.getTotalCents());
+        assertEquals(10_000.0, cart.getTotal());
+    }
+
+    private void assertTotalsMatchItems() {
+        long expectedTotal = cart.getItems().stream()
+                .mapToLong(CartItem::getSubtotalCents)
+                .sum();
+        int expectedProducts = cart.getItems().stream()
+                .mapToInt(CartItem::getQuantity)
+                .sum();
+        assertEquals(expectedTotal, cart.getTotalCents());
+        assertEquals(expectedProducts, cart.getTotalProducts());
+    }
+
     // DELIBERADAMENTE falta testear:
     // - updateQuantity() con diferentes escenarios
     // - Agregar producto nulo
@@ -0,0 +1,157 @@
+package org.example.service;
+
+import org.example.exception.InsufficientStockException;
+import org.example.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de StockHoldManager")
+class StockHoldManagerTest {
+
+    private AtomicLong clock;
+    private StockHoldManager manager;
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000);
+        manager = new StockHoldManager(
+                Duration.ofSeconds(60), Duration.ofSeconds(1), clock::get, false);
+        laptop = new Product("P001", "Laptop", 1000.0, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    @DisplayName("Reservar descuenta stock y ajustar libera la diferencia")
+    void testResizeReservesAndReleases() {
+        StockHold hold = manager.newHold(laptop);
+
+        assertTrue(manager.resize(hold, 4));
+        assertEquals(6, laptop.getStock());
+        assertEquals(4, hold.getQuantity());
+
+        assertTrue(manager.resize(hold, 1));
+        assertEquals(9, laptop.getStock());
+
+        assertFalse(manager.resize(hold, 11));
+        assertEquals(1, hold.getQuantity());
+        assertEquals(9, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("La reserva vence tras el TTL y devuelve el stock")
+    void testHoldExpiresAfterTtl() {
+        StockHold hold = manager.newHold(laptop);
+        manager.resize(hold, 3);
+
+        clock.addAndGet(59_000);
+        assertEquals(0, manager.expireDue());
+        assertEquals(7, laptop.getStock());
+
+        clock.addAndGet(3_000);
+        assertEquals(1, manager.expireDue());
+        assertTrue(hold.isExpired());
+        assertEquals(0, hold.getQuantity());
+        assertEquals(10, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("Renovar la reserva posterga su vencimiento")
+    void testRenewPostponesExpiry() {
+        StockHold hold = manager.newHold(laptop);
+        manager.resize(hold, 2);
+
+        clock.addAndGet(50_000);
+        manager.resize(hold, 3);
+
+        clock.addAndGet(20_000);
+        assertEquals(0, manager.expireDue());
+        assertEquals(3, hold.getQuantity());
+
+        clock.addAndGet(45_000);
+        assertEquals(1, manager.expireDue());
+        assertEquals(10, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("Reservas vencen aunque el TTL supere una vuelta de la rueda")
+    void testExpiryBeyondOneWheelRotation() {
+        StockHoldManager slow = new StockHoldManager(
+                Duration.ofMinutes(30), Duration.ofSeconds(1), clock::get, false);
+        StockHold hold = slow.newHold(laptop);
+        slow.resize(hold, 5);
+
+        for (int minute = 1; minute < 30; minute++) {
+            clock.addAndGet(60_000);
+            assertEquals(0, slow.expireDue());
+        }
+        clock.addAndGet(62_000);
+        assertEquals(1, slow.expireDue());
+        assertEquals(10, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("Tomar la reserva confirma el stock sin devolverlo")
+    void testTakeKeepsStockReserved() {
+        StockHold hold = manager.newHold(laptop);
+        manager.resize(hold, 4);
+
+        assertEquals(4, manager.take(hold));
+        clock.addAndGet(120_000);
+        assertEquals(0, manager.expireDue());
+        assertEquals(6, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("Muchas reservas vencen en un solo barrido")
+    void testManyHoldsExpire() {
+        Product bulk = new Product("B", "Tornillo", 0.1, 100_000);
+        for (int i = 0; i < 100_000; i++) {
+            manager.resize(manager.newHold(bulk), 1);
+        }
+        assertEquals(0, bulk.getStock());
+
+        clock.addAndGet(61_000);
+        assertEquals(100_000, manager.expireDue());
+        assertEquals(100_000, bulk.getStock());
+    }
+
+    @Test
+    @DisplayName("Carrito con reservas retiene y libera stock por línea")
+    void testCartWithHolds() throws InsufficientStockException {
+        ShoppingCart cart = new ShoppingCart(manager);
+        cart.addProduct(laptop, 2);
+        cart.addProduct(laptop, 3);
+        assertEquals(5, laptop.getStock());
+
+        InsufficientStockException exception = assertThrows(
+                InsufficientStockException.class,
+                () -> cart.updateQuantity("P001", 11)
+        );
+        assertEquals(10, exception.getAvailable());
+
+        cart.updateQuantity("P001", 1);
+        assertEquals(9, laptop.getStock());
+
+        cart.clear();
+        assertEquals(10, laptop.getStock());
+    }
+
+    @Test
+    @DisplayName("TTL inválido")
+    void testInvalidTtl() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new StockHoldManager(Duration.ZERO));
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de VolumeDiscountTiers")
+class VolumeDiscountTiersTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Tramos por defecto en los bordes")
+    void testDefaultTierBoundaries() {
+        VolumeDiscountTable table = VolumeDiscountTiers.loadDefault()
+                .forSegment(VolumeDiscountTiers.DEFAULT_SEGMENT);
+
+        assertEquals(3, table.size());
+        assertEquals(0, table.basisPointsFor(0));
+        assertEquals(0, table.basisPointsFor(9_999));
+        assertEquals(500, table.basisPointsFor(10_000));
+        assertEquals(500, table.basisPointsFor(49_999));
+        assertEquals(1_000, table.basisPointsFor(50_000));
+        assertEquals(1_500, table.basisPointsFor(100_000));
+        assertEquals(1_500, table.basisPointsFor(Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Tramos desordenados se ordenan al construir la tabla")
+    void testUnsortedTiers() {
+        VolumeDiscountTable table = new VolumeDiscountTable(
+                new long[]{50_000, 0, 10_000}, new int[]{1_000, 100, 500});
+
+        assertEquals(100, table.basisPointsFor(5));
+        assertEquals(500, table.basisPointsFor(10_001));
+        assertEquals(1_000, table.basisPointsFor(70_000));
+    }
+
+    @Test
+    @DisplayName("Tramos inválidos")
+    void testInvalidTiers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new VolumeDiscountTable(new long[]{100, 100}, new int[]{1, 2}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new VolumeDiscountTable(new long[]{-1}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new VolumeDiscountTable(new long[]{100}, new int[]{10_001}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new VolumeDiscountTable(new long[]{100}, new int[0]));
+    }
+
+    @Test
+    @DisplayName("Cientos de tramos por segmento desde archivo")
+    void testHundredsOfTiersPerSegment() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# segmento,umbral,porcentaje");
+        for (int i = 1; i <= 500; i++) {
+            lines.add("mayorista," + (i * 10) + "," + (i / 10.0));
+        }
+        lines.add("default,100,5");
+        Path file = tempDir.resolve("tiers.csv");
+        Files.write(file, lines);
+
+        VolumeDiscountTiers tiers = VolumeDiscountTiers.fromFile(file);
+        VolumeDiscountTable wholesale = tiers.forSegment("mayorista");
+
+        assertEquals(500, wholesale.size());
+        assertEquals(0, wholesale.basisPointsFor(999));
+        assertEquals(10, wholesale.basisPointsFor(1_000));
+        assertEquals(2_500, wholesale.basisPointsFor(250_050));
+        assertEquals(5_000, wholesale.basisPointsFor(10_000_000));
+        assertEquals(1, tiers.forSegment("default").size());
+        assertThrows(IllegalArgumentException.class, () -> tiers.forSegment("minorista"));
+    }
+
+    @Test
+    @DisplayName("Línea inválida indica su número")
+    void testInvalidLine() throws IOException {
+        Path file = tempDir.resolve("bad.csv");
+        Files.write(file, List.of("default,100,5", "default,abc,10"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> VolumeDiscountTiers.fromFile(file));
+        assertTrue(exception.getMessage().contains("Línea 2"));
+    }
+
+    @Test
+    @DisplayName("Descuento por segmento y por lotes en DiscountService")
+    void testSegmentAndBatchDiscount() {
+        VolumeDiscountTiers tiers = new VolumeDiscountTiers(Map.of(
+                VolumeDiscountTiers.DEFAULT_SEGMENT,
+                new VolumeDiscountTable(new long[]{10_000}, new int[]{500}),
+                "vip",
+                new VolumeDiscountTable(new long[]{0, 10_000}, new int[]{1_000, 2_000})));
+        DiscountService service = new DiscountService(CouponRegistry.loadDefault(), tiers);
+
+        assertEquals(9_500, service.applyVolumeDiscountCents(10_000));
+        assertEquals(8_000, service.applyVolumeDiscountCents(10_000, "vip"));
+
+        long[] totals = {5_000, 10_000, 20_000};
+        long[] results = new long[totals.length];
+        service.applyVolumeDiscountCents(totals, results, "vip");
+        assertArrayEquals(new long[]{4_500, 8_000, 16_000}, results);
+
+        service.applyVolumeDiscountCents(totals, totals, VolumeDiscountTiers.DEFAULT_SEGMENT);
+        assertArrayEquals(new long[]{5_000, 9_500, 19_000}, totals);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.applyVolumeDiscountCents(new long[]{-1}, new long[1], "vip"));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.applyVolumeDiscountCents(new long[2], new long[1], "vip"));
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.ui;
+
+import org.example.service.ShoppingCartService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de BatchRunner")
+class BatchRunnerTest {
+
+    private final ShoppingCartService service = new ShoppingCartService();
+    private final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    private final BatchRunner runner = new BatchRunner(service,
+        new PrintStream(errors, true, StandardCharsets.UTF_8));
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private BatchReport run(String script) throws IOException {
+        return runner.run(new BufferedReader(new StringReader(script)));
+    }
+
+    @Test
+    @DisplayName("Ejecuta comandos por sesión e ignora comentarios y líneas vacías")
+    void testRunScript() throws IOException {
+        BatchReport report = run("""
+            # carrito por defecto
+            add P001 2
+              @ana   add P002 3
+
+            @ana update P002 5
+            @ana add P003 1
+            @ana remove P003
+            @ana coupon SAVE10
+            checkout
+            @luis add P004 1
+            @luis clear
+            """);
+
+        assertEquals(9, report.getCommands());
+        assertEquals(0, report.getErrors(), errors.toString(StandardCharsets.UTF_8));
+        assertEquals(0, service.getCartItemCount());
+        assertEquals(5 * 2_550, service.getCartTotalCents("ana"));
+        assertEquals(0, service.getCartItemCount("luis"));
+        assertEquals(4L, report.getCommandCounts().get("add"));
+        assertTrue(report.getCommandsPerSecond() > 0);
+        assertTrue(report.toString().contains("Comandos: 9"));
+    }
+
+    @Test
+    @DisplayName("Los comandos inválidos se informan con su línea y no detienen el script")
+    void testErrorsContinue() throws IOException {
+        BatchReport report = run("""
+            add P999 1
+            add P001 mucho
+            add P001
+            vender P001
+            add P001 1000
+            checkout
+            add P001 1
+            """);
+
+        assertEquals(7, report.getCommands());
+        assertEquals(6, report.getErrors());
+        assertEquals(1, service.getCartItemCount());
+        String reported = errors.toString(StandardCharsets.UTF_8);
+        assertTrue(reported.contains("Línea 1: Producto no encontrado"));
+        assertTrue(reported.contains("Línea 4: Comando desconocido: vender"));
+        assertTrue(reported.contains("Línea 6:"));
+    }
+
+    @Test
+    @DisplayName("Separación en palabras sin expresiones regulares")
+    void testTokenize() {
+        String[] tokens = new String[4];
+
+        assertEquals(0, BatchRunner.tokenize("   \t ", tokens));
+        assertEquals(3, BatchRunner.tokenize("\tadd  P001 3 ", tokens));
+        assertArrayEquals(new String[] {"add", "P001", "3"}, java.util.Arrays.copyOf(tokens, 3));
+        assertEquals(5, BatchRunner.tokenize("a b c d e f", tokens));
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.ui;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de FastInputReader")
+class FastInputReaderTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private FastInputReader reader(String input, int bufferSize) {
+        return new FastInputReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+            new PrintStream(output, true, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    private String output() {
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Lee enteros y reintenta ante valores inválidos como InputReader")
+    void testReadIntRetries() {
+        FastInputReader reader = reader("abc\n 2147483648\n  -42  \r\n+7\n2147483647\n", 8);
+
+        assertEquals(-42, reader.readInt("N: "));
+        assertEquals(7, reader.readInt("N: "));
+        assertEquals(Integer.MAX_VALUE, reader.readInt("N: "));
+        assertEquals("N: ❌ Por favor ingrese un número válido.\n".repeat(2) + "N: N: N: ",
+            output().replace(System.lineSeparator(), "\n"));
+    }
+
+    @Test
+    @DisplayName("Lee decimales igual que Double.parseDouble")
+    void testReadDoubleMatchesParseDouble() {
+        Random random = new Random(7);
+        StringBuilder input = new StringBuilder("1,5\n.\n12.50\n-0\n.5\n3.\n1e3\n");
+        double[] expected = new double[2_000];
+        for (int i = 0; i < expected.length; i++) {
+            String text = switch (i % 4) {
+                case 0 -> Long.toString(random.nextLong() >>> random.nextInt(64));
+                case 1 -> (random.nextInt(100_000) - 50_000) + "." + random.nextInt(1_000_000);
+                case 2 -> "0.000" + random.nextInt(Integer.MAX_VALUE) + random.nextInt(1000);
+                default -> Double.toString(random.nextDouble() * 1e6);
+            };
+            expected[i] = Double.parseDouble(text);
+            input.append(text).append('\n');
+        }
+        FastInputReader reader = reader(input.toString(), 64);
+
+        assertEquals(12.5, reader.readDouble(""));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(reader.readDouble("")));
+        assertEquals(0.5, reader.readDouble(""));
+        assertEquals(3.0, reader.readDouble(""));
+        assertEquals(1000.0, reader.readDouble(""));
+        for (double value : expected) {
+            assertEquals(value, reader.readDouble(""));
+        }
+        assertEquals(2, output().split("número válido", -1).length - 1);
+    }
+
+    @Test
+    @DisplayName("Lee textos UTF-8 y líneas más largas que el buffer")
+    void testReadStringAcrossBuffer() {
+        String longLine = "x".repeat(1_000);
+        FastInputReader reader = reader("  Café con leche \r\n" + longLine + "\n\nS\nfin", 16);
+
+        assertEquals("Café con leche", reader.readString("? "));
+        assertEquals(longLine, reader.readString("? "));
+        assertEquals("", reader.readString("? "));
+        assertTrue(reader.readConfirmation("¿Seguro?"));
+        assertEquals("fin", reader.readString("? "));
+        assertThrows(NoSuchElementException.class, () -> reader.readString("? "));
+    }
+}